@@ -1,10 +1,28 @@
 package de.devtime.utils;
 
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
 import org.apache.commons.lang3.Validate;
 
 /**
  * Provides various helper methods for bitwise manipulation of {@code long} values.
  *
+ * <p>
+ * The set bits of a {@code long} value or a {@code long[]} can be enumerated without allocation, either by a callback
+ * or by a cursor loop:
+ * </p>
+ *
+ * <pre>
+ * BitUtil.forEachSetBit(mask, position -&gt; ...);
+ *
+ * int position = BitUtil.nextSetBit(mask, 0);
+ * while (position &gt;= 0) {
+ *   ...
+ *   position = BitUtil.nextSetBit(mask, position + 1);
+ * }
+ * </pre>
+ *
  * @author morrigan
  * @since 0.0.1
  */
@@ -77,6 +95,145 @@ public class BitUtil {
     return 1L << position;
   }
 
+  /**
+   * Sets a bit at the specified position to 1 without validating the position. Only the lowest 6 bits of the position
+   * are used, so callers have to ensure that it is in range.
+   *
+   * <pre>
+   * BitUtils.setLongBitUnchecked(0)  = 0b0000 ... 0001
+   * BitUtils.setLongBitUnchecked(63) = 0b1000 ... 0000
+   * BitUtils.setLongBitUnchecked(64) = 0b0000 ... 0001
+   * </pre>
+   *
+   * @param position Position at which the bit is to be set <i>([0;63])</i>
+   * @return {@code long} value at which exactly one bit is set to 1
+   * @since 0.0.1
+   */
+  public static long setLongBitUnchecked(int position) {
+    return 1L << position;
+  }
+
+  /**
+   * Sets the bit at the specified position to 0 for the passed value without validating the position. Only the lowest
+   * 6 bits of the position are used, so callers have to ensure that it is in range.
+   *
+   * @param value a {@code long} value
+   * @param position a position where the bit is to be set to 0 <i>([0;63])</i>
+   * @return passed value with corrected bit
+   * @since 0.0.1
+   */
+  public static long removeLongBitUnchecked(long value, int position) {
+    return value & ~(1L << position);
+  }
+
+  /**
+   * Returns whether the bit at the specified position is set to 1 without validating the position. Only the lowest 6
+   * bits of the position are used, so callers have to ensure that it is in range.
+   *
+   * @param value a {@code long} value
+   * @param position position of the bit <i>([0;63])</i>
+   * @return {@code true} if the bit is set to 1
+   * @since 0.0.1
+   */
+  public static boolean isLongBitSetUnchecked(long value, int position) {
+    return (value & (1L << position)) != 0;
+  }
+
+  /**
+   * Passes the positions of all bits set to 1 in ascending order to the consumer. Only the set bits are visited.
+   *
+   * <pre>
+   * BitUtils.forEachSetBit(0b1010, consumer) = consumer.accept(1), consumer.accept(3)
+   * </pre>
+   *
+   * @param value a {@code long} value
+   * @param consumer the consumer of the positions <i>(not null)</i>
+   * @since 0.0.1
+   */
+  public static void forEachSetBit(long value, IntConsumer consumer) {
+    long remaining = value;
+    while (remaining != 0) {
+      consumer.accept(Long.numberOfTrailingZeros(remaining));
+      remaining &= remaining - 1;
+    }
+  }
+
+  /**
+   * Passes the positions of all bits set to 1 in ascending order to the consumer. Bit {@code i} is bit {@code i % 64}
+   * of {@code words[i / 64]}, like in {@link java.util.BitSet#valueOf(long[])}.
+   *
+   * @param words the bits <i>(not null)</i>
+   * @param consumer the consumer of the positions <i>(not null)</i>
+   * @since 0.0.1
+   */
+  public static void forEachSetBit(long[] words, LongConsumer consumer) {
+    for (int i = 0; i < words.length; i++) {
+      long remaining = words[i];
+      long base = (long) i << 6;
+      while (remaining != 0) {
+        consumer.accept(base + Long.numberOfTrailingZeros(remaining));
+        remaining &= remaining - 1;
+      }
+    }
+  }
+
+  /**
+   * Returns the position of the lowest bit set to 1 at or above the specified position.
+   *
+   * <pre>
+   * BitUtils.nextSetBit(0b1010, 0)  = 1
+   * BitUtils.nextSetBit(0b1010, 2)  = 3
+   * BitUtils.nextSetBit(0b1010, 4)  = -1
+   * BitUtils.nextSetBit(0b1010, 64) = -1
+   * BitUtils.nextSetBit(0b1010, -1) = IllegalArgumentException
+   * </pre>
+   *
+   * @param value a {@code long} value
+   * @param fromPosition position at which the search starts <i>(&gt;= 0)</i>
+   * @return position of the next bit set to 1 or -1 if there is none
+   * @throws IllegalArgumentException if {@code fromPosition} is negative
+   * @since 0.0.1
+   */
+  public static int nextSetBit(long value, int fromPosition) {
+    if (fromPosition < 0) {
+      throw new IllegalArgumentException("The position must not be negative: " + fromPosition);
+    }
+    if (fromPosition >= Long.SIZE) {
+      return -1;
+    }
+    long remaining = value & (-1L << fromPosition);
+    return remaining == 0 ? -1 : Long.numberOfTrailingZeros(remaining);
+  }
+
+  /**
+   * Returns the position of the lowest bit set to 1 at or above the specified position. Bit {@code i} is bit
+   * {@code i % 64} of {@code words[i / 64]}.
+   *
+   * @param words the bits <i>(not null)</i>
+   * @param fromPosition position at which the search starts <i>(&gt;= 0)</i>
+   * @return position of the next bit set to 1 or -1 if there is none
+   * @throws IllegalArgumentException if {@code fromPosition} is negative
+   * @since 0.0.1
+   */
+  public static long nextSetBit(long[] words, long fromPosition) {
+    if (fromPosition < 0) {
+      throw new IllegalArgumentException("The position must not be negative: " + fromPosition);
+    }
+    long index = fromPosition >>> 6;
+    if (index >= words.length) {
+      return -1;
+    }
+    int i = (int) index;
+    long word = words[i] & (-1L << fromPosition);
+    while (word == 0) {
+      if (++i == words.length) {
+        return -1;
+      }
+      word = words[i];
+    }
+    return ((long) i << 6) + Long.numberOfTrailingZeros(word);
+  }
+
   private BitUtil() {
     super();
   }
@@ -0,0 +1,244 @@
+package de.devtime.utils.bitmap;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Stores up to {@value Container#MAX_ARRAY_SIZE} values as sorted {@code char[]}.
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+final class ArrayContainer extends Container {
+
+  private char[] values;
+  private int cardinality;
+
+  ArrayContainer() {
+    this(new char[4], 0);
+  }
+
+  ArrayContainer(char[] values, int cardinality) {
+    this.values = values;
+    this.cardinality = cardinality;
+  }
+
+  @Override
+  int cardinality() {
+    return this.cardinality;
+  }
+
+  @Override
+  boolean contains(char value) {
+    return Arrays.binarySearch(this.values, 0, this.cardinality, value) >= 0;
+  }
+
+  @Override
+  Container add(char value) {
+    int index = Arrays.binarySearch(this.values, 0, this.cardinality, value);
+    if (index >= 0) {
+      return this;
+    }
+    if (this.cardinality == MAX_ARRAY_SIZE) {
+      BitmapContainer bitmap = toBitmapContainer();
+      bitmap.add(value);
+      return bitmap;
+    }
+    int insertAt = -index - 1;
+    if (this.cardinality == this.values.length) {
+      this.values = Arrays.copyOf(this.values, Math.min(MAX_ARRAY_SIZE, Math.max(4, this.cardinality * 2)));
+    }
+    System.arraycopy(this.values, insertAt, this.values, insertAt + 1, this.cardinality - insertAt);
+    this.values[insertAt] = value;
+    this.cardinality++;
+    return this;
+  }
+
+  @Override
+  Container remove(char value) {
+    int index = Arrays.binarySearch(this.values, 0, this.cardinality, value);
+    if (index >= 0) {
+      System.arraycopy(this.values, index + 1, this.values, index, this.cardinality - index - 1);
+      this.cardinality--;
+    }
+    return this;
+  }
+
+  @Override
+  Container addRange(int from, int to) {
+    return toBitmapContainer().addRange(from, to).runOptimize();
+  }
+
+  @Override
+  Container and(Container other) {
+    char[] result = new char[this.cardinality];
+    int count = 0;
+    if (other instanceof ArrayContainer) {
+      ArrayContainer array = (ArrayContainer) other;
+      int i = 0;
+      int j = 0;
+      while (i < this.cardinality && j < array.cardinality) {
+        char left = this.values[i];
+        char right = array.values[j];
+        if (left < right) {
+          i++;
+        } else if (left > right) {
+          j++;
+        } else {
+          result[count++] = left;
+          i++;
+          j++;
+        }
+      }
+    } else {
+      for (int i = 0; i < this.cardinality; i++) {
+        if (other.contains(this.values[i])) {
+          result[count++] = this.values[i];
+        }
+      }
+    }
+    return new ArrayContainer(result, count);
+  }
+
+  @Override
+  int andCardinality(Container other) {
+    int count = 0;
+    if (other instanceof ArrayContainer) {
+      ArrayContainer array = (ArrayContainer) other;
+      int i = 0;
+      int j = 0;
+      while (i < this.cardinality && j < array.cardinality) {
+        char left = this.values[i];
+        char right = array.values[j];
+        if (left < right) {
+          i++;
+        } else if (left > right) {
+          j++;
+        } else {
+          count++;
+          i++;
+          j++;
+        }
+      }
+    } else {
+      for (int i = 0; i < this.cardinality; i++) {
+        if (other.contains(this.values[i])) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  @Override
+  Container or(Container other) {
+    if (!(other instanceof ArrayContainer)) {
+      return other.or(this);
+    }
+    ArrayContainer array = (ArrayContainer) other;
+    char[] result = new char[this.cardinality + array.cardinality];
+    int count = 0;
+    int i = 0;
+    int j = 0;
+    while (i < this.cardinality && j < array.cardinality) {
+      char left = this.values[i];
+      char right = array.values[j];
+      if (left < right) {
+        result[count++] = left;
+        i++;
+      } else if (left > right) {
+        result[count++] = right;
+        j++;
+      } else {
+        result[count++] = left;
+        i++;
+        j++;
+      }
+    }
+    while (i < this.cardinality) {
+      result[count++] = this.values[i++];
+    }
+    while (j < array.cardinality) {
+      result[count++] = array.values[j++];
+    }
+    ArrayContainer union = new ArrayContainer(result, count);
+    return count > MAX_ARRAY_SIZE ? union.toBitmapContainer() : union;
+  }
+
+  @Override
+  Container andNot(Container other) {
+    char[] result = new char[this.cardinality];
+    int count = 0;
+    for (int i = 0; i < this.cardinality; i++) {
+      if (!other.contains(this.values[i])) {
+        result[count++] = this.values[i];
+      }
+    }
+    return new ArrayContainer(result, count);
+  }
+
+  @Override
+  void forEach(int high, IntConsumer consumer) {
+    for (int i = 0; i < this.cardinality; i++) {
+      consumer.accept(high | this.values[i]);
+    }
+  }
+
+  @Override
+  BitmapContainer toBitmapContainer() {
+    BitmapContainer bitmap = new BitmapContainer();
+    for (int i = 0; i < this.cardinality; i++) {
+      bitmap.add(this.values[i]);
+    }
+    return bitmap;
+  }
+
+  @Override
+  Container runOptimize() {
+    int runCount = 0;
+    for (int i = 0; i < this.cardinality; i++) {
+      if (i == 0 || this.values[i] != this.values[i - 1] + 1) {
+        runCount++;
+      }
+    }
+    if (RunContainer.serializedSize(runCount) >= serializedSize()) {
+      return this;
+    }
+    char[] runs = new char[runCount * 2];
+    int run = -1;
+    for (int i = 0; i < this.cardinality; i++) {
+      if (i == 0 || this.values[i] != this.values[i - 1] + 1) {
+        run++;
+        runs[run * 2] = this.values[i];
+      } else {
+        runs[run * 2 + 1]++;
+      }
+    }
+    return new RunContainer(runs, runCount);
+  }
+
+  @Override
+  Container copy() {
+    return new ArrayContainer(Arrays.copyOf(this.values, Math.max(4, this.cardinality)), this.cardinality);
+  }
+
+  @Override
+  byte type() {
+    return TYPE_ARRAY;
+  }
+
+  @Override
+  int serializedSize() {
+    return Integer.BYTES + this.cardinality * Character.BYTES;
+  }
+
+  @Override
+  void write(DataOutput out) throws IOException {
+    out.writeInt(this.cardinality);
+    for (int i = 0; i < this.cardinality; i++) {
+      out.writeChar(this.values[i]);
+    }
+  }
+}
@@ -0,0 +1,281 @@
+package de.devtime.utils.bitmap;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.function.IntConsumer;
+
+/**
+ * Stores the values of a chunk as uncompressed bitmap of 65536 bits and caches the cardinality.
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+final class BitmapContainer extends Container {
+
+  private static final int WORD_COUNT = CHUNK_SIZE / Long.SIZE;
+
+  private final long[] words;
+  private int cardinality;
+
+  BitmapContainer() {
+    this(new long[WORD_COUNT], 0);
+  }
+
+  BitmapContainer(long[] words, int cardinality) {
+    this.words = words;
+    this.cardinality = cardinality;
+  }
+
+  @Override
+  int cardinality() {
+    return this.cardinality;
+  }
+
+  @Override
+  boolean contains(char value) {
+    return (this.words[value >>> 6] & (1L << value)) != 0;
+  }
+
+  @Override
+  Container add(char value) {
+    long word = this.words[value >>> 6];
+    long changed = word | (1L << value);
+    this.cardinality += (int) ((word ^ changed) >>> value);
+    this.words[value >>> 6] = changed;
+    return this;
+  }
+
+  @Override
+  Container remove(char value) {
+    long word = this.words[value >>> 6];
+    long changed = word & ~(1L << value);
+    this.cardinality -= (int) ((word ^ changed) >>> value);
+    this.words[value >>> 6] = changed;
+    return this.cardinality <= MAX_ARRAY_SIZE ? toArrayContainer() : this;
+  }
+
+  @Override
+  Container addRange(int from, int to) {
+    setRange(from, to);
+    this.cardinality = countBits(this.words);
+    return this;
+  }
+
+  @Override
+  Container and(Container other) {
+    if (!(other instanceof BitmapContainer)) {
+      return other.and(this);
+    }
+    long[] o = other.toBitmapContainer().words;
+    long[] w = this.words;
+    long[] result = new long[WORD_COUNT];
+    for (int i = 0; i < WORD_COUNT; i++) {
+      result[i] = w[i] & o[i];
+    }
+    return shrink(result);
+  }
+
+  @Override
+  int andCardinality(Container other) {
+    if (!(other instanceof BitmapContainer)) {
+      return other.andCardinality(this);
+    }
+    long[] o = other.toBitmapContainer().words;
+    long[] w = this.words;
+    int count = 0;
+    for (int i = 0; i < WORD_COUNT; i++) {
+      count += Long.bitCount(w[i] & o[i]);
+    }
+    return count;
+  }
+
+  @Override
+  Container or(Container other) {
+    long[] result = this.words.clone();
+    if (other instanceof ArrayContainer) {
+      other.forEach(0, value -> result[value >>> 6] |= 1L << value);
+    } else {
+      long[] o = other.toBitmapContainer().words;
+      for (int i = 0; i < WORD_COUNT; i++) {
+        result[i] |= o[i];
+      }
+    }
+    return new BitmapContainer(result, countBits(result));
+  }
+
+  @Override
+  Container andNot(Container other) {
+    long[] result = this.words.clone();
+    if (other instanceof ArrayContainer) {
+      other.forEach(0, value -> result[value >>> 6] &= ~(1L << value));
+    } else {
+      long[] o = other.toBitmapContainer().words;
+      for (int i = 0; i < WORD_COUNT; i++) {
+        result[i] &= ~o[i];
+      }
+    }
+    return shrink(result);
+  }
+
+  @Override
+  void forEach(int high, IntConsumer consumer) {
+    for (int i = 0; i < WORD_COUNT; i++) {
+      long word = this.words[i];
+      while (word != 0) {
+        consumer.accept(high | (i << 6) + Long.numberOfTrailingZeros(word));
+        word &= word - 1;
+      }
+    }
+  }
+
+  @Override
+  BitmapContainer toBitmapContainer() {
+    return this;
+  }
+
+  @Override
+  Container runOptimize() {
+    int runCount = 0;
+    long previousHighBit = 0;
+    for (int i = 0; i < WORD_COUNT; i++) {
+      long word = this.words[i];
+      runCount += Long.bitCount(word & ~(word << 1 | previousHighBit));
+      previousHighBit = word >>> 63;
+    }
+    int bestSize = this.cardinality <= MAX_ARRAY_SIZE
+        ? Integer.BYTES + this.cardinality * Character.BYTES
+        : serializedSize();
+    if (RunContainer.serializedSize(runCount) < bestSize) {
+      char[] runs = new char[runCount * 2];
+      int run = 0;
+      int start = nextSetBit(0);
+      while (start >= 0) {
+        int end = nextClearBit(start);
+        runs[run * 2] = (char) start;
+        runs[run * 2 + 1] = (char) (end - start - 1);
+        run++;
+        start = nextSetBit(end);
+      }
+      return new RunContainer(runs, runCount);
+    }
+    return this.cardinality <= MAX_ARRAY_SIZE ? toArrayContainer() : this;
+  }
+
+  @Override
+  Container copy() {
+    return new BitmapContainer(this.words.clone(), this.cardinality);
+  }
+
+  @Override
+  byte type() {
+    return TYPE_BITMAP;
+  }
+
+  @Override
+  int serializedSize() {
+    return WORD_COUNT * Long.BYTES;
+  }
+
+  @Override
+  void write(DataOutput out) throws IOException {
+    for (long word : this.words) {
+      out.writeLong(word);
+    }
+  }
+
+  void andInPlace(BitmapContainer other) {
+    long[] w = this.words;
+    long[] o = other.words;
+    for (int i = 0; i < WORD_COUNT; i++) {
+      w[i] &= o[i];
+    }
+    this.cardinality = countBits(w);
+  }
+
+  int cardinalityInRange(int from, int to) {
+    int firstWord = from >>> 6;
+    int lastWord = (to - 1) >>> 6;
+    long firstMask = -1L << from;
+    long lastMask = -1L >>> -to;
+    if (firstWord == lastWord) {
+      return Long.bitCount(this.words[firstWord] & firstMask & lastMask);
+    }
+    int count = Long.bitCount(this.words[firstWord] & firstMask);
+    for (int i = firstWord + 1; i < lastWord; i++) {
+      count += Long.bitCount(this.words[i]);
+    }
+    return count + Long.bitCount(this.words[lastWord] & lastMask);
+  }
+
+  void setRange(int from, int to) {
+    if (from == to) {
+      return;
+    }
+    int firstWord = from >>> 6;
+    int lastWord = (to - 1) >>> 6;
+    long firstMask = -1L << from;
+    long lastMask = -1L >>> -to;
+    if (firstWord == lastWord) {
+      this.words[firstWord] |= firstMask & lastMask;
+      return;
+    }
+    this.words[firstWord] |= firstMask;
+    for (int i = firstWord + 1; i < lastWord; i++) {
+      this.words[i] = -1L;
+    }
+    this.words[lastWord] |= lastMask;
+  }
+
+  private int nextSetBit(int from) {
+    if (from >= CHUNK_SIZE) {
+      return -1;
+    }
+    int index = from >>> 6;
+    long word = this.words[index] & (-1L << from);
+    while (word == 0) {
+      if (++index == WORD_COUNT) {
+        return -1;
+      }
+      word = this.words[index];
+    }
+    return (index << 6) + Long.numberOfTrailingZeros(word);
+  }
+
+  private int nextClearBit(int from) {
+    int index = from >>> 6;
+    long word = ~this.words[index] & (-1L << from);
+    while (word == 0) {
+      if (++index == WORD_COUNT) {
+        return CHUNK_SIZE;
+      }
+      word = ~this.words[index];
+    }
+    return (index << 6) + Long.numberOfTrailingZeros(word);
+  }
+
+  private ArrayContainer toArrayContainer() {
+    char[] values = new char[Math.max(4, this.cardinality)];
+    int count = 0;
+    for (int i = 0; i < WORD_COUNT; i++) {
+      long word = this.words[i];
+      while (word != 0) {
+        values[count++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+        word &= word - 1;
+      }
+    }
+    return new ArrayContainer(values, count);
+  }
+
+  private static Container shrink(long[] words) {
+    BitmapContainer result = new BitmapContainer(words, countBits(words));
+    return result.cardinality <= MAX_ARRAY_SIZE ? result.toArrayContainer() : result;
+  }
+
+  private static int countBits(long[] words) {
+    int count = 0;
+    for (int i = 0; i < WORD_COUNT; i++) {
+      count += Long.bitCount(words[i]);
+    }
+    return count;
+  }
+}
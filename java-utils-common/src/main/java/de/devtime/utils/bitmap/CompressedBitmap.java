@@ -0,0 +1,612 @@
+package de.devtime.utils.bitmap;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A compressed bitmap for sparse sets of 32-bit values that are spread over a large range, where a
+ * {@link DenseBitmap} would waste memory. The values are treated as unsigned and split into chunks of 65536 values by
+ * their upper 16 bits. Each chunk that contains at least one value is stored in the smallest of three containers:
+ * <ul>
+ * <li>a sorted array of the lower 16 bits for up to 4096 values,</li>
+ * <li>a bitmap of 65536 bits for more values,</li>
+ * <li>a list of runs for consecutive values, created by {@link #addRange(long, long)} and {@link #runOptimize()}.</li>
+ * </ul>
+ * Intersections and unions only combine the containers of chunks that exist in both respectively one of the bitmaps
+ * and choose the algorithm by the container types. The cardinality is cached and kept up to date by all operations.
+ *
+ * <p>
+ * The bitmap can be used as secondary index for entities that are held in a list, e.g. one bitmap of list positions
+ * per attribute value:
+ * </p>
+ *
+ * <pre>
+ * CompressedBitmap matches = CompressedBitmap.and(indexByStatus.get(OPEN), indexByRegion.get(EUROPE));
+ * List&lt;Order&gt; openOrdersInEurope = matches.select(orders);
+ * </pre>
+ *
+ * <p>
+ * {@link #serialize(DataOutput)} writes a platform independent, big-endian format:
+ * </p>
+ *
+ * <pre>
+ * int     magic number 0x44544342
+ * int     number of containers
+ * per container, sorted by key:
+ *   char  upper 16 bits of the values
+ *   byte  type (0 = array, 1 = bitmap, 2 = run)
+ *   array:  int cardinality, cardinality * char value
+ *   bitmap: 1024 * long word, bit i of word j stands for the value j * 64 + i
+ *   run:    int number of runs, per run: char first value, char length - 1
+ * </pre>
+ *
+ * <p>
+ * The values of an array container are strictly increasing. The runs of a run container are sorted, end within the
+ * chunk and are separated by at least one missing value. {@link #deserialize(DataInput)} rejects data that violates
+ * these rules.
+ * </p>
+ *
+ * <p>
+ * Instances are not thread safe.
+ * </p>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+public class CompressedBitmap {
+
+  private static final int SERIAL_MAGIC = 0x44544342;
+  private static final long MAX_VALUE_EXCLUSIVE = 1L << 32;
+
+  private char[] keys;
+  private Container[] containers;
+  private int containerCount;
+  private long cardinality;
+
+  /**
+   * Creates an empty bitmap.
+   *
+   * @since 0.0.1
+   */
+  public CompressedBitmap() {
+    this(4);
+  }
+
+  private CompressedBitmap(int initialCapacity) {
+    this.keys = new char[initialCapacity];
+    this.containers = new Container[initialCapacity];
+  }
+
+  /**
+   * Creates a bitmap that contains the given values.
+   *
+   * @param values the values to add <i>(not null)</i>
+   * @return a new bitmap
+   * @since 0.0.1
+   */
+  public static CompressedBitmap of(int... values) {
+    CompressedBitmap bitmap = new CompressedBitmap();
+    for (int value : values) {
+      bitmap.add(value);
+    }
+    return bitmap;
+  }
+
+  /**
+   * Adds a value.
+   *
+   * @param value the value to add
+   * @return {@code true} if the value was not contained before
+   * @since 0.0.1
+   */
+  public boolean add(int value) {
+    char key = (char) (value >>> 16);
+    int index = indexOf(key);
+    if (index < 0) {
+      Container container = new ArrayContainer().add((char) value);
+      insertContainer(-index - 1, key, container);
+      this.cardinality++;
+      return true;
+    }
+    Container container = this.containers[index];
+    int before = container.cardinality();
+    container = container.add((char) value);
+    this.containers[index] = container;
+    int added = container.cardinality() - before;
+    this.cardinality += added;
+    return added > 0;
+  }
+
+  /**
+   * Adds all values from {@code fromValue} (inclusive) to {@code toValue} (exclusive). Chunks that did not contain any
+   * value before are stored as run.
+   *
+   * @param fromValue first value to add <i>([0;toValue])</i>
+   * @param toValue value after the last value to add <i>([fromValue;2^32])</i>
+   * @throws IllegalArgumentException if the range is invalid
+   * @since 0.0.1
+   */
+  public void addRange(long fromValue, long toValue) {
+    Validate.isTrue(0 <= fromValue && fromValue <= toValue && toValue <= MAX_VALUE_EXCLUSIVE,
+        "Invalid range [%d;%d)", fromValue, toValue);
+    if (fromValue == toValue) {
+      return;
+    }
+    int firstKey = (int) (fromValue >>> 16);
+    int lastKey = (int) ((toValue - 1) >>> 16);
+    for (int key = firstKey; key <= lastKey; key++) {
+      int from = key == firstKey ? (int) (fromValue & 0xFFFF) : 0;
+      int to = key == lastKey ? (int) ((toValue - 1) & 0xFFFF) + 1 : Container.CHUNK_SIZE;
+      int index = indexOf((char) key);
+      if (index < 0) {
+        insertContainer(-index - 1, (char) key, RunContainer.ofRange(from, to));
+        this.cardinality += to - from;
+      } else {
+        Container container = this.containers[index];
+        int before = container.cardinality();
+        container = container.addRange(from, to);
+        this.containers[index] = container;
+        this.cardinality += container.cardinality() - before;
+      }
+    }
+  }
+
+  /**
+   * Removes a value.
+   *
+   * @param value the value to remove
+   * @return {@code true} if the value was contained before
+   * @since 0.0.1
+   */
+  public boolean remove(int value) {
+    int index = indexOf((char) (value >>> 16));
+    if (index < 0) {
+      return false;
+    }
+    Container container = this.containers[index];
+    int before = container.cardinality();
+    container = container.remove((char) value);
+    if (container.cardinality() == before) {
+      return false;
+    }
+    this.cardinality--;
+    if (container.cardinality() == 0) {
+      removeContainer(index);
+    } else {
+      this.containers[index] = container;
+    }
+    return true;
+  }
+
+  /**
+   * Returns whether the given value is contained.
+   *
+   * @param value a value
+   * @return {@code true} if the value is contained
+   * @since 0.0.1
+   */
+  public boolean contains(int value) {
+    int index = indexOf((char) (value >>> 16));
+    return index >= 0 && this.containers[index].contains((char) value);
+  }
+
+  /**
+   * Returns the number of contained values. The value is cached and does not require to visit the containers.
+   *
+   * @return number of contained values
+   * @since 0.0.1
+   */
+  public long cardinality() {
+    return this.cardinality;
+  }
+
+  /**
+   * Returns whether no value is contained.
+   *
+   * @return {@code true} if the bitmap is empty
+   * @since 0.0.1
+   */
+  public boolean isEmpty() {
+    return this.cardinality == 0;
+  }
+
+  /**
+   * Converts every container into the representation with the smallest serialized size, which turns chunks with long
+   * sequences of consecutive values into runs.
+   *
+   * @since 0.0.1
+   */
+  public void runOptimize() {
+    for (int i = 0; i < this.containerCount; i++) {
+      this.containers[i] = this.containers[i].runOptimize();
+    }
+  }
+
+  /**
+   * Creates the intersection of two bitmaps. Both bitmaps are not modified.
+   *
+   * @param left a bitmap <i>(not null)</i>
+   * @param right another bitmap <i>(not null)</i>
+   * @return a new bitmap that contains the values that are contained in both bitmaps
+   * @since 0.0.1
+   */
+  public static CompressedBitmap and(CompressedBitmap left, CompressedBitmap right) {
+    CompressedBitmap result = new CompressedBitmap(Math.max(1, Math.min(left.containerCount, right.containerCount)));
+    int i = 0;
+    int j = 0;
+    while (i < left.containerCount && j < right.containerCount) {
+      char leftKey = left.keys[i];
+      char rightKey = right.keys[j];
+      if (leftKey < rightKey) {
+        i++;
+      } else if (leftKey > rightKey) {
+        j++;
+      } else {
+        result.appendIfNotEmpty(leftKey, left.containers[i].and(right.containers[j]));
+        i++;
+        j++;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of values that are contained in both bitmaps without creating the intersection.
+   *
+   * @param left a bitmap <i>(not null)</i>
+   * @param right another bitmap <i>(not null)</i>
+   * @return the cardinality of the intersection
+   * @since 0.0.1
+   */
+  public static long andCardinality(CompressedBitmap left, CompressedBitmap right) {
+    long count = 0;
+    int i = 0;
+    int j = 0;
+    while (i < left.containerCount && j < right.containerCount) {
+      char leftKey = left.keys[i];
+      char rightKey = right.keys[j];
+      if (leftKey < rightKey) {
+        i++;
+      } else if (leftKey > rightKey) {
+        j++;
+      } else {
+        count += left.containers[i].andCardinality(right.containers[j]);
+        i++;
+        j++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns whether both bitmaps contain at least one common value.
+   *
+   * @param left a bitmap <i>(not null)</i>
+   * @param right another bitmap <i>(not null)</i>
+   * @return {@code true} if the intersection is not empty
+   * @since 0.0.1
+   */
+  public static boolean intersects(CompressedBitmap left, CompressedBitmap right) {
+    int i = 0;
+    int j = 0;
+    while (i < left.containerCount && j < right.containerCount) {
+      char leftKey = left.keys[i];
+      char rightKey = right.keys[j];
+      if (leftKey < rightKey) {
+        i++;
+      } else if (leftKey > rightKey) {
+        j++;
+      } else {
+        if (left.containers[i].andCardinality(right.containers[j]) > 0) {
+          return true;
+        }
+        i++;
+        j++;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Creates the union of two bitmaps. Both bitmaps are not modified.
+   *
+   * @param left a bitmap <i>(not null)</i>
+   * @param right another bitmap <i>(not null)</i>
+   * @return a new bitmap that contains the values that are contained in at least one of the bitmaps
+   * @since 0.0.1
+   */
+  public static CompressedBitmap or(CompressedBitmap left, CompressedBitmap right) {
+    CompressedBitmap result = new CompressedBitmap(Math.max(1, left.containerCount + right.containerCount));
+    int i = 0;
+    int j = 0;
+    while (i < left.containerCount && j < right.containerCount) {
+      char leftKey = left.keys[i];
+      char rightKey = right.keys[j];
+      if (leftKey < rightKey) {
+        result.appendIfNotEmpty(leftKey, left.containers[i].copy());
+        i++;
+      } else if (leftKey > rightKey) {
+        result.appendIfNotEmpty(rightKey, right.containers[j].copy());
+        j++;
+      } else {
+        result.appendIfNotEmpty(leftKey, left.containers[i].or(right.containers[j]));
+        i++;
+        j++;
+      }
+    }
+    for (; i < left.containerCount; i++) {
+      result.appendIfNotEmpty(left.keys[i], left.containers[i].copy());
+    }
+    for (; j < right.containerCount; j++) {
+      result.appendIfNotEmpty(right.keys[j], right.containers[j].copy());
+    }
+    return result;
+  }
+
+  /**
+   * Creates the difference of two bitmaps. Both bitmaps are not modified.
+   *
+   * @param left a bitmap <i>(not null)</i>
+   * @param right the bitmap whose values are removed <i>(not null)</i>
+   * @return a new bitmap that contains the values of {@code left} that are not contained in {@code right}
+   * @since 0.0.1
+   */
+  public static CompressedBitmap andNot(CompressedBitmap left, CompressedBitmap right) {
+    CompressedBitmap result = new CompressedBitmap(Math.max(1, left.containerCount));
+    int j = 0;
+    for (int i = 0; i < left.containerCount; i++) {
+      char key = left.keys[i];
+      while (j < right.containerCount && right.keys[j] < key) {
+        j++;
+      }
+      if (j < right.containerCount && right.keys[j] == key) {
+        result.appendIfNotEmpty(key, left.containers[i].andNot(right.containers[j]));
+      } else {
+        result.appendIfNotEmpty(key, left.containers[i].copy());
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Passes all contained values in unsigned ascending order to the consumer.
+   *
+   * @param consumer the consumer of the values <i>(not null)</i>
+   * @since 0.0.1
+   */
+  public void forEach(IntConsumer consumer) {
+    for (int i = 0; i < this.containerCount; i++) {
+      this.containers[i].forEach(this.keys[i] << 16, consumer);
+    }
+  }
+
+  /**
+   * Returns all contained values in unsigned ascending order.
+   *
+   * @return the contained values
+   * @throws IllegalStateException if there are too many values for an array
+   * @since 0.0.1
+   */
+  public int[] toArray() {
+    Validate.validState(this.cardinality < Integer.MAX_VALUE - 8, "Too many values for an array: %d",
+        this.cardinality);
+    int[] values = new int[(int) this.cardinality];
+    int[] count = new int[1];
+    forEach(value -> values[count[0]++] = value);
+    return values;
+  }
+
+  /**
+   * Returns the elements of a list whose positions are contained in this bitmap. Values that are not a valid position
+   * of the list are ignored.
+   *
+   * @param <T> type of the elements
+   * @param elements a list with fast random access <i>(not null)</i>
+   * @return the selected elements in the order of the list
+   * @since 0.0.1
+   */
+  public <T> List<T> select(List<T> elements) {
+    int size = elements.size();
+    List<T> selected = new ArrayList<>((int) Math.min(size, this.cardinality));
+    for (int i = 0; i < this.containerCount && this.keys[i] < 0x8000 && this.keys[i] << 16 < size; i++) {
+      this.containers[i].forEach(this.keys[i] << 16, position -> {
+        if (position < size) {
+          selected.add(elements.get(position));
+        }
+      });
+    }
+    return selected;
+  }
+
+  /**
+   * Returns the number of bytes that {@link #serialize(DataOutput)} writes.
+   *
+   * @return size of the serialized bitmap in bytes
+   * @since 0.0.1
+   */
+  public int serializedSizeInBytes() {
+    int size = 2 * Integer.BYTES;
+    for (int i = 0; i < this.containerCount; i++) {
+      size += Character.BYTES + Byte.BYTES + this.containers[i].serializedSize();
+    }
+    return size;
+  }
+
+  /**
+   * Writes this bitmap in the format described at the class documentation.
+   *
+   * @param out the output to write to <i>(not null)</i>
+   * @throws IOException if the bitmap can not be written
+   * @since 0.0.1
+   */
+  public void serialize(DataOutput out) throws IOException {
+    out.writeInt(SERIAL_MAGIC);
+    out.writeInt(this.containerCount);
+    for (int i = 0; i < this.containerCount; i++) {
+      out.writeChar(this.keys[i]);
+      out.writeByte(this.containers[i].type());
+      this.containers[i].write(out);
+    }
+  }
+
+  /**
+   * Reads a bitmap that was written by {@link #serialize(DataOutput)}.
+   *
+   * @param in the input to read from <i>(not null)</i>
+   * @return the read bitmap
+   * @throws IOException if the bitmap can not be read or the data is not a serialized bitmap
+   * @since 0.0.1
+   */
+  public static CompressedBitmap deserialize(DataInput in) throws IOException {
+    int magic = in.readInt();
+    if (magic != SERIAL_MAGIC) {
+      throw new IOException("Unknown format " + Integer.toHexString(magic) + " of compressed bitmap");
+    }
+    int count = in.readInt();
+    if (count < 0 || count > Container.CHUNK_SIZE) {
+      throw new IOException("Invalid number of containers " + count);
+    }
+    CompressedBitmap bitmap = new CompressedBitmap(Math.max(1, count));
+    int previousKey = -1;
+    for (int i = 0; i < count; i++) {
+      char key = in.readChar();
+      if (key <= previousKey) {
+        throw new IOException("Containers are not sorted at key " + (int) key);
+      }
+      previousKey = key;
+      bitmap.appendIfNotEmpty(key, readContainer(in));
+    }
+    return bitmap;
+  }
+
+  private static Container readContainer(DataInput in) throws IOException {
+    byte type = in.readByte();
+    switch (type) {
+      case Container.TYPE_ARRAY: {
+        int cardinality = readLength(in, Container.MAX_ARRAY_SIZE);
+        char[] values = new char[Math.max(4, cardinality)];
+        for (int i = 0; i < cardinality; i++) {
+          values[i] = in.readChar();
+          if (i > 0 && values[i] <= values[i - 1]) {
+            throw new IOException("Array container values are not strictly increasing at " + (int) values[i]);
+          }
+        }
+        return new ArrayContainer(values, cardinality);
+      }
+      case Container.TYPE_BITMAP: {
+        long[] words = new long[Container.CHUNK_SIZE / Long.SIZE];
+        int cardinality = 0;
+        for (int i = 0; i < words.length; i++) {
+          words[i] = in.readLong();
+          cardinality += Long.bitCount(words[i]);
+        }
+        return new BitmapContainer(words, cardinality);
+      }
+      case Container.TYPE_RUN: {
+        int runCount = readLength(in, Container.CHUNK_SIZE / 2);
+        char[] runs = new char[runCount * 2];
+        int previousEnd = -2;
+        for (int i = 0; i < runCount; i++) {
+          int start = in.readChar();
+          int length = in.readChar();
+          if (start <= previousEnd + 1 || start + length > Character.MAX_VALUE) {
+            throw new IOException("Invalid run [" + start + ";" + (start + length) + "] in run container");
+          }
+          runs[i * 2] = (char) start;
+          runs[i * 2 + 1] = (char) length;
+          previousEnd = start + length;
+        }
+        return new RunContainer(runs, runCount);
+      }
+      default:
+        throw new IOException("Unknown container type " + type);
+    }
+  }
+
+  private static int readLength(DataInput in, int max) throws IOException {
+    int length = in.readInt();
+    if (length < 0 || length > max) {
+      throw new IOException("Invalid container length " + length);
+    }
+    return length;
+  }
+
+  private int indexOf(char key) {
+    return Arrays.binarySearch(this.keys, 0, this.containerCount, key);
+  }
+
+  private void insertContainer(int index, char key, Container container) {
+    if (this.containerCount == this.keys.length) {
+      int capacity = Math.min(Container.CHUNK_SIZE, this.keys.length * 2);
+      this.keys = Arrays.copyOf(this.keys, capacity);
+      this.containers = Arrays.copyOf(this.containers, capacity);
+    }
+    System.arraycopy(this.keys, index, this.keys, index + 1, this.containerCount - index);
+    System.arraycopy(this.containers, index, this.containers, index + 1, this.containerCount - index);
+    this.keys[index] = key;
+    this.containers[index] = container;
+    this.containerCount++;
+  }
+
+  private void removeContainer(int index) {
+    System.arraycopy(this.keys, index + 1, this.keys, index, this.containerCount - index - 1);
+    System.arraycopy(this.containers, index + 1, this.containers, index, this.containerCount - index - 1);
+    this.containerCount--;
+    this.containers[this.containerCount] = null;
+  }
+
+  private void appendIfNotEmpty(char key, Container container) {
+    if (container.cardinality() > 0) {
+      insertContainer(this.containerCount, key, container);
+      this.cardinality += container.cardinality();
+    }
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof CompressedBitmap)) {
+      return false;
+    }
+    CompressedBitmap other = (CompressedBitmap) obj;
+    if (this.cardinality != other.cardinality || this.containerCount != other.containerCount) {
+      return false;
+    }
+    for (int i = 0; i < this.containerCount; i++) {
+      if (this.keys[i] != other.keys[i]
+          || this.containers[i].cardinality() != other.containers[i].cardinality()
+          || this.containers[i].andCardinality(other.containers[i]) != this.containers[i].cardinality()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int[] hash = { Long.hashCode(this.cardinality) };
+    forEach(value -> hash[0] = 31 * hash[0] + value);
+    return hash[0];
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("{");
+    forEach(value -> {
+      if (builder.length() > 1) {
+        builder.append(", ");
+      }
+      builder.append(Integer.toUnsignedString(value));
+    });
+    return builder.append('}').toString();
+  }
+}
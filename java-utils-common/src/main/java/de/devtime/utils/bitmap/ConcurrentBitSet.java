@@ -0,0 +1,255 @@
+package de.devtime.utils.bitmap;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A bitset with a fixed number of bits that can be modified by many threads without locking. Every bit operation is
+ * a single atomic read-modify-write of the {@code long} word that contains the bit, so concurrent updates of different
+ * bits in the same word are never lost.
+ *
+ * <p>
+ * {@link #claimFirstFreeBit()} atomically finds and sets a bit that is 0, which makes the bitset usable as slot
+ * allocator for pooled resources:
+ * </p>
+ *
+ * <pre>
+ * int slot = slots.claimFirstFreeBit();
+ * if (slot &lt; 0) {
+ *   throw new IllegalStateException("Pool exhausted");
+ * }
+ * try {
+ *   use(resources[slot]);
+ * } finally {
+ *   slots.clear(slot);
+ * }
+ * </pre>
+ *
+ * <p>
+ * Single bit operations are linearizable. Operations that read several words, like {@link #cardinality()}, do not see
+ * a consistent snapshot while other threads modify the bitset.
+ * </p>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+public class ConcurrentBitSet {
+
+  private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+  private static final int ADDRESS_BITS_PER_WORD = 6;
+
+  private final long[] words;
+  private final int size;
+
+  /**
+   * Creates a bitset with the given number of bits, all set to 0.
+   *
+   * @param size number of bits <i>(&gt;= 0)</i>
+   * @throws IllegalArgumentException if {@code size} is negative
+   * @since 0.0.1
+   */
+  public ConcurrentBitSet(int size) {
+    Validate.isTrue(size >= 0, "size must not be negative: %d", size);
+    this.size = size;
+    this.words = new long[DenseBitmap.wordCount(size)];
+  }
+
+  /**
+   * Returns the number of bits of this bitset.
+   *
+   * @return number of bits
+   * @since 0.0.1
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the bit at the given position with volatile semantics.
+   *
+   * @param position position of the bit <i>([0;size))</i>
+   * @return {@code true} if the bit is set to 1
+   * @throws IndexOutOfBoundsException if {@code position} is invalid
+   * @since 0.0.1
+   */
+  public boolean get(int position) {
+    Objects.checkIndex(position, this.size);
+    return ((long) WORDS.getVolatile(this.words, position >>> ADDRESS_BITS_PER_WORD) & (1L << position)) != 0;
+  }
+
+  /**
+   * Atomically sets the bit at the given position to 1.
+   *
+   * @param position position of the bit <i>([0;size))</i>
+   * @throws IndexOutOfBoundsException if {@code position} is invalid
+   * @since 0.0.1
+   */
+  public void set(int position) {
+    testAndSet(position);
+  }
+
+  /**
+   * Atomically sets the bit at the given position to 1 and returns its previous state.
+   *
+   * @param position position of the bit <i>([0;size))</i>
+   * @return {@code true} if the bit was already set to 1, {@code false} if this call changed it
+   * @throws IndexOutOfBoundsException if {@code position} is invalid
+   * @since 0.0.1
+   */
+  public boolean testAndSet(int position) {
+    Objects.checkIndex(position, this.size);
+    long mask = 1L << position;
+    long previous = (long) WORDS.getAndBitwiseOr(this.words, position >>> ADDRESS_BITS_PER_WORD, mask);
+    return (previous & mask) != 0;
+  }
+
+  /**
+   * Atomically sets the bit at the given position to 0.
+   *
+   * @param position position of the bit <i>([0;size))</i>
+   * @throws IndexOutOfBoundsException if {@code position} is invalid
+   * @since 0.0.1
+   */
+  public void clear(int position) {
+    testAndClear(position);
+  }
+
+  /**
+   * Atomically sets the bit at the given position to 0 and returns its previous state.
+   *
+   * @param position position of the bit <i>([0;size))</i>
+   * @return {@code true} if the bit was set to 1 and this call changed it
+   * @throws IndexOutOfBoundsException if {@code position} is invalid
+   * @since 0.0.1
+   */
+  public boolean testAndClear(int position) {
+    Objects.checkIndex(position, this.size);
+    long mask = 1L << position;
+    long previous = (long) WORDS.getAndBitwiseAnd(this.words, position >>> ADDRESS_BITS_PER_WORD, ~mask);
+    return (previous & mask) != 0;
+  }
+
+  /**
+   * Atomically inverts the bit at the given position.
+   *
+   * @param position position of the bit <i>([0;size))</i>
+   * @return the new state of the bit
+   * @throws IndexOutOfBoundsException if {@code position} is invalid
+   * @since 0.0.1
+   */
+  public boolean flip(int position) {
+    Objects.checkIndex(position, this.size);
+    long mask = 1L << position;
+    long previous = (long) WORDS.getAndBitwiseXor(this.words, position >>> ADDRESS_BITS_PER_WORD, mask);
+    return (previous & mask) == 0;
+  }
+
+  /**
+   * Atomically finds the bit with the lowest position that is 0 and sets it to 1.
+   *
+   * @return position of the claimed bit or -1 if all bits are set
+   * @since 0.0.1
+   */
+  public int claimFirstFreeBit() {
+    return claimFreeBit(0);
+  }
+
+  /**
+   * Atomically finds a bit that is 0 and sets it to 1. The search starts at the word of the given position and wraps
+   * around at the end, so threads that pass different hints, e.g. derived from their thread id, rarely compete for
+   * the same word.
+   *
+   * @param hint position at which the search starts <i>([0;size))</i>
+   * @return position of the claimed bit or -1 if all bits are set
+   * @throws IndexOutOfBoundsException if {@code hint} is invalid
+   * @since 0.0.1
+   */
+  public int claimFreeBit(int hint) {
+    if (this.size == 0) {
+      return -1;
+    }
+    Objects.checkIndex(hint, this.size);
+    long[] w = this.words;
+    int startWord = hint >>> ADDRESS_BITS_PER_WORD;
+    for (int n = 0; n < w.length; n++) {
+      int index = startWord + n;
+      if (index >= w.length) {
+        index -= w.length;
+      }
+      long validMask = validBitsOfWord(index);
+      long word = (long) WORDS.getVolatile(w, index);
+      long free = ~word & validMask;
+      while (free != 0) {
+        long bit = Long.lowestOneBit(free);
+        long witness = (long) WORDS.compareAndExchange(w, index, word, word | bit);
+        if (witness == word) {
+          return (index << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(bit);
+        }
+        word = witness;
+        free = ~word & validMask;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the number of bits set to 1. While other threads modify the bitset, the result is only an estimate.
+   *
+   * @return number of bits set to 1
+   * @since 0.0.1
+   */
+  public int cardinality() {
+    int count = 0;
+    for (int i = 0; i < this.words.length; i++) {
+      count += Long.bitCount((long) WORDS.getVolatile(this.words, i));
+    }
+    return count;
+  }
+
+  /**
+   * Returns the position of the first bit set to 1 at or after the given position. While other threads modify the
+   * bitset, the result may already be outdated.
+   *
+   * @param fromPosition position to start the search at <i>(&gt;= 0)</i>
+   * @return position of the next bit set to 1 or -1 if there is none
+   * @throws IndexOutOfBoundsException if {@code fromPosition} is negative
+   * @since 0.0.1
+   */
+  public int nextSetBit(int fromPosition) {
+    if (fromPosition < 0) {
+      throw new IndexOutOfBoundsException("fromPosition < 0: " + fromPosition);
+    }
+    if (fromPosition >= this.size) {
+      return -1;
+    }
+    int index = fromPosition >>> ADDRESS_BITS_PER_WORD;
+    long word = (long) WORDS.getVolatile(this.words, index) & (-1L << fromPosition);
+    while (word == 0) {
+      if (++index == this.words.length) {
+        return -1;
+      }
+      word = (long) WORDS.getVolatile(this.words, index);
+    }
+    return (index << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+  }
+
+  private long validBitsOfWord(int index) {
+    int bitsInWord = this.size - (index << ADDRESS_BITS_PER_WORD);
+    return bitsInWord >= Long.SIZE ? -1L : (1L << bitsInWord) - 1;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("{");
+    for (int i = nextSetBit(0); i >= 0; i = nextSetBit(i + 1)) {
+      if (builder.length() > 1) {
+        builder.append(", ");
+      }
+      builder.append(i);
+    }
+    return builder.append('}').toString();
+  }
+}
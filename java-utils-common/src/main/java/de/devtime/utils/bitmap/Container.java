@@ -0,0 +1,67 @@
+package de.devtime.utils.bitmap;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.function.IntConsumer;
+
+/**
+ * Stores the lower 16 bits of the values of one chunk of a {@link CompressedBitmap}. Binary operations never modify
+ * their operands and never return one of them, so the result can be modified independently. Single value operations
+ * may modify the container in place and return either the container itself or a container of another type.
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+abstract class Container {
+
+  /** Number of values of one chunk. */
+  static final int CHUNK_SIZE = 1 << 16;
+
+  /** Maximum cardinality of an {@link ArrayContainer}, above it a {@link BitmapContainer} is smaller. */
+  static final int MAX_ARRAY_SIZE = 4096;
+
+  static final byte TYPE_ARRAY = 0;
+  static final byte TYPE_BITMAP = 1;
+  static final byte TYPE_RUN = 2;
+
+  abstract int cardinality();
+
+  abstract boolean contains(char value);
+
+  abstract Container add(char value);
+
+  abstract Container remove(char value);
+
+  /**
+   * Adds all values from {@code from} (inclusive) to {@code to} (exclusive).
+   */
+  abstract Container addRange(int from, int to);
+
+  abstract Container and(Container other);
+
+  abstract int andCardinality(Container other);
+
+  abstract Container or(Container other);
+
+  abstract Container andNot(Container other);
+
+  abstract void forEach(int high, IntConsumer consumer);
+
+  /**
+   * Returns the values as bitmap container. The returned container may be this container and must not be modified.
+   */
+  abstract BitmapContainer toBitmapContainer();
+
+  /**
+   * Returns the container with the smallest serialized size that contains the same values.
+   */
+  abstract Container runOptimize();
+
+  abstract Container copy();
+
+  abstract byte type();
+
+  abstract int serializedSize();
+
+  abstract void write(DataOutput out) throws IOException;
+}
@@ -0,0 +1,399 @@
+package de.devtime.utils.bitmap;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A bitmap with a fixed number of bits that are stored uncompressed in a {@code long[]}. In contrast to
+ * {@link de.devtime.utils.BitUtil}, which works on a single {@code long} value, this class can hold masks for millions
+ * of subjects.
+ *
+ * <p>
+ * All bulk operations ({@link #and(DenseBitmap)}, {@link #or(DenseBitmap)}, {@link #xor(DenseBitmap)},
+ * {@link #andNot(DenseBitmap)}, {@link #cardinality()}) work one word at a time, modify this bitmap in place and do not
+ * allocate. Their loops are simple counted loops over local arrays without calls or branches, so the JIT compiler can
+ * unroll and vectorize them. Both bitmaps of a bulk operation must have the same size.
+ * </p>
+ *
+ * <p>
+ * Instances are not thread safe.
+ * </p>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+public class DenseBitmap {
+
+  private static final int ADDRESS_BITS_PER_WORD = 6;
+
+  private final long[] words;
+  private final int size;
+
+  /**
+   * Creates a bitmap with the given number of bits, all set to 0.
+   *
+   * @param size number of bits <i>(&gt;= 0)</i>
+   * @throws IllegalArgumentException if {@code size} is negative
+   * @since 0.0.1
+   */
+  public DenseBitmap(int size) {
+    Validate.isTrue(size >= 0, "size must not be negative: %d", size);
+    this.size = size;
+    this.words = new long[wordCount(size)];
+  }
+
+  private DenseBitmap(DenseBitmap source) {
+    this.size = source.size;
+    this.words = source.words.clone();
+  }
+
+  /**
+   * Returns the number of {@code long} words that are needed to store the given number of bits.
+   *
+   * @param bits number of bits <i>(&gt;= 0)</i>
+   * @return number of words
+   * @since 0.0.1
+   */
+  public static int wordCount(long bits) {
+    return (int) ((bits + Long.SIZE - 1) >>> ADDRESS_BITS_PER_WORD);
+  }
+
+  /**
+   * Returns the number of bits of this bitmap.
+   *
+   * @return number of bits
+   * @since 0.0.1
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the bit at the given position.
+   *
+   * @param position position of the bit <i>([0;size))</i>
+   * @return {@code true} if the bit is set to 1
+   * @throws IndexOutOfBoundsException if {@code position} is invalid
+   * @since 0.0.1
+   */
+  public boolean get(int position) {
+    Objects.checkIndex(position, this.size);
+    return (this.words[position >>> ADDRESS_BITS_PER_WORD] & (1L << position)) != 0;
+  }
+
+  /**
+   * Sets the bit at the given position to 1.
+   *
+   * @param position position of the bit <i>([0;size))</i>
+   * @throws IndexOutOfBoundsException if {@code position} is invalid
+   * @since 0.0.1
+   */
+  public void set(int position) {
+    Objects.checkIndex(position, this.size);
+    this.words[position >>> ADDRESS_BITS_PER_WORD] |= 1L << position;
+  }
+
+  /**
+   * Sets the bit at the given position to 0.
+   *
+   * @param position position of the bit <i>([0;size))</i>
+   * @throws IndexOutOfBoundsException if {@code position} is invalid
+   * @since 0.0.1
+   */
+  public void clear(int position) {
+    Objects.checkIndex(position, this.size);
+    this.words[position >>> ADDRESS_BITS_PER_WORD] &= ~(1L << position);
+  }
+
+  /**
+   * Inverts the bit at the given position.
+   *
+   * @param position position of the bit <i>([0;size))</i>
+   * @throws IndexOutOfBoundsException if {@code position} is invalid
+   * @since 0.0.1
+   */
+  public void flip(int position) {
+    Objects.checkIndex(position, this.size);
+    this.words[position >>> ADDRESS_BITS_PER_WORD] ^= 1L << position;
+  }
+
+  /**
+   * Sets all bits from {@code fromPosition} (inclusive) to {@code toPosition} (exclusive) to 1.
+   *
+   * @param fromPosition first position to set <i>([0;toPosition])</i>
+   * @param toPosition position after the last position to set <i>([fromPosition;size])</i>
+   * @throws IndexOutOfBoundsException if the range is invalid
+   * @since 0.0.1
+   */
+  public void set(int fromPosition, int toPosition) {
+    Objects.checkFromToIndex(fromPosition, toPosition, this.size);
+    if (fromPosition == toPosition) {
+      return;
+    }
+    int firstWord = fromPosition >>> ADDRESS_BITS_PER_WORD;
+    int lastWord = (toPosition - 1) >>> ADDRESS_BITS_PER_WORD;
+    long firstMask = -1L << fromPosition;
+    long lastMask = -1L >>> -toPosition;
+    long[] w = this.words;
+    if (firstWord == lastWord) {
+      w[firstWord] |= firstMask & lastMask;
+      return;
+    }
+    w[firstWord] |= firstMask;
+    for (int i = firstWord + 1; i < lastWord; i++) {
+      w[i] = -1L;
+    }
+    w[lastWord] |= lastMask;
+  }
+
+  /**
+   * Sets all bits from {@code fromPosition} (inclusive) to {@code toPosition} (exclusive) to 0.
+   *
+   * @param fromPosition first position to clear <i>([0;toPosition])</i>
+   * @param toPosition position after the last position to clear <i>([fromPosition;size])</i>
+   * @throws IndexOutOfBoundsException if the range is invalid
+   * @since 0.0.1
+   */
+  public void clear(int fromPosition, int toPosition) {
+    Objects.checkFromToIndex(fromPosition, toPosition, this.size);
+    if (fromPosition == toPosition) {
+      return;
+    }
+    int firstWord = fromPosition >>> ADDRESS_BITS_PER_WORD;
+    int lastWord = (toPosition - 1) >>> ADDRESS_BITS_PER_WORD;
+    long firstMask = -1L << fromPosition;
+    long lastMask = -1L >>> -toPosition;
+    long[] w = this.words;
+    if (firstWord == lastWord) {
+      w[firstWord] &= ~(firstMask & lastMask);
+      return;
+    }
+    w[firstWord] &= ~firstMask;
+    for (int i = firstWord + 1; i < lastWord; i++) {
+      w[i] = 0L;
+    }
+    w[lastWord] &= ~lastMask;
+  }
+
+  /**
+   * Sets all bits to 0.
+   *
+   * @since 0.0.1
+   */
+  public void clearAll() {
+    Arrays.fill(this.words, 0L);
+  }
+
+  /**
+   * Combines this bitmap with another one by a bitwise AND. Only this bitmap is modified.
+   *
+   * @param other a bitmap of the same size <i>(not null)</i>
+   * @throws IllegalArgumentException if the sizes differ
+   * @since 0.0.1
+   */
+  public void and(DenseBitmap other) {
+    long[] w = this.words;
+    long[] o = otherWords(other);
+    for (int i = 0; i < w.length; i++) {
+      w[i] &= o[i];
+    }
+  }
+
+  /**
+   * Combines this bitmap with another one by a bitwise OR. Only this bitmap is modified.
+   *
+   * @param other a bitmap of the same size <i>(not null)</i>
+   * @throws IllegalArgumentException if the sizes differ
+   * @since 0.0.1
+   */
+  public void or(DenseBitmap other) {
+    long[] w = this.words;
+    long[] o = otherWords(other);
+    for (int i = 0; i < w.length; i++) {
+      w[i] |= o[i];
+    }
+  }
+
+  /**
+   * Combines this bitmap with another one by a bitwise XOR. Only this bitmap is modified.
+   *
+   * @param other a bitmap of the same size <i>(not null)</i>
+   * @throws IllegalArgumentException if the sizes differ
+   * @since 0.0.1
+   */
+  public void xor(DenseBitmap other) {
+    long[] w = this.words;
+    long[] o = otherWords(other);
+    for (int i = 0; i < w.length; i++) {
+      w[i] ^= o[i];
+    }
+  }
+
+  /**
+   * Sets all bits of this bitmap to 0 that are set to 1 in the other bitmap. Only this bitmap is modified.
+   *
+   * @param other a bitmap of the same size <i>(not null)</i>
+   * @throws IllegalArgumentException if the sizes differ
+   * @since 0.0.1
+   */
+  public void andNot(DenseBitmap other) {
+    long[] w = this.words;
+    long[] o = otherWords(other);
+    for (int i = 0; i < w.length; i++) {
+      w[i] &= ~o[i];
+    }
+  }
+
+  /**
+   * Returns whether this bitmap and the other bitmap have at least one bit set to 1 at the same position.
+   *
+   * @param other a bitmap of the same size <i>(not null)</i>
+   * @return {@code true} if both bitmaps have a common bit
+   * @throws IllegalArgumentException if the sizes differ
+   * @since 0.0.1
+   */
+  public boolean intersects(DenseBitmap other) {
+    long[] w = this.words;
+    long[] o = otherWords(other);
+    for (int i = 0; i < w.length; i++) {
+      if ((w[i] & o[i]) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the number of bits set to 1.
+   *
+   * @return number of bits set to 1
+   * @since 0.0.1
+   */
+  public int cardinality() {
+    long[] w = this.words;
+    int count = 0;
+    for (int i = 0; i < w.length; i++) {
+      count += Long.bitCount(w[i]);
+    }
+    return count;
+  }
+
+  /**
+   * Returns the number of bits that are set to 1 in this bitmap and in the other bitmap without creating the
+   * intersection.
+   *
+   * @param other a bitmap of the same size <i>(not null)</i>
+   * @return number of common bits set to 1
+   * @throws IllegalArgumentException if the sizes differ
+   * @since 0.0.1
+   */
+  public int andCardinality(DenseBitmap other) {
+    long[] w = this.words;
+    long[] o = otherWords(other);
+    int count = 0;
+    for (int i = 0; i < w.length; i++) {
+      count += Long.bitCount(w[i] & o[i]);
+    }
+    return count;
+  }
+
+  /**
+   * Returns whether no bit is set to 1.
+   *
+   * @return {@code true} if all bits are 0
+   * @since 0.0.1
+   */
+  public boolean isEmpty() {
+    for (long word : this.words) {
+      if (word != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the position of the first bit set to 1 at or after the given position.
+   *
+   * @param fromPosition position to start the search at <i>(&gt;= 0)</i>
+   * @return position of the next bit set to 1 or -1 if there is none
+   * @throws IndexOutOfBoundsException if {@code fromPosition} is negative
+   * @since 0.0.1
+   */
+  public int nextSetBit(int fromPosition) {
+    if (fromPosition < 0) {
+      throw new IndexOutOfBoundsException("fromPosition < 0: " + fromPosition);
+    }
+    if (fromPosition >= this.size) {
+      return -1;
+    }
+    long[] w = this.words;
+    int index = fromPosition >>> ADDRESS_BITS_PER_WORD;
+    long word = w[index] & (-1L << fromPosition);
+    while (word == 0) {
+      if (++index == w.length) {
+        return -1;
+      }
+      word = w[index];
+    }
+    return (index << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+  }
+
+  /**
+   * Returns the words that store the bits of this bitmap. Bit {@code i} is stored at position {@code i % 64} of word
+   * {@code i / 64}, which matches the layout of {@link java.util.BitSet#toLongArray()}. Changes to the returned array
+   * are reflected by this bitmap.
+   *
+   * @return the words of this bitmap
+   * @since 0.0.1
+   */
+  public long[] words() {
+    return this.words;
+  }
+
+  /**
+   * Creates an independent copy of this bitmap.
+   *
+   * @return a copy
+   * @since 0.0.1
+   */
+  public DenseBitmap copy() {
+    return new DenseBitmap(this);
+  }
+
+  private long[] otherWords(DenseBitmap other) {
+    Validate.isTrue(this.size == other.size, "Bitmap sizes differ: %d != %d", this.size, other.size);
+    return other.words;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof DenseBitmap)) {
+      return false;
+    }
+    DenseBitmap other = (DenseBitmap) obj;
+    return this.size == other.size && Arrays.equals(this.words, other.words);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * this.size + Arrays.hashCode(this.words);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("{");
+    for (int i = nextSetBit(0); i >= 0; i = nextSetBit(i + 1)) {
+      if (builder.length() > 1) {
+        builder.append(", ");
+      }
+      builder.append(i);
+    }
+    return builder.append('}').toString();
+  }
+}
@@ -0,0 +1,303 @@
+package de.devtime.utils.bitmap;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A bitmap that is stored off-heap in a memory-mapped file and survives restarts. Opening a bitmap only maps the file,
+ * the pages are loaded by the operating system when they are accessed, so the startup time does not depend on the
+ * size. Bit {@code i} is stored like {@link de.devtime.utils.BitUtil#setLongBit(int)} would set bit {@code i % 64} of
+ * the little-endian {@code long} word {@code i / 64}, i.e. at bit {@code i % 8} of data byte {@code i / 8}.
+ *
+ * <pre>
+ * file layout
+ *  0 long magic
+ *  8 int  version
+ * 12 int  reserved
+ * 16 data, a multiple of 8 bytes
+ * </pre>
+ *
+ * <p>
+ * Since a single mapping is limited to 2 GiB, the data is mapped in regions of a fixed size. All bit operations are
+ * atomic updates of the containing word and can be called by many threads. {@link #ensureCapacity(long)} grows the
+ * file and maps the new part, readers that still use the previous mapping are not affected. {@link #force()} writes
+ * all changes to the storage device and acts as checkpoint, changes after the last checkpoint may be lost on a crash
+ * of the operating system.
+ * </p>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+public final class MappedBitmap implements AutoCloseable {
+
+  /** Default size of a mapped region, 1 GiB or 2^33 bits. */
+  public static final int DEFAULT_REGION_SIZE = 1 << 30;
+
+  private static final long MAGIC = 0x44544249544D4150L;
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 16;
+  private static final VarHandle LONG_VIEW = MethodHandles.byteBufferViewVarHandle(long[].class,
+      ByteOrder.LITTLE_ENDIAN);
+
+  private final Path file;
+  private final int regionSize;
+  private final int regionBitShift;
+
+  private volatile MappedByteBuffer[] regions = new MappedByteBuffer[0];
+  private volatile long capacity;
+  private boolean closed;
+
+  /**
+   * Opens or creates the bitmap in the given file with the default region size.
+   *
+   * @param file the file of the bitmap <i>(not null)</i>
+   * @param minimumCapacity minimum number of bits, the file is grown if it is smaller <i>(&gt;= 0)</i>
+   * @return the opened bitmap
+   * @throws IOException if the file can not be opened or is no bitmap file
+   * @since 0.0.1
+   */
+  public static MappedBitmap open(Path file, long minimumCapacity) throws IOException {
+    return open(file, minimumCapacity, DEFAULT_REGION_SIZE);
+  }
+
+  /**
+   * Opens or creates the bitmap in the given file. The region size only affects how the file is mapped, a file can be
+   * opened with another region size than it was created with.
+   *
+   * @param file the file of the bitmap <i>(not null)</i>
+   * @param minimumCapacity minimum number of bits, the file is grown if it is smaller <i>(&gt;= 0)</i>
+   * @param regionSize size of a mapped region in bytes <i>(power of two, [4 KiB;1 GiB])</i>
+   * @return the opened bitmap
+   * @throws IOException if the file can not be opened or is no bitmap file
+   * @since 0.0.1
+   */
+  public static MappedBitmap open(Path file, long minimumCapacity, int regionSize) throws IOException {
+    Validate.isTrue(regionSize >= 4096 && regionSize <= DEFAULT_REGION_SIZE && Integer.bitCount(regionSize) == 1,
+        "The region size must be a power of two between 4096 and 2^30: %d", regionSize);
+    Validate.isTrue(minimumCapacity >= 0, "The capacity must not be negative: %d", minimumCapacity);
+    MappedBitmap bitmap = new MappedBitmap(file, regionSize);
+    long dataSize = bitmap.readHeader();
+    bitmap.map(Math.max(dataSize, getDataSize(minimumCapacity)));
+    return bitmap;
+  }
+
+  private MappedBitmap(Path file, int regionSize) {
+    this.file = file;
+    this.regionSize = regionSize;
+    this.regionBitShift = Integer.numberOfTrailingZeros(regionSize) + 3;
+  }
+
+  /**
+   * Returns the number of bits that can be stored without growing the file.
+   *
+   * @return number of bits
+   * @since 0.0.1
+   */
+  public long capacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Returns the bit at the given position.
+   *
+   * @param position position of the bit <i>([0;capacity))</i>
+   * @return {@code true} if the bit is set to 1
+   * @throws IndexOutOfBoundsException if {@code position} is invalid or the bitmap is closed
+   * @since 0.0.1
+   */
+  public boolean get(long position) {
+    ByteBuffer region = region(position);
+    return ((long) LONG_VIEW.getVolatile(region, offset(position)) & (1L << position)) != 0;
+  }
+
+  /**
+   * Atomically sets the bit at the given position to 1.
+   *
+   * @param position position of the bit <i>([0;capacity))</i>
+   * @throws IndexOutOfBoundsException if {@code position} is invalid or the bitmap is closed
+   * @since 0.0.1
+   */
+  public void set(long position) {
+    testAndSet(position);
+  }
+
+  /**
+   * Atomically sets the bit at the given position to 1 and returns its previous state.
+   *
+   * @param position position of the bit <i>([0;capacity))</i>
+   * @return {@code true} if the bit was already set to 1, {@code false} if this call changed it
+   * @throws IndexOutOfBoundsException if {@code position} is invalid or the bitmap is closed
+   * @since 0.0.1
+   */
+  public boolean testAndSet(long position) {
+    ByteBuffer region = region(position);
+    long mask = 1L << position;
+    return ((long) LONG_VIEW.getAndBitwiseOr(region, offset(position), mask) & mask) != 0;
+  }
+
+  /**
+   * Atomically sets the bit at the given position to 0.
+   *
+   * @param position position of the bit <i>([0;capacity))</i>
+   * @throws IndexOutOfBoundsException if {@code position} is invalid or the bitmap is closed
+   * @since 0.0.1
+   */
+  public void clear(long position) {
+    testAndClear(position);
+  }
+
+  /**
+   * Atomically sets the bit at the given position to 0 and returns its previous state.
+   *
+   * @param position position of the bit <i>([0;capacity))</i>
+   * @return {@code true} if the bit was set to 1 and this call changed it
+   * @throws IndexOutOfBoundsException if {@code position} is invalid or the bitmap is closed
+   * @since 0.0.1
+   */
+  public boolean testAndClear(long position) {
+    ByteBuffer region = region(position);
+    long mask = 1L << position;
+    return ((long) LONG_VIEW.getAndBitwiseAnd(region, offset(position), ~mask) & mask) != 0;
+  }
+
+  /**
+   * Returns the number of bits set to 1 by reading the whole file. While other threads modify the bitmap, the result is
+   * only an estimate.
+   *
+   * @return number of bits set to 1
+   * @since 0.0.1
+   */
+  public long cardinality() {
+    long count = 0;
+    for (MappedByteBuffer region : this.regions) {
+      int limit = region.capacity();
+      for (int i = 0; i < limit; i += Long.BYTES) {
+        count += Long.bitCount(region.getLong(i));
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Grows the file, so that it can store at least the given number of bits. The new bits are set to 0.
+   *
+   * @param minimumCapacity minimum number of bits <i>(&gt;= 0)</i>
+   * @throws IOException if the file can not be grown
+   * @throws IllegalStateException if the bitmap is closed
+   * @since 0.0.1
+   */
+  public synchronized void ensureCapacity(long minimumCapacity) throws IOException {
+    Validate.validState(!this.closed, "The bitmap %s is closed!", this.file);
+    if (minimumCapacity > this.capacity) {
+      map(getDataSize(minimumCapacity));
+    }
+  }
+
+  /**
+   * Writes all changes to the storage device.
+   *
+   * @throws IllegalStateException if the bitmap is closed
+   * @since 0.0.1
+   */
+  public synchronized void force() {
+    Validate.validState(!this.closed, "The bitmap %s is closed!", this.file);
+    for (MappedByteBuffer region : this.regions) {
+      region.force();
+    }
+  }
+
+  /**
+   * Writes all changes to the storage device and closes the bitmap. The mapped memory is released by the garbage
+   * collector.
+   *
+   * @since 0.0.1
+   */
+  @Override
+  public synchronized void close() {
+    if (!this.closed) {
+      force();
+      this.closed = true;
+      this.capacity = 0;
+      this.regions = new MappedByteBuffer[0];
+    }
+  }
+
+  private ByteBuffer region(long position) {
+    Objects.checkIndex(position, this.capacity);
+    // close() may replace the regions after the capacity was read, so the index is checked against a single read
+    MappedByteBuffer[] current = this.regions;
+    int index = (int) (position >>> this.regionBitShift);
+    if (index >= current.length) {
+      throw new IndexOutOfBoundsException("The bitmap " + this.file + " is closed!");
+    }
+    return current[index];
+  }
+
+  private int offset(long position) {
+    return (int) (position >>> 6 << 3) & (this.regionSize - 1);
+  }
+
+  private long readHeader() throws IOException {
+    try (FileChannel channel = openChannel()) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      long size = channel.size();
+      if (size == 0) {
+        header.putLong(0, MAGIC).putInt(8, VERSION);
+        channel.write(header, 0);
+        // the new file must be durable before a checkpoint of its data can be
+        channel.force(true);
+        return 0;
+      }
+      if (size < HEADER_SIZE || channel.read(header, 0) < HEADER_SIZE || header.getLong(0) != MAGIC) {
+        throw new IOException(this.file + " is no bitmap file");
+      }
+      if (header.getInt(8) != VERSION) {
+        throw new IOException("Unsupported version " + header.getInt(8) + " of " + this.file);
+      }
+      return (size - HEADER_SIZE) & -Long.BYTES;
+    }
+  }
+
+  private void map(long dataSize) throws IOException {
+    MappedByteBuffer[] current = this.regions;
+    int regionCount = (int) ((dataSize + this.regionSize - 1) / this.regionSize);
+    MappedByteBuffer[] mapped = Arrays.copyOf(current, regionCount);
+    try (FileChannel channel = openChannel()) {
+      long fileSize = channel.size();
+      for (int i = Math.max(0, current.length - 1); i < regionCount; i++) {
+        long start = (long) i * this.regionSize;
+        int size = (int) Math.min(this.regionSize, dataSize - start);
+        if (mapped[i] == null || mapped[i].capacity() < size) {
+          mapped[i] = channel.map(MapMode.READ_WRITE, HEADER_SIZE + start, size);
+        }
+      }
+      if (channel.size() != fileSize) {
+        // MappedByteBuffer.force() only writes the data, the new file size is written with the metadata
+        channel.force(true);
+      }
+    }
+    // publish the regions before the capacity, so that a reader that sees the capacity also sees the regions
+    this.regions = mapped;
+    this.capacity = dataSize * Byte.SIZE;
+  }
+
+  private FileChannel openChannel() throws IOException {
+    return FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+  }
+
+  private static long getDataSize(long capacity) {
+    return (capacity + Long.SIZE - 1) >>> 6 << 3;
+  }
+}
@@ -0,0 +1,326 @@
+package de.devtime.utils.bitmap;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Stores the values of a chunk as sorted runs of consecutive values. Each run is stored as pair of its first value and
+ * its length minus one, runs are separated by at least one missing value. Single value modifications and ranges insert
+ * and merge runs in place. When the runs would need more memory than a bitmap, the container is converted into a
+ * {@link BitmapContainer}.
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+final class RunContainer extends Container {
+
+  /** Maximum number of runs, above it a {@link BitmapContainer} is smaller. */
+  private static final int MAX_RUN_COUNT = (CHUNK_SIZE / Byte.SIZE - Integer.BYTES) / (2 * Character.BYTES);
+
+  private char[] runs;
+  private int runCount;
+  private int cardinality;
+
+  RunContainer(char[] runs, int runCount) {
+    this.runs = runs;
+    this.runCount = runCount;
+    int count = 0;
+    for (int i = 0; i < runCount; i++) {
+      count += length(i) + 1;
+    }
+    this.cardinality = count;
+  }
+
+  static RunContainer ofRange(int from, int to) {
+    return new RunContainer(new char[] { (char) from, (char) (to - from - 1) }, 1);
+  }
+
+  static int serializedSize(int runCount) {
+    return Integer.BYTES + runCount * 2 * Character.BYTES;
+  }
+
+  @Override
+  int cardinality() {
+    return this.cardinality;
+  }
+
+  @Override
+  boolean contains(char value) {
+    int index = findRun(value);
+    return index >= 0 && value <= end(index);
+  }
+
+  @Override
+  Container add(char value) {
+    int index = findRun(value);
+    if (index >= 0 && value <= end(index)) {
+      return this;
+    }
+    boolean extendsPrevious = index >= 0 && end(index) + 1 == value;
+    boolean extendsNext = index + 1 < this.runCount && start(index + 1) == value + 1;
+    if (extendsPrevious && extendsNext) {
+      setRun(index, start(index), end(index + 1));
+      removeRuns(index + 1, 1);
+    } else if (extendsPrevious) {
+      setRun(index, start(index), value);
+    } else if (extendsNext) {
+      setRun(index + 1, value, end(index + 1));
+    } else {
+      insertRun(index + 1, value, value);
+    }
+    this.cardinality++;
+    return this.runCount > MAX_RUN_COUNT ? toBitmapContainer() : this;
+  }
+
+  @Override
+  Container remove(char value) {
+    int index = findRun(value);
+    if (index < 0 || value > end(index)) {
+      return this;
+    }
+    int start = start(index);
+    int end = end(index);
+    if (start == end) {
+      removeRuns(index, 1);
+    } else if (value == start) {
+      setRun(index, start + 1, end);
+    } else if (value == end) {
+      setRun(index, start, end - 1);
+    } else {
+      setRun(index, start, value - 1);
+      insertRun(index + 1, value + 1, end);
+    }
+    this.cardinality--;
+    return this.runCount > MAX_RUN_COUNT ? toBitmapContainer() : this;
+  }
+
+  @Override
+  Container addRange(int from, int to) {
+    int last = to - 1;
+    // first run that ends at or after from - 1 and last run that starts at or before to, both are merged
+    int first = findRun(from - 1);
+    if (first < 0 || end(first) < from - 1) {
+      first++;
+    }
+    int lastMerged = findRun(Math.min(to, Character.MAX_VALUE));
+    if (first > lastMerged) {
+      insertRun(first, from, last);
+      this.cardinality += to - from;
+      return this.runCount > MAX_RUN_COUNT ? toBitmapContainer() : this;
+    }
+    int start = Math.min(start(first), from);
+    int end = Math.max(end(lastMerged), last);
+    for (int i = first; i <= lastMerged; i++) {
+      this.cardinality -= length(i) + 1;
+    }
+    setRun(first, start, end);
+    removeRuns(first + 1, lastMerged - first);
+    this.cardinality += end - start + 1;
+    return this;
+  }
+
+  @Override
+  Container and(Container other) {
+    if (other instanceof ArrayContainer) {
+      return other.and(this);
+    }
+    if (other instanceof RunContainer) {
+      RunContainer run = (RunContainer) other;
+      char[] result = new char[2 * (this.runCount + run.runCount)];
+      int count = 0;
+      int i = 0;
+      int j = 0;
+      while (i < this.runCount && j < run.runCount) {
+        int start = Math.max(start(i), run.start(j));
+        int end = Math.min(end(i), run.end(j));
+        if (start <= end) {
+          result[count * 2] = (char) start;
+          result[count * 2 + 1] = (char) (end - start);
+          count++;
+        }
+        if (end(i) < run.end(j)) {
+          i++;
+        } else {
+          j++;
+        }
+      }
+      return new RunContainer(result, count).runOptimize();
+    }
+    BitmapContainer bitmap = (BitmapContainer) other;
+    BitmapContainer result = toBitmapContainer();
+    result.andInPlace(bitmap);
+    return result.runOptimize();
+  }
+
+  @Override
+  int andCardinality(Container other) {
+    if (other instanceof ArrayContainer) {
+      return other.andCardinality(this);
+    }
+    int count = 0;
+    if (other instanceof RunContainer) {
+      RunContainer run = (RunContainer) other;
+      int i = 0;
+      int j = 0;
+      while (i < this.runCount && j < run.runCount) {
+        int start = Math.max(start(i), run.start(j));
+        int end = Math.min(end(i), run.end(j));
+        if (start <= end) {
+          count += end - start + 1;
+        }
+        if (end(i) < run.end(j)) {
+          i++;
+        } else {
+          j++;
+        }
+      }
+      return count;
+    }
+    BitmapContainer bitmap = (BitmapContainer) other;
+    for (int i = 0; i < this.runCount; i++) {
+      count += bitmap.cardinalityInRange(start(i), end(i) + 1);
+    }
+    return count;
+  }
+
+  @Override
+  Container or(Container other) {
+    if (other instanceof RunContainer) {
+      RunContainer run = (RunContainer) other;
+      char[] result = new char[2 * (this.runCount + run.runCount)];
+      int count = 0;
+      int i = 0;
+      int j = 0;
+      while (i < this.runCount || j < run.runCount) {
+        int start;
+        int end;
+        if (j == run.runCount || i < this.runCount && start(i) <= run.start(j)) {
+          start = start(i);
+          end = end(i);
+          i++;
+        } else {
+          start = run.start(j);
+          end = run.end(j);
+          j++;
+        }
+        int lastStart = count > 0 ? result[(count - 1) * 2] : -2;
+        int lastEnd = count > 0 ? lastStart + result[(count - 1) * 2 + 1] : -2;
+        if (start <= lastEnd + 1) {
+          result[(count - 1) * 2 + 1] = (char) (Math.max(end, lastEnd) - lastStart);
+        } else {
+          result[count * 2] = (char) start;
+          result[count * 2 + 1] = (char) (end - start);
+          count++;
+        }
+      }
+      return new RunContainer(result, count).runOptimize();
+    }
+    return toBitmapContainer().or(other).runOptimize();
+  }
+
+  @Override
+  Container andNot(Container other) {
+    return toBitmapContainer().andNot(other).runOptimize();
+  }
+
+  @Override
+  void forEach(int high, IntConsumer consumer) {
+    for (int i = 0; i < this.runCount; i++) {
+      int end = end(i);
+      for (int value = start(i); value <= end; value++) {
+        consumer.accept(high | value);
+      }
+    }
+  }
+
+  @Override
+  BitmapContainer toBitmapContainer() {
+    BitmapContainer bitmap = new BitmapContainer(new long[CHUNK_SIZE / Long.SIZE], this.cardinality);
+    for (int i = 0; i < this.runCount; i++) {
+      bitmap.setRange(start(i), end(i) + 1);
+    }
+    return bitmap;
+  }
+
+  @Override
+  Container runOptimize() {
+    int runSize = serializedSize();
+    if (this.cardinality <= MAX_ARRAY_SIZE) {
+      return Integer.BYTES + this.cardinality * Character.BYTES < runSize ? toBitmapContainer().runOptimize() : this;
+    }
+    return runSize > CHUNK_SIZE / Byte.SIZE ? toBitmapContainer() : this;
+  }
+
+  @Override
+  Container copy() {
+    return new RunContainer(Arrays.copyOf(this.runs, Math.max(2, this.runCount * 2)), this.runCount);
+  }
+
+  @Override
+  byte type() {
+    return TYPE_RUN;
+  }
+
+  @Override
+  int serializedSize() {
+    return serializedSize(this.runCount);
+  }
+
+  @Override
+  void write(DataOutput out) throws IOException {
+    out.writeInt(this.runCount);
+    for (int i = 0; i < this.runCount * 2; i++) {
+      out.writeChar(this.runs[i]);
+    }
+  }
+
+  /**
+   * Returns the index of the last run that starts at or before the value or -1 if there is none.
+   */
+  private int findRun(int value) {
+    int low = 0;
+    int high = this.runCount - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      if (start(middle) <= value) {
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return high;
+  }
+
+  private int start(int index) {
+    return this.runs[index * 2];
+  }
+
+  private int length(int index) {
+    return this.runs[index * 2 + 1];
+  }
+
+  private int end(int index) {
+    return start(index) + length(index);
+  }
+
+  private void setRun(int index, int start, int end) {
+    this.runs[index * 2] = (char) start;
+    this.runs[index * 2 + 1] = (char) (end - start);
+  }
+
+  private void insertRun(int index, int start, int end) {
+    if (this.runCount * 2 == this.runs.length) {
+      this.runs = Arrays.copyOf(this.runs, Math.max(4, this.runs.length * 2));
+    }
+    System.arraycopy(this.runs, index * 2, this.runs, index * 2 + 2, (this.runCount - index) * 2);
+    this.runCount++;
+    setRun(index, start, end);
+  }
+
+  private void removeRuns(int index, int count) {
+    System.arraycopy(this.runs, (index + count) * 2, this.runs, index * 2, (this.runCount - index - count) * 2);
+    this.runCount -= count;
+  }
+}
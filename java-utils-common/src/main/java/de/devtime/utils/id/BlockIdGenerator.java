@@ -0,0 +1,158 @@
+package de.devtime.utils.id;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.Validate;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates numeric identifiers with the hi/lo algorithm. The identifiers are taken from blocks that are reserved from an
+ * {@link IdBlockSource}, block {@code n} contains the identifiers from {@code n * blockSize} to
+ * {@code (n + 1) * blockSize - 1}.
+ *
+ * <p>
+ * Every thread takes a whole block and hands out its identifiers without any lock or shared counter. The blocks are
+ * prefetched asynchronously by a background thread, so a thread only accesses the source itself if no prefetched block
+ * is left, e.g. directly after startup. The identifiers are unique, but they are not gapless: the unused identifiers of
+ * a block are lost when the thread ends or the application stops, and identifiers of different threads are interleaved.
+ * </p>
+ *
+ * <pre>
+ * private static final IdGenerator&lt;String&gt; ORDER_IDS = IdGenerators.asString(new BlockIdGenerator(source));
+ *
+ * &#64;Override
+ * protected IdGenerator&lt;String&gt; idGenerator() {
+ *   return ORDER_IDS;
+ * }
+ * </pre>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+@Slf4j
+public class BlockIdGenerator implements IdGenerator<Long>, AutoCloseable {
+
+  /** Default number of identifiers per block. */
+  public static final int DEFAULT_BLOCK_SIZE = 1000;
+
+  /** Default number of blocks that are kept prefetched. */
+  public static final int DEFAULT_PREFETCH_BLOCKS = 4;
+
+  private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+  private final IdBlockSource source;
+  private final Queue<Long> prefetchedBlocks = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger prefetchedBlockCount = new AtomicInteger();
+  private final AtomicBoolean prefetching = new AtomicBoolean();
+  private final ThreadLocal<long[]> ranges = ThreadLocal.withInitial(() -> new long[2]);
+  private final ExecutorService prefetcher;
+
+  /** Number of identifiers per block. */
+  @Getter
+  private final int blockSize;
+
+  /** Number of blocks that are kept prefetched. */
+  @Getter
+  private final int prefetchBlocks;
+
+  /**
+   * Creates a generator with the default block size and prefetch.
+   *
+   * @param source the source of the blocks <i>(not null)</i>
+   * @since 0.0.1
+   */
+  public BlockIdGenerator(IdBlockSource source) {
+    this(source, DEFAULT_BLOCK_SIZE, DEFAULT_PREFETCH_BLOCKS);
+  }
+
+  /**
+   * Creates a generator and starts to prefetch blocks.
+   *
+   * @param source the source of the blocks <i>(not null)</i>
+   * @param blockSize number of identifiers per block, must be the same for every generator of the source <i>(greater
+   *        than 0)</i>
+   * @param prefetchBlocks number of blocks that are kept prefetched <i>(greater than 0)</i>
+   * @since 0.0.1
+   */
+  public BlockIdGenerator(IdBlockSource source, int blockSize, int prefetchBlocks) {
+    this.source = Validate.notNull(source, "The block source must not be null!");
+    Validate.isTrue(blockSize > 0, "The block size must be greater than 0: %d", blockSize);
+    Validate.isTrue(prefetchBlocks > 0, "The number of prefetched blocks must be greater than 0: %d", prefetchBlocks);
+    this.blockSize = blockSize;
+    this.prefetchBlocks = prefetchBlocks;
+    this.prefetcher = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "id-block-prefetcher-" + THREAD_COUNTER.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    prefetchIfNeeded();
+  }
+
+  @Override
+  public Long nextId() {
+    long[] range = this.ranges.get();
+    if (range[0] == range[1]) {
+      long first = Math.multiplyExact(takeBlock(), (long) this.blockSize);
+      range[0] = first;
+      range[1] = first + this.blockSize;
+    }
+    return range[0]++;
+  }
+
+  /**
+   * Stops prefetching blocks. The identifiers of the prefetched blocks are not used anymore.
+   *
+   * @since 0.0.1
+   */
+  @Override
+  public void close() {
+    this.prefetcher.shutdownNow();
+  }
+
+  private long takeBlock() {
+    Long block = this.prefetchedBlocks.poll();
+    if (block != null) {
+      this.prefetchedBlockCount.decrementAndGet();
+    }
+    prefetchIfNeeded();
+    // the source is only accessed directly if the prefetching could not keep up
+    return block != null ? block : this.source.nextBlock();
+  }
+
+  private void prefetchIfNeeded() {
+    if (this.prefetchedBlockCount.get() < this.prefetchBlocks && !this.prefetcher.isShutdown()
+        && this.prefetching.compareAndSet(false, true)) {
+      try {
+        this.prefetcher.execute(this::prefetch);
+      } catch (RejectedExecutionException e) {
+        // the generator was closed after the check above
+        this.prefetching.set(false);
+      }
+    }
+  }
+
+  private void prefetch() {
+    try {
+      while (this.prefetchedBlockCount.get() < this.prefetchBlocks && !Thread.currentThread().isInterrupted()) {
+        this.prefetchedBlocks.offer(this.source.nextBlock());
+        this.prefetchedBlockCount.incrementAndGet();
+      }
+    } catch (RuntimeException e) {
+      LOG.warn("Blocks of identifiers could not be prefetched.", e);
+      // the next block that is taken starts a new attempt
+      return;
+    } finally {
+      this.prefetching.set(false);
+    }
+    // blocks that were taken after the loop ended and before the flag was reset did not start a prefetch
+    prefetchIfNeeded();
+  }
+}
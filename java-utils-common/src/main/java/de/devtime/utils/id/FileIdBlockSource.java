@@ -0,0 +1,55 @@
+package de.devtime.utils.id;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reserves blocks of identifiers from a local file that contains the number of the next block. The file is locked
+ * while a block is reserved, so several processes on the same machine can share it. This source is intended for tests
+ * and local tools, applications with a database should use a {@link SequenceIdBlockSource}.
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+public class FileIdBlockSource implements IdBlockSource {
+
+  /** Number of the first block if the file does not exist. */
+  public static final long FIRST_BLOCK = 1L;
+
+  private final Path file;
+
+  /**
+   * Creates a source that uses the given file. The file is created when the first block is reserved.
+   *
+   * @param file the file <i>(not null)</i>
+   * @since 0.0.1
+   */
+  public FileIdBlockSource(Path file) {
+    this.file = file;
+  }
+
+  @Override
+  public synchronized long nextBlock() {
+    try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      FileLock lock = channel.lock();
+      try {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        long block = channel.read(buffer, 0) == Long.BYTES ? buffer.getLong(0) : FIRST_BLOCK;
+        buffer.putLong(0, block + 1).rewind();
+        channel.write(buffer, 0);
+        channel.force(false);
+        return block;
+      } finally {
+        lock.release();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("The next block could not be reserved from " + this.file, e);
+    }
+  }
+}
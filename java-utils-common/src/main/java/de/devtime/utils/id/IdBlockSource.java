@@ -0,0 +1,22 @@
+package de.devtime.utils.id;
+
+/**
+ * Reserves blocks of identifiers for a {@link BlockIdGenerator}. Every call returns a new block number that was not
+ * returned before, also across restarts and across all processes that share the source. Implementations must be
+ * thread-safe.
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+@FunctionalInterface
+public interface IdBlockSource {
+
+  /**
+   * Reserves the next block.
+   *
+   * @return the number of the reserved block <i>(not negative)</i>
+   * @throws IllegalStateException if no block can be reserved
+   * @since 0.0.1
+   */
+  long nextBlock();
+}
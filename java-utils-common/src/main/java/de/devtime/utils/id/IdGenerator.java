@@ -0,0 +1,40 @@
+package de.devtime.utils.id;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates unique identifiers, e.g. for the primary keys of entities. Implementations must be thread-safe.
+ *
+ * @param <T> type of the identifiers
+ * @author dev|time
+ * @since 0.0.1
+ * @see IdGenerators
+ */
+@FunctionalInterface
+public interface IdGenerator<T> {
+
+  /**
+   * Creates the next identifier.
+   *
+   * @return a new identifier <i>(not null)</i>
+   * @since 0.0.1
+   */
+  T nextId();
+
+  /**
+   * Creates several identifiers at once. Implementations may override this method to create the identifiers in bulk,
+   * the default implementation calls {@link #nextId()} for every identifier.
+   *
+   * @param count number of identifiers <i>(not negative)</i>
+   * @return a list with the new identifiers
+   * @since 0.0.1
+   */
+  default List<T> nextIds(int count) {
+    List<T> ids = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      ids.add(nextId());
+    }
+    return ids;
+  }
+}
@@ -0,0 +1,91 @@
+package de.devtime.utils.id;
+
+import java.util.UUID;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Provides the built-in {@link IdGenerator} strategies.
+ *
+ * <pre>
+ * &#64;Override
+ * protected IdGenerator&lt;String&gt; idGenerator() {
+ *   return IdGenerators.timeOrderedUuidString();
+ * }
+ * </pre>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+public final class IdGenerators {
+
+  private static final IdGenerator<UUID> RANDOM_UUID = new RandomUuidGenerator();
+  private static final IdGenerator<UUID> TIME_ORDERED_UUID = new TimeOrderedUuidGenerator();
+  private static final IdGenerator<String> RANDOM_UUID_STRING = new StringIdGenerator(RANDOM_UUID);
+  private static final IdGenerator<String> TIME_ORDERED_UUID_STRING = new StringIdGenerator(TIME_ORDERED_UUID);
+
+  /**
+   * Returns a generator for random UUIDs of version 4, see {@link UUID#randomUUID()}. The random numbers are created by
+   * a shared {@link java.security.SecureRandom}, {@link IdGenerator#nextIds(int)} draws the random numbers of many
+   * identifiers at once.
+   *
+   * @return a generator for random UUIDs
+   * @since 0.0.1
+   */
+  public static IdGenerator<UUID> randomUuid() {
+    return RANDOM_UUID;
+  }
+
+  /**
+   * Returns a generator for the string representation of random UUIDs of version 4.
+   *
+   * @return a generator for random UUIDs
+   * @since 0.0.1
+   * @see #randomUuid()
+   */
+  public static IdGenerator<String> randomUuidString() {
+    return RANDOM_UUID_STRING;
+  }
+
+  /**
+   * Returns a shared generator for time-ordered UUIDs of version 7.
+   *
+   * @return a generator for time-ordered UUIDs
+   * @since 0.0.1
+   * @see TimeOrderedUuidGenerator
+   */
+  public static IdGenerator<UUID> timeOrderedUuid() {
+    return TIME_ORDERED_UUID;
+  }
+
+  /**
+   * Returns a generator for the string representation of time-ordered UUIDs of version 7. The lowercase hexadecimal
+   * representation keeps the order of the UUIDs, so the strings are ordered by time as well.
+   *
+   * @return a generator for time-ordered UUIDs
+   * @since 0.0.1
+   * @see TimeOrderedUuidGenerator
+   */
+  public static IdGenerator<String> timeOrderedUuidString() {
+    return TIME_ORDERED_UUID_STRING;
+  }
+
+  /**
+   * Returns a generator for the string representation of the identifiers of another generator, e.g. to use the numeric
+   * identifiers of a {@link BlockIdGenerator} for an entity with a string identifier. The result should be stored in a
+   * constant instead of being created for each entity. Generators for the same generator are equal, so that
+   * {@link de.devtime.utils.persistence.EntityHelper#initAll(java.util.List)} still draws the identifiers of many
+   * entities at once.
+   *
+   * @param generator the generator of the identifiers <i>(not null)</i>
+   * @return a generator for the string representation
+   * @since 0.0.1
+   */
+  public static IdGenerator<String> asString(IdGenerator<?> generator) {
+    return new StringIdGenerator(Validate.notNull(generator, "The generator must not be null!"));
+  }
+
+  private IdGenerators() {
+    // private utility class constructor
+  }
+}
@@ -0,0 +1,47 @@
+package de.devtime.utils.id;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Creates random UUIDs of version 4. Single identifiers are created by {@link UUID#randomUUID()}, bulk requests draw
+ * the random bytes of up to {@value #MAX_IDS_PER_DRAW} identifiers from the {@link SecureRandom} at once.
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+final class RandomUuidGenerator implements IdGenerator<UUID> {
+
+  private static final int MAX_IDS_PER_DRAW = 1024;
+  private static final int UUID_BYTES = 16;
+  private static final long VERSION_MASK = 0xF000L;
+  private static final long VERSION_4 = 0x4000L;
+  private static final long VARIANT_MASK = 0xC000_0000_0000_0000L;
+  private static final long VARIANT_RFC_4122 = 0x8000_0000_0000_0000L;
+
+  private final SecureRandom random = new SecureRandom();
+
+  @Override
+  public UUID nextId() {
+    return UUID.randomUUID();
+  }
+
+  @Override
+  public List<UUID> nextIds(int count) {
+    List<UUID> ids = new ArrayList<>(count);
+    ByteBuffer buffer = ByteBuffer.allocate(Math.min(count, MAX_IDS_PER_DRAW) * UUID_BYTES);
+    while (ids.size() < count) {
+      int drawCount = Math.min(count - ids.size(), MAX_IDS_PER_DRAW);
+      this.random.nextBytes(buffer.array());
+      for (int i = 0; i < drawCount; i++) {
+        long mostSigBits = buffer.getLong(i * UUID_BYTES);
+        long leastSigBits = buffer.getLong(i * UUID_BYTES + Long.BYTES);
+        ids.add(new UUID((mostSigBits & ~VERSION_MASK) | VERSION_4, (leastSigBits & ~VARIANT_MASK) | VARIANT_RFC_4122));
+      }
+    }
+    return ids;
+  }
+}
@@ -0,0 +1,52 @@
+package de.devtime.utils.id;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Reserves blocks of identifiers from a database sequence. Every value of the sequence is the number of one block, so
+ * the sequence is incremented by 1 and accessed only once per block.
+ *
+ * <pre>
+ * new SequenceIdBlockSource(dataSource, "SELECT NEXT VALUE FOR ORDER_ID_BLOCKS");
+ * </pre>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+public class SequenceIdBlockSource implements IdBlockSource {
+
+  private final DataSource dataSource;
+  private final String nextValueQuery;
+
+  /**
+   * Creates a source that executes the given query to get the next value of a sequence.
+   *
+   * @param dataSource the data source of the database <i>(not null)</i>
+   * @param nextValueQuery a query that returns the next value of the sequence in the first column, the syntax depends
+   *        on the database <i>(not blank)</i>
+   * @since 0.0.1
+   */
+  public SequenceIdBlockSource(DataSource dataSource, String nextValueQuery) {
+    this.dataSource = Validate.notNull(dataSource, "The data source must not be null!");
+    this.nextValueQuery = Validate.notBlank(nextValueQuery, "The query must not be blank!");
+  }
+
+  @Override
+  public long nextBlock() {
+    try (Connection connection = this.dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement(this.nextValueQuery);
+        ResultSet resultSet = statement.executeQuery()) {
+      Validate.validState(resultSet.next(), "The query %s did not return a value!", this.nextValueQuery);
+      return resultSet.getLong(1);
+    } catch (SQLException e) {
+      throw new IllegalStateException("The next block could not be reserved with " + this.nextValueQuery, e);
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package de.devtime.utils.id;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the string representation of the identifiers of another generator. Bulk requests are passed to the other
+ * generator, so they keep its bulk optimizations.
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+final class StringIdGenerator implements IdGenerator<String> {
+
+  private final IdGenerator<?> generator;
+
+  StringIdGenerator(IdGenerator<?> generator) {
+    this.generator = generator;
+  }
+
+  @Override
+  public String nextId() {
+    return this.generator.nextId().toString();
+  }
+
+  @Override
+  public List<String> nextIds(int count) {
+    List<?> ids = this.generator.nextIds(count);
+    List<String> result = new ArrayList<>(ids.size());
+    for (Object id : ids) {
+      result.add(id.toString());
+    }
+    return result;
+  }
+
+  @Override
+  public int hashCode() {
+    return this.generator.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return obj instanceof StringIdGenerator other && this.generator.equals(other.generator);
+  }
+}
@@ -0,0 +1,110 @@
+package de.devtime.utils.id;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Creates time-ordered UUIDs of version 7 as specified in RFC 9562. The first 48 bits contain the Unix timestamp in
+ * milliseconds, so that new identifiers are inserted next to each other at the end of a B-tree index instead of being
+ * scattered across all of its pages.
+ *
+ * <pre>
+ *  0                   1                   2                   3
+ *  0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ * +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ * |                         unix_ts_ms                            |
+ * +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ * |          unix_ts_ms           |  ver  |   counter (rand_a)    |
+ * +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ * |var|                        rand_b                             |
+ * +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ * |                            rand_b                             |
+ * +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ * </pre>
+ *
+ * <p>
+ * The generator does not share any lock or counter between threads. Every thread keeps its own timestamp and a 12 bit
+ * counter in the {@code rand_a} field, which starts at a random value in each millisecond and is incremented for each
+ * identifier. If the clock moves backwards, the thread keeps its last timestamp and continues to increment the counter.
+ * Only if the counter overflows, the timestamp of the thread is advanced by one millisecond, so the identifiers of a
+ * thread are strictly increasing. The 62 bits of {@code rand_b} are drawn from {@link ThreadLocalRandom} and make the
+ * identifiers of different threads unique. Since this random generator is not cryptographically strong, the identifiers
+ * must not be used as secrets.
+ * </p>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+public class TimeOrderedUuidGenerator implements IdGenerator<UUID> {
+
+  private static final long VERSION_7 = 0x7000L;
+  private static final long VARIANT_RFC_4122 = 0x8000_0000_0000_0000L;
+  private static final long RAND_B_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+  private static final int MAX_COUNTER = 0xFFF;
+  /** The counter starts in the lower half, so that at least 2048 identifiers fit into one millisecond. */
+  private static final int COUNTER_SEED_BOUND = 0x800;
+  private static final long MAX_TIMESTAMP = 0xFFFF_FFFF_FFFFL;
+
+  private final Clock clock;
+  private final ThreadLocal<ThreadState> threadStates = ThreadLocal.withInitial(ThreadState::new);
+
+  /**
+   * Creates a generator that uses the system clock.
+   *
+   * @since 0.0.1
+   */
+  public TimeOrderedUuidGenerator() {
+    this(Clock.systemUTC());
+  }
+
+  /**
+   * Creates a generator that uses the given clock.
+   *
+   * @param clock the clock that provides the timestamps <i>(not null)</i>
+   * @since 0.0.1
+   */
+  public TimeOrderedUuidGenerator(Clock clock) {
+    this.clock = Validate.notNull(clock, "The clock must not be null!");
+  }
+
+  @Override
+  public UUID nextId() {
+    ThreadState state = this.threadStates.get();
+    long now = this.clock.millis();
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    if (now > state.timestamp) {
+      state.timestamp = now;
+      state.counter = random.nextInt(COUNTER_SEED_BOUND);
+    } else if (state.counter < MAX_COUNTER) {
+      state.counter++;
+    } else {
+      state.timestamp++;
+      state.counter = 0;
+    }
+    long mostSigBits = ((state.timestamp & MAX_TIMESTAMP) << 16) | VERSION_7 | state.counter;
+    long leastSigBits = (random.nextLong() & RAND_B_MASK) | VARIANT_RFC_4122;
+    return new UUID(mostSigBits, leastSigBits);
+  }
+
+  /**
+   * Returns the Unix timestamp in milliseconds that is contained in a UUID of version 7.
+   *
+   * @param uuid a UUID of version 7 <i>(not null)</i>
+   * @return timestamp in milliseconds
+   * @throws IllegalArgumentException if the UUID is not of version 7
+   * @since 0.0.1
+   */
+  public static long getTimestamp(UUID uuid) {
+    Validate.isTrue(uuid.version() == 7, "The UUID %s is not of version 7!", uuid);
+    return uuid.getMostSignificantBits() >>> 16;
+  }
+
+  private static final class ThreadState {
+
+    private long timestamp = Long.MIN_VALUE;
+    private int counter;
+  }
+}
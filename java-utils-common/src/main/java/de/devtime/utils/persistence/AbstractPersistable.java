@@ -1,18 +1,22 @@
 package de.devtime.utils.persistence;
 
 import java.util.Objects;
-import java.util.UUID;
 
 import javax.persistence.Column;
 import javax.persistence.Id;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.PostLoad;
 import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
 import javax.persistence.Transient;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringExclude;
 import org.springframework.data.domain.Persistable;
 
-import de.devtime.utils.logging.CustomToStringStyle;
+import de.devtime.utils.id.IdGenerator;
+import de.devtime.utils.id.IdGenerators;
+import de.devtime.utils.logging.ToStringFieldRenderers;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 @Getter
@@ -20,37 +24,108 @@ import lombok.Getter;
 @MappedSuperclass
 public abstract class AbstractPersistable implements Persistable<String> {
 
+  /** Hash code of all entities without identifier, see {@link #hashCode()}. */
+  private static final int NEW_ENTITY_HASH_CODE = 31;
+
   @Id
   @Column(name = "ID")
   private String id;
 
+  /**
+   * {@code true} as long as the entity is not stored in the database. The flag is cleared when the entity is persisted
+   * or loaded and set again when it is removed. Since it is part of the object state, it keeps its value while the
+   * entity is detached, so that a detached entity is merged and a removed entity is persisted again.
+   */
   @Transient
   private boolean isNew;
 
+  @Transient
+  @ToStringExclude
+  @Getter(AccessLevel.NONE)
+  private int cachedHashCode;
+
   protected AbstractPersistable() {
     this.isNew = true;
   }
 
+  /**
+   * Assigns a new identifier created by the {@link #idGenerator() id generator} and links the referenced objects.
+   * {@link EntityHelper#initAll(java.util.List)} calls this method for every entity whose class overrides it.
+   *
+   * @since 0.0.1
+   */
   public void init() {
-    this.id = UUID.randomUUID().toString();
+    init(idGenerator().nextId());
+  }
+
+  final void init(String newId) {
+    this.id = newId;
+    this.cachedHashCode = 0;
 
     linkReferencedObjects();
   }
 
   protected abstract void linkReferencedObjects();
 
+  /**
+   * Returns the strategy that creates the identifier in {@link #init()}. By default random UUIDs of version 4 are used.
+   * Entities of insert-heavy tables should return {@link IdGenerators#timeOrderedUuidString()}, so that new rows are
+   * appended to the primary key index instead of being scattered across it. Tables with a very high insert rate can use
+   * numeric {@link de.devtime.utils.id.BlockIdGenerator} identifiers via {@link IdGenerators#asString(IdGenerator)}.
+   *
+   * @return the identifier strategy of this entity <i>(not null)</i>
+   * @since 0.0.1
+   */
+  protected IdGenerator<String> idGenerator() {
+    return IdGenerators.randomUuidString();
+  }
+
   @PostPersist
   private void postPersist() {
     this.isNew = false;
   }
 
+  @PostLoad
+  private void postLoad() {
+    this.isNew = false;
+  }
+
+  @PostRemove
+  private void postRemove() {
+    this.isNew = true;
+  }
+
+  /**
+   * Returns the hash code of the identifier. Entities without identifier share the same fixed hash code. The hash code
+   * is cached after the identifier was assigned, so that hash based collections with many entities do not need to
+   * access the identifier again. The identifier of a {@link org.hibernate.proxy.HibernateProxy} is read without
+   * initializing the proxy. Since the hash code changes when the identifier is assigned, an entity should be initialized
+   * before it is added to a hash based collection.
+   *
+   * @return the hash code of this entity
+   */
   @Override
   public final int hashCode() {
-    return Objects.hash(getId());
+    int result = this.cachedHashCode;
+    if (result == 0) {
+      result = calculateHashCode();
+      if (getId() != null) {
+        this.cachedHashCode = result;
+      }
+    }
+    return result;
+  }
+
+  private int calculateHashCode() {
+    String currentId = getId();
+    return currentId == null ? NEW_ENTITY_HASH_CODE : currentId.hashCode();
   }
 
   @Override
   public final boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
     if ((obj == null) || !EntityHelper.isClassEquals(this, obj)) {
       return false;
     }
@@ -60,6 +135,6 @@ public abstract class AbstractPersistable implements Persistable<String> {
 
   @Override
   public String toString() {
-    return ToStringBuilder.reflectionToString(this, CustomToStringStyle.PARAMETRIZED_STYLE);
+    return ToStringFieldRenderers.toString(this, PersistenceToStringStyle.PARAMETRIZED_STYLE);
   }
 }
@@ -0,0 +1,178 @@
+package de.devtime.utils.persistence;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.persistence.Access;
+import javax.persistence.AccessType;
+import javax.persistence.Column;
+import javax.persistence.Id;
+import javax.persistence.MappedSuperclass;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.Transient;
+
+import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringExclude;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.data.domain.Persistable;
+
+import de.devtime.utils.id.IdGenerator;
+import de.devtime.utils.id.IdGenerators;
+import de.devtime.utils.logging.ToStringFieldRenderer;
+import de.devtime.utils.logging.ToStringFieldRenderers;
+
+/**
+ * An alternative to {@link AbstractPersistable} with a compact {@link UUID} identifier. In memory the identifier is
+ * stored as two {@code long} fields instead of a 36 character string, in the database as {@code BINARY(16)} column
+ * instead of {@code VARCHAR(36)}. {@link #equals(Object)} and {@link #hashCode()} compare the two {@code long} values
+ * directly.
+ *
+ * <p>
+ * The entity fields are accessed directly, only the identifier is mapped by its getter and setter, which convert
+ * between the {@code long} fields and the {@link UUID} that is stored with the binary UUID type of Hibernate.
+ * </p>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+@MappedSuperclass
+@Access(AccessType.FIELD)
+public abstract class AbstractUuidPersistable implements Persistable<UUID> {
+
+  @Transient
+  @ToStringExclude
+  private long idMostSigBits;
+
+  @Transient
+  @ToStringExclude
+  private long idLeastSigBits;
+
+  /**
+   * {@code true} as long as the entity is not stored in the database. The flag is cleared when the entity is persisted
+   * or loaded and set again when it is removed. Since it is part of the object state, it keeps its value while the
+   * entity is detached, so that a detached entity is merged and a removed entity is persisted again.
+   */
+  @Transient
+  private boolean isNew;
+
+  protected AbstractUuidPersistable() {
+    this.isNew = true;
+  }
+
+  public void init() {
+    setId(idGenerator().nextId());
+
+    linkReferencedObjects();
+  }
+
+  protected abstract void linkReferencedObjects();
+
+  /**
+   * Returns the strategy that creates the identifier in {@link #init()}. By default time-ordered UUIDs of version 7 are
+   * used, so that new rows are appended to the primary key index.
+   *
+   * @return the identifier strategy of this entity <i>(not null)</i>
+   * @since 0.0.1
+   */
+  protected IdGenerator<UUID> idGenerator() {
+    return IdGenerators.timeOrderedUuid();
+  }
+
+  /**
+   * Returns the identifier of this entity. A new {@link UUID} instance is created on every call, so code that only
+   * compares identifiers should prefer {@link #equals(Object)}.
+   *
+   * @return the identifier or {@code null} if this entity was not initialized yet
+   * @since 0.0.1
+   */
+  @Override
+  @Id
+  @Access(AccessType.PROPERTY)
+  @Column(name = "ID", length = 16)
+  public UUID getId() {
+    if (!hasId()) {
+      return null;
+    }
+    return new UUID(this.idMostSigBits, this.idLeastSigBits);
+  }
+
+  /**
+   * Sets the identifier of this entity. The nil UUID is treated as {@code null}, because it represents a missing
+   * identifier in the {@code long} fields.
+   *
+   * @param id the identifier or {@code null}
+   * @since 0.0.1
+   */
+  protected void setId(UUID id) {
+    this.idMostSigBits = id == null ? 0L : id.getMostSignificantBits();
+    this.idLeastSigBits = id == null ? 0L : id.getLeastSignificantBits();
+  }
+
+  @Override
+  public boolean isNew() {
+    return this.isNew;
+  }
+
+  @PostPersist
+  private void postPersist() {
+    this.isNew = false;
+  }
+
+  @PostLoad
+  private void postLoad() {
+    this.isNew = false;
+  }
+
+  @PostRemove
+  private void postRemove() {
+    this.isNew = true;
+  }
+
+  private boolean hasId() {
+    return this.idMostSigBits != 0L || this.idLeastSigBits != 0L;
+  }
+
+  @Override
+  public final int hashCode() {
+    if (this instanceof HibernateProxy) {
+      // the fields of a proxy are not initialized, but its getter returns the identifier without loading the entity
+      return Objects.hashCode(getId());
+    }
+    // same value as UUID.hashCode()
+    return Long.hashCode(this.idMostSigBits ^ this.idLeastSigBits);
+  }
+
+  @Override
+  public final boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if ((obj == null) || !EntityHelper.isClassEquals(this, obj)) {
+      return false;
+    }
+    AbstractUuidPersistable other = (AbstractUuidPersistable) obj;
+    if (this instanceof HibernateProxy || other instanceof HibernateProxy) {
+      return Objects.equals(getId(), other.getId());
+    }
+    return this.idMostSigBits == other.idMostSigBits && this.idLeastSigBits == other.idLeastSigBits;
+  }
+
+  @Override
+  public String toString() {
+    // the identifier is stored in excluded fields, so it is appended before the other fields in the same builder
+    Optional<ToStringFieldRenderer<Object>> renderer = ToStringFieldRenderers.forClass(getClass());
+    if (renderer.isEmpty()) {
+      return new ReflectionToStringBuilder(this, PersistenceToStringStyle.PARAMETRIZED_STYLE)
+          .append("id", getId())
+          .toString();
+    }
+    ToStringBuilder builder = new ToStringBuilder(this, PersistenceToStringStyle.PARAMETRIZED_STYLE)
+        .append("id", getId());
+    renderer.get().appendFields(builder, this);
+    return builder.toString();
+  }
+}
@@ -0,0 +1,92 @@
+package de.devtime.utils.persistence;
+
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Asynchronous variant of {@link EntityEventLogger}. The callbacks only publish a lightweight {@link EntityEvent} to an
+ * {@link EntityEventWriter}, the rendering and logging is done in batches by the background worker of the writer.
+ *
+ * <p>
+ * Since entity listeners are created by the JPA provider, all instances share one writer. The default writer uses a
+ * queue with {@link EntityEventWriter#DEFAULT_CAPACITY} and {@link BackpressurePolicy#DROP}, another writer can be set
+ * with {@link #setWriter(EntityEventWriter)}.
+ * </p>
+ *
+ * <pre>
+ * &#64;Entity
+ * &#64;EntityListeners(AsyncEntityEventLogger.class)
+ * public class Customer extends AbstractPersistable {
+ * </pre>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+public class AsyncEntityEventLogger {
+
+  private static volatile EntityEventWriter writer;
+
+  /**
+   * Returns the writer that is used by all instances. The default writer is created on first use and is closed on
+   * shutdown of the JVM, so that queued events are not lost.
+   *
+   * @return the shared writer
+   * @since 0.0.1
+   */
+  public static EntityEventWriter getWriter() {
+    EntityEventWriter current = writer;
+    return current != null ? current : createDefaultWriter();
+  }
+
+  /**
+   * Replaces the writer that is used by all instances. The previous writer is closed, so its queued events are written
+   * before this method returns.
+   *
+   * @param newWriter the new writer <i>(not null)</i>
+   * @since 0.0.1
+   */
+  public static void setWriter(EntityEventWriter newWriter) {
+    EntityEventWriter previousWriter;
+    synchronized (AsyncEntityEventLogger.class) {
+      previousWriter = writer;
+      writer = newWriter;
+    }
+    if (previousWriter != null && previousWriter != newWriter) {
+      previousWriter.close();
+    }
+  }
+
+  private static synchronized EntityEventWriter createDefaultWriter() {
+    if (writer == null) {
+      EntityEventWriter defaultWriter = new EntityEventWriter(EntityEventWriter.DEFAULT_CAPACITY,
+          BackpressurePolicy.DROP);
+      Runtime.getRuntime().addShutdownHook(new Thread(defaultWriter::close, "entity-event-writer-shutdown"));
+      writer = defaultWriter;
+    }
+    return writer;
+  }
+
+  @PostPersist
+  private void created(Persistable<?> entity) {
+    getWriter().publish(EntityEventType.CREATED, entity);
+  }
+
+  @PostUpdate
+  private void updated(Persistable<?> entity) {
+    getWriter().publish(EntityEventType.UPDATED, entity);
+  }
+
+  @PostRemove
+  private void removed(Persistable<?> entity) {
+    getWriter().publish(EntityEventType.REMOVED, entity);
+  }
+
+  @PostLoad
+  private void loaded(Persistable<?> entity) {
+    getWriter().publish(EntityEventType.LOADED, entity);
+  }
+}
@@ -0,0 +1,22 @@
+package de.devtime.utils.persistence;
+
+/**
+ * Defines how an {@link EntityEventWriter} behaves if events are published faster than they are written.
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+public enum BackpressurePolicy {
+
+  /** Events that do not fit into the queue are dropped. The publishing thread is never delayed. */
+  DROP,
+
+  /** The publishing thread waits until the queue has space for the event. No event gets lost. */
+  BLOCK,
+
+  /**
+   * Once the queue is half full only every n-th event is accepted, the others are dropped. Events that do not fit into
+   * the queue are dropped as well. The publishing thread is never delayed.
+   */
+  SAMPLE;
+}
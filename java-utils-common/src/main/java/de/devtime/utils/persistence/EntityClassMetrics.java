@@ -0,0 +1,120 @@
+package de.devtime.utils.persistence;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latencies of the lifecycle events of one entity class.
+ *
+ * @author dev|time
+ * @since 0.0.1
+ * @see EntityMetrics
+ */
+public class EntityClassMetrics implements EntityClassMetricsMXBean {
+
+  private final Class<?> entityClass;
+  private final Map<EntityEventType, LongAdder> counters = new EnumMap<>(EntityEventType.class);
+  private final LatencyHistogram persistLatency = new LatencyHistogram();
+  private final LatencyHistogram updateLatency = new LatencyHistogram();
+
+  EntityClassMetrics(Class<?> entityClass) {
+    this.entityClass = entityClass;
+    for (EntityEventType type : EntityEventType.values()) {
+      this.counters.put(type, new LongAdder());
+    }
+  }
+
+  /**
+   * Returns the persistent class whose events are tracked.
+   *
+   * @return the entity class
+   * @since 0.0.1
+   */
+  public Class<?> getEntityClass() {
+    return this.entityClass;
+  }
+
+  /**
+   * Returns the number of events of the given type.
+   *
+   * @param type type of the events <i>(not null)</i>
+   * @return number of events
+   * @since 0.0.1
+   */
+  public long getCount(EntityEventType type) {
+    return this.counters.get(type).sum();
+  }
+
+  /**
+   * Counts an event.
+   *
+   * @param type type of the event <i>(not null)</i>
+   * @since 0.0.1
+   */
+  public void count(EntityEventType type) {
+    this.counters.get(type).increment();
+  }
+
+  /**
+   * Records the latency of a persist operation.
+   *
+   * @param nanos the latency in nanoseconds
+   * @since 0.0.1
+   */
+  public void recordPersistLatency(long nanos) {
+    this.persistLatency.record(nanos);
+  }
+
+  /**
+   * Records the latency of an update operation.
+   *
+   * @param nanos the latency in nanoseconds
+   * @since 0.0.1
+   */
+  public void recordUpdateLatency(long nanos) {
+    this.updateLatency.record(nanos);
+  }
+
+  @Override
+  public String getEntityName() {
+    return this.entityClass.getName();
+  }
+
+  @Override
+  public long getLoadCount() {
+    return getCount(EntityEventType.LOADED);
+  }
+
+  @Override
+  public long getPersistCount() {
+    return getCount(EntityEventType.CREATED);
+  }
+
+  @Override
+  public long getUpdateCount() {
+    return getCount(EntityEventType.UPDATED);
+  }
+
+  @Override
+  public long getRemoveCount() {
+    return getCount(EntityEventType.REMOVED);
+  }
+
+  @Override
+  public LatencyStatistics getPersistLatency() {
+    return this.persistLatency.getStatistics();
+  }
+
+  @Override
+  public LatencyStatistics getUpdateLatency() {
+    return this.updateLatency.getStatistics();
+  }
+
+  @Override
+  public void reset() {
+    this.counters.values().forEach(LongAdder::reset);
+    this.persistLatency.reset();
+    this.updateLatency.reset();
+  }
+}
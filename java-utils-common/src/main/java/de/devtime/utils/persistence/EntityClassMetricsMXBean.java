@@ -0,0 +1,73 @@
+package de.devtime.utils.persistence;
+
+/**
+ * Management interface of the {@link EntityClassMetrics} of one entity class.
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+public interface EntityClassMetricsMXBean {
+
+  /**
+   * Returns the fully qualified name of the entity class.
+   *
+   * @return name of the entity class
+   * @since 0.0.1
+   */
+  String getEntityName();
+
+  /**
+   * Returns the number of loaded entities.
+   *
+   * @return number of load events
+   * @since 0.0.1
+   */
+  long getLoadCount();
+
+  /**
+   * Returns the number of persisted entities.
+   *
+   * @return number of persist events
+   * @since 0.0.1
+   */
+  long getPersistCount();
+
+  /**
+   * Returns the number of updated entities.
+   *
+   * @return number of update events
+   * @since 0.0.1
+   */
+  long getUpdateCount();
+
+  /**
+   * Returns the number of removed entities.
+   *
+   * @return number of remove events
+   * @since 0.0.1
+   */
+  long getRemoveCount();
+
+  /**
+   * Returns the statistics of the time between {@code @PrePersist} and {@code @PostPersist}.
+   *
+   * @return persist latencies
+   * @since 0.0.1
+   */
+  LatencyStatistics getPersistLatency();
+
+  /**
+   * Returns the statistics of the time between {@code @PreUpdate} and {@code @PostUpdate}.
+   *
+   * @return update latencies
+   * @since 0.0.1
+   */
+  LatencyStatistics getUpdateLatency();
+
+  /**
+   * Resets all counters and latencies.
+   *
+   * @since 0.0.1
+   */
+  void reset();
+}
@@ -0,0 +1,123 @@
+package de.devtime.utils.persistence;
+
+import java.io.Serializable;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+import de.devtime.utils.logging.CustomToStringStyle;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Logs updated entities with only the fields that have changed. Instead of rendering the whole entity like
+ * {@link EntityEventLogger} does, the dirty properties that Hibernate has determined during the flush are rendered
+ * with their new and their previous values, e.g.
+ * {@code Entity was updated: Customer[id=42,name=New] (previous: Customer[id=42,name=Old])}. Each value is formatted by
+ * a {@link CustomToStringStyle}, so the same rules apply as for the complete entity.
+ *
+ * <p>
+ * The logger is a Hibernate {@link Integrator} that registers itself as listener for post update events. It has to be
+ * applied when the session factory is bootstrapped, e.g. with the property {@code hibernate.integrator_provider} or
+ * with {@link org.hibernate.boot.registry.BootstrapServiceRegistryBuilder#applyIntegrator(Integrator)}.
+ * </p>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+@Slf4j
+public class EntityDiffLogger implements Integrator, PostUpdateEventListener {
+
+  private static final long serialVersionUID = 1L;
+
+  private final CustomToStringStyle style;
+
+  /**
+   * Creates a logger that uses {@link PersistenceToStringStyle#PARAMETRIZED_STYLE}.
+   *
+   * @since 0.0.1
+   */
+  public EntityDiffLogger() {
+    this(PersistenceToStringStyle.PARAMETRIZED_STYLE);
+  }
+
+  /**
+   * Creates a logger that uses the given style to render the changed fields.
+   *
+   * @param style the style <i>(not null)</i>
+   * @since 0.0.1
+   */
+  public EntityDiffLogger(CustomToStringStyle style) {
+    this.style = style;
+  }
+
+  @Override
+  public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+      SessionFactoryServiceRegistry serviceRegistry) {
+    serviceRegistry.getService(EventListenerRegistry.class).appendListeners(EventType.POST_UPDATE, this);
+  }
+
+  @Override
+  public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    // nothing to do
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (!LOG.isInfoEnabled()) {
+      return;
+    }
+    int[] dirtyProperties = event.getDirtyProperties();
+    Object[] oldState = event.getOldState();
+    if (dirtyProperties == null || oldState == null) {
+      // without a loaded state Hibernate does not know which fields have changed
+      write("Entity was updated: " + event.getEntity());
+      return;
+    }
+    String[] propertyNames = event.getPersister().getPropertyNames();
+    String idName = event.getPersister().getIdentifierPropertyName();
+    write("Entity was updated: "
+        + renderChanges(event.getEntity(), idName, event.getId(), propertyNames, dirtyProperties, event.getState())
+        + " (previous: "
+        + renderChanges(event.getEntity(), idName, event.getId(), propertyNames, dirtyProperties, oldState) + ")");
+  }
+
+  @Override
+  public boolean requiresPostCommitHandling(EntityPersister persister) {
+    return false;
+  }
+
+  // still abstract in Hibernate 5, the replacement above is used by newer versions
+  @Override
+  @SuppressWarnings("deprecation")
+  public boolean requiresPostCommitHanding(EntityPersister persister) {
+    return requiresPostCommitHandling(persister);
+  }
+
+  /**
+   * Writes the message of an updated entity. By default the message is logged with level INFO.
+   *
+   * @param message the message <i>(not null)</i>
+   * @since 0.0.1
+   */
+  protected void write(String message) {
+    LOG.info(message);
+  }
+
+  private String renderChanges(Object entity, String idName, Serializable id, String[] propertyNames,
+      int[] dirtyProperties, Object[] state) {
+    ToStringBuilder builder = new ToStringBuilder(entity, this.style);
+    builder.append(idName, id);
+    for (int property : dirtyProperties) {
+      builder.append(propertyNames[property], state[property]);
+    }
+    return builder.toString();
+  }
+}
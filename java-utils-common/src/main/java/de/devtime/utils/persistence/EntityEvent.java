@@ -0,0 +1,23 @@
+package de.devtime.utils.persistence;
+
+import java.time.Instant;
+
+/**
+ * Lightweight snapshot of an entity lifecycle event. It contains only the data that is available without rendering
+ * the entity, so it can be created cheaply on the transaction thread.
+ *
+ * @param type type of the event
+ * @param entityClass persistent class of the entity
+ * @param id identifier of the entity
+ * @param timestamp time of the event in milliseconds since the epoch
+ * @author dev|time
+ * @since 0.0.1
+ */
+public record EntityEvent(EntityEventType type, Class<?> entityClass, Object id, long timestamp) {
+
+  @Override
+  public String toString() {
+    return this.entityClass.getSimpleName() + "[id=" + this.id + ",timestamp=" + Instant.ofEpochMilli(this.timestamp)
+        + "]";
+  }
+}
@@ -7,9 +7,50 @@ import javax.persistence.PostUpdate;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Logs the lifecycle events of entities. Every event is logged with level INFO on the calling thread.
+ *
+ * <p>
+ * Loaded entities can be aggregated with a {@link LoadedEntityAggregator} instead, which logs one summary line per
+ * interval or transaction and renders only a sample of the entities.
+ * </p>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
 @Slf4j
 public class EntityEventLogger {
 
+  private static volatile LoadedEntityAggregator loadAggregator;
+
+  /**
+   * Sets the aggregator for loaded entities that is used by all instances. If no aggregator is set, every loaded entity
+   * is logged. The previous aggregator is closed.
+   *
+   * @param aggregator the aggregator or {@code null} to log every loaded entity
+   * @since 0.0.1
+   */
+  public static void setLoadAggregator(LoadedEntityAggregator aggregator) {
+    LoadedEntityAggregator previousAggregator;
+    synchronized (EntityEventLogger.class) {
+      previousAggregator = loadAggregator;
+      loadAggregator = aggregator;
+    }
+    if (previousAggregator != null && previousAggregator != aggregator) {
+      previousAggregator.close();
+    }
+  }
+
+  /**
+   * Returns the aggregator for loaded entities.
+   *
+   * @return the aggregator or {@code null} if every loaded entity is logged
+   * @since 0.0.1
+   */
+  public static LoadedEntityAggregator getLoadAggregator() {
+    return loadAggregator;
+  }
+
   @PostPersist
   private void created(AbstractPersistable entity) {
     LOG.info("Entity was created: {}", entity);
@@ -27,6 +68,11 @@ public class EntityEventLogger {
 
   @PostLoad
   private void loaded(AbstractPersistable entity) {
-    LOG.info("Entity was loaded: {}", entity);
+    LoadedEntityAggregator aggregator = loadAggregator;
+    if (aggregator != null) {
+      aggregator.loaded(entity);
+    } else {
+      LOG.info("Entity was loaded: {}", entity);
+    }
   }
 }
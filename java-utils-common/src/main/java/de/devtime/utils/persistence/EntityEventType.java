@@ -0,0 +1,29 @@
+package de.devtime.utils.persistence;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Lifecycle events of an entity that are logged by the entity event loggers.
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+@AllArgsConstructor
+@Getter
+public enum EntityEventType {
+
+  /** The entity was persisted. */
+  CREATED("created"),
+
+  /** The entity was updated. */
+  UPDATED("updated"),
+
+  /** The entity was removed. */
+  REMOVED("removed"),
+
+  /** The entity was loaded. */
+  LOADED("loaded");
+
+  private final String text;
+}
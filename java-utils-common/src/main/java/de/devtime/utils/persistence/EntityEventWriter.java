@@ -0,0 +1,266 @@
+package de.devtime.utils.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.commons.lang3.Validate;
+import org.springframework.data.domain.Persistable;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes {@link EntityEvent entity events} asynchronously. The publishing thread only creates a snapshot of the event
+ * and hands it over to a bounded lock-free queue, a background worker renders and writes the events in batches. The
+ * {@link BackpressurePolicy} defines what happens if the queue is full.
+ *
+ * <p>
+ * By default the events are written to the log, subclasses may override {@link #write(List)} to write them somewhere
+ * else.
+ * </p>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+@Slf4j
+public class EntityEventWriter implements AutoCloseable {
+
+  /** Default capacity of the queue. */
+  public static final int DEFAULT_CAPACITY = 8192;
+
+  /** Default maximum number of events that are written in one batch. */
+  public static final int DEFAULT_BATCH_SIZE = 256;
+
+  /** Default rate of {@link BackpressurePolicy#SAMPLE}, every 10th event is accepted. */
+  public static final int DEFAULT_SAMPLE_RATE = 10;
+
+  private static final long BLOCK_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+  private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+  private final Queue<EntityEvent> queue = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final AtomicLong sampleCounter = new AtomicLong();
+  private final LongAdder droppedEvents = new LongAdder();
+  private final Thread worker;
+  private volatile boolean workerWaiting;
+  private volatile boolean closed;
+  private long reportedDroppedEvents;
+
+  /** Capacity of the queue. */
+  @Getter
+  private final int capacity;
+
+  /** Maximum number of events that are written in one batch. */
+  @Getter
+  private final int batchSize;
+
+  /** Behaviour if the queue is full. */
+  @Getter
+  private final BackpressurePolicy policy;
+
+  /** Every n-th event is accepted by {@link BackpressurePolicy#SAMPLE} once the queue is half full. */
+  @Getter
+  private final int sampleRate;
+
+  /**
+   * Creates a writer with the default batch size and sample rate and starts its worker.
+   *
+   * @param capacity capacity of the queue <i>(greater than 0)</i>
+   * @param policy behaviour if the queue is full <i>(not null)</i>
+   * @since 0.0.1
+   */
+  public EntityEventWriter(int capacity, BackpressurePolicy policy) {
+    this(capacity, DEFAULT_BATCH_SIZE, policy, DEFAULT_SAMPLE_RATE);
+  }
+
+  /**
+   * Creates a writer and starts its worker.
+   *
+   * @param capacity capacity of the queue <i>(greater than 0)</i>
+   * @param batchSize maximum number of events that are written in one batch <i>(greater than 0)</i>
+   * @param policy behaviour if the queue is full <i>(not null)</i>
+   * @param sampleRate every n-th event is accepted by {@link BackpressurePolicy#SAMPLE} <i>(greater than 0)</i>
+   * @since 0.0.1
+   */
+  public EntityEventWriter(int capacity, int batchSize, BackpressurePolicy policy, int sampleRate) {
+    Validate.isTrue(capacity > 0, "The capacity must be greater than 0: %d", capacity);
+    Validate.isTrue(batchSize > 0, "The batch size must be greater than 0: %d", batchSize);
+    Validate.notNull(policy, "The backpressure policy must not be null!");
+    Validate.isTrue(sampleRate > 0, "The sample rate must be greater than 0: %d", sampleRate);
+    this.capacity = capacity;
+    this.batchSize = batchSize;
+    this.policy = policy;
+    this.sampleRate = sampleRate;
+    this.worker = new Thread(this::run, "entity-event-writer-" + THREAD_COUNTER.incrementAndGet());
+    this.worker.setDaemon(true);
+    this.worker.start();
+  }
+
+  /**
+   * Publishes an event of the given entity. Only the class and the identifier of the entity are captured, the entity
+   * itself is not rendered on the calling thread.
+   *
+   * @param type type of the event <i>(not null)</i>
+   * @param entity the entity <i>(not null)</i>
+   * @return {@code true} if the event was accepted, {@code false} if it was dropped
+   * @since 0.0.1
+   */
+  public boolean publish(EntityEventType type, Persistable<?> entity) {
+    if (!reserve()) {
+      this.droppedEvents.increment();
+      return false;
+    }
+    if (this.closed) {
+      // close() was called after the reservation, the worker may already have stopped
+      this.size.decrementAndGet();
+      this.droppedEvents.increment();
+      return false;
+    }
+    this.queue.offer(
+        new EntityEvent(type, EntityHelper.getPersistentClass(entity), entity.getId(), System.currentTimeMillis()));
+    if (this.workerWaiting) {
+      LockSupport.unpark(this.worker);
+    }
+    return true;
+  }
+
+  /**
+   * Returns the number of events that were dropped since the writer was created.
+   *
+   * @return number of dropped events
+   * @since 0.0.1
+   */
+  public long getDroppedEvents() {
+    return this.droppedEvents.sum();
+  }
+
+  /**
+   * Stops accepting events, writes all events that are still queued and waits for the worker to finish. Every event for
+   * which {@link #publish(EntityEventType, Persistable)} returned {@code true} is written before this method returns,
+   * even if it was published concurrently.
+   *
+   * @since 0.0.1
+   */
+  @Override
+  public void close() {
+    this.closed = true;
+    LockSupport.unpark(this.worker);
+    try {
+      this.worker.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Writes a batch of events. This method is called by the worker thread only. By default every event is logged with
+   * level INFO.
+   *
+   * @param events the events in the order they were published <i>(not empty)</i>
+   * @since 0.0.1
+   */
+  protected void write(List<EntityEvent> events) {
+    if (!LOG.isInfoEnabled()) {
+      return;
+    }
+    for (EntityEvent event : events) {
+      LOG.info("Entity was {}: {}", event.type().getText(), event);
+    }
+  }
+
+  private boolean reserve() {
+    if (this.closed) {
+      return false;
+    }
+    switch (this.policy) {
+      case BLOCK:
+        while (!tryReserve(this.capacity)) {
+          if (this.closed) {
+            return false;
+          }
+          LockSupport.parkNanos(this, BLOCK_WAIT_NANOS);
+        }
+        return true;
+      case SAMPLE:
+        return tryReserve(Math.max(1, this.capacity / 2))
+            || this.sampleCounter.getAndIncrement() % this.sampleRate == 0 && tryReserve(this.capacity);
+      default:
+        return tryReserve(this.capacity);
+    }
+  }
+
+  private boolean tryReserve(int limit) {
+    while (true) {
+      int current = this.size.get();
+      if (current >= limit) {
+        return false;
+      }
+      if (this.size.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  private void run() {
+    List<EntityEvent> batch = new ArrayList<>(this.batchSize);
+    while (true) {
+      boolean stopping = this.closed;
+      drainTo(batch);
+      if (!batch.isEmpty()) {
+        writeBatch(batch);
+        batch.clear();
+      } else if (stopping && this.size.get() == 0) {
+        // a publisher reserves before it checks closed, so no accepted event can be outstanding now
+        reportDroppedEvents();
+        return;
+      } else if (stopping) {
+        // an accepted event is about to be offered
+        Thread.onSpinWait();
+      } else {
+        awaitEvents();
+      }
+    }
+  }
+
+  private void awaitEvents() {
+    // the flag is set before the queue is checked again, so a publisher either sees it and unparks the worker or its
+    // event is found by the check
+    this.workerWaiting = true;
+    if (this.queue.isEmpty() && !this.closed) {
+      LockSupport.park(this);
+    }
+    this.workerWaiting = false;
+  }
+
+  private void drainTo(List<EntityEvent> batch) {
+    EntityEvent event;
+    while (batch.size() < this.batchSize && (event = this.queue.poll()) != null) {
+      batch.add(event);
+    }
+    this.size.addAndGet(-batch.size());
+  }
+
+  private void writeBatch(List<EntityEvent> batch) {
+    try {
+      write(batch);
+    } catch (RuntimeException e) {
+      LOG.error("{} entity events could not be written.", batch.size(), e);
+    }
+    reportDroppedEvents();
+  }
+
+  private void reportDroppedEvents() {
+    long dropped = this.droppedEvents.sum();
+    if (dropped > this.reportedDroppedEvents) {
+      LOG.warn("{} entity events were dropped because the queue was full.", dropped - this.reportedDroppedEvents);
+      this.reportedDroppedEvents = dropped;
+    }
+  }
+}
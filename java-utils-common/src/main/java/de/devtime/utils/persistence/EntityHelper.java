@@ -1,6 +1,20 @@
 package de.devtime.utils.persistence;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.apache.commons.lang3.Validate;
+import org.hibernate.Hibernate;
 import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.ProxyConfiguration;
+import org.springframework.data.domain.Persistable;
+
+import de.devtime.utils.id.IdGenerator;
 
 /**
  * Contains some helper methods in the context of entities.
@@ -10,6 +24,37 @@ import org.hibernate.proxy.HibernateProxy;
  */
 public class EntityHelper {
 
+  /** Minimum number of entities that are initialized in parallel by {@link #initAll(List, ForkJoinPool)}. */
+  public static final int PARALLEL_INIT_THRESHOLD = 10_000;
+
+  private static final int PARALLEL_INIT_CHUNK_SIZE = 4096;
+
+  /** Maps each runtime class to its persistent class, which is resolved only once per class. */
+  private static final ClassValue<Class<?>> PERSISTENT_CLASSES = new ClassValue<>() {
+
+    @Override
+    protected Class<?> computeValue(Class<?> type) {
+      Class<?> current = type;
+      while (isProxyClass(current) && current.getSuperclass() != null) {
+        current = current.getSuperclass();
+      }
+      return current;
+    }
+  };
+
+  /** {@code true} for each entity class that overrides {@link AbstractPersistable#init()}. */
+  private static final ClassValue<Boolean> OVERRIDES_INIT = new ClassValue<>() {
+
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      try {
+        return type.getMethod("init").getDeclaringClass() != AbstractPersistable.class;
+      } catch (NoSuchMethodException e) {
+        throw new IllegalStateException(type + " does not have an init() method!", e);
+      }
+    }
+  };
+
   /**
    * Checks if the given objects are instances of the same class considering {@link HibernateProxy}.
    *
@@ -28,13 +73,161 @@ public class EntityHelper {
 
     Class<?> leftClass = left.getClass();
     Class<?> rightClass = right.getClass();
-    if (left instanceof HibernateProxy) {
-      leftClass = leftClass.getSuperclass();
+    return leftClass == rightClass || PERSISTENT_CLASSES.get(leftClass) == PERSISTENT_CLASSES.get(rightClass);
+  }
+
+  /**
+   * Checks pairwise if the objects at the same index of both lists are instances of the same class considering
+   * {@link HibernateProxy}.
+   *
+   * @param left first instances <i>(not null)</i>
+   * @param right second instances <i>(not null)</i>
+   * @return an array with the result of {@link #isClassEquals(Object, Object)} for every index
+   * @throws IllegalArgumentException if the lists have different sizes
+   * @since 0.0.1
+   */
+  public static boolean[] areClassesEqual(List<?> left, List<?> right) {
+    Validate.isTrue(left.size() == right.size(), "The lists have different sizes: %d != %d", left.size(),
+        right.size());
+    boolean[] result = new boolean[left.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = isClassEquals(left.get(i), right.get(i));
     }
-    if (right instanceof HibernateProxy) {
-      rightClass = rightClass.getSuperclass();
+    return result;
+  }
+
+  /**
+   * Returns the persistent class of an entity. For a {@link HibernateProxy} this is the class of the entity that is
+   * wrapped by the proxy, even if the proxy class was derived from another proxy class.
+   *
+   * @param entity an entity or a proxy <i>(not null)</i>
+   * @return the persistent class
+   * @since 0.0.1
+   */
+  public static Class<?> getPersistentClass(Object entity) {
+    return PERSISTENT_CLASSES.get(entity.getClass());
+  }
+
+  /**
+   * Returns the persistent class of the given runtime class.
+   *
+   * @param type class of an entity or a proxy <i>(not null)</i>
+   * @return the persistent class
+   * @since 0.0.1
+   * @see #getPersistentClass(Object)
+   */
+  public static Class<?> getPersistentClass(Class<?> type) {
+    return PERSISTENT_CLASSES.get(type);
+  }
+
+  /**
+   * Removes duplicate entities from a collection that may contain entities and proxies of the same entities. Two
+   * elements are duplicates if they have the same persistent class and the same identifier. The identifier of a proxy
+   * is read without initializing the proxy. The collection is processed in a single pass, the result keeps the order of
+   * the first occurrences. If an entity occurs as uninitialized proxy and as loaded instance, the loaded instance is
+   * kept. Entities without identifier are never considered as duplicates.
+   *
+   * @param <T> type of the entities
+   * @param entities the entities <i>(not null)</i>
+   * @return a new list without duplicates
+   * @since 0.0.1
+   */
+  public static <T extends Persistable<?>> List<T> distinct(Collection<? extends T> entities) {
+    List<T> result = new ArrayList<>(entities.size());
+    Map<EntityKey, Integer> positions = new HashMap<>();
+    for (T entity : entities) {
+      Object id = entity == null ? null : entity.getId();
+      if (id == null) {
+        result.add(entity);
+        continue;
+      }
+      Integer position = positions.putIfAbsent(new EntityKey(getPersistentClass(entity), id), result.size());
+      if (position == null) {
+        result.add(entity);
+      } else if (!Hibernate.isInitialized(result.get(position)) && Hibernate.isInitialized(entity)) {
+        result.set(position, entity);
+      }
     }
-    return leftClass == rightClass;
+    return result;
+  }
+
+  /**
+   * Initializes many entities with the same result as calling {@link AbstractPersistable#init()} for one entity after
+   * the other. Consecutive entities with equal {@link AbstractPersistable#idGenerator() id generators} get their
+   * identifiers from one call of {@link IdGenerator#nextIds(int)}, e.g. random UUIDs are drawn from the random generator
+   * in large blocks. Then each entity gets its identifier and {@link AbstractPersistable#linkReferencedObjects()} is
+   * called in the order of the list, so that an entity sees the identifiers of the preceding entities while linking,
+   * but not those of the following ones. Entities whose class overrides {@link AbstractPersistable#init()} are
+   * initialized by calling their {@code init()} method at their position in the list.
+   *
+   * @param entities the entities to initialize <i>(not null)</i>
+   * @since 0.0.1
+   */
+  public static void initAll(List<? extends AbstractPersistable> entities) {
+    initAll(entities, null);
+  }
+
+  /**
+   * Initializes many entities like {@link #initAll(List)}. If the list contains at least
+   * {@value #PARALLEL_INIT_THRESHOLD} entities, the identifiers are created in parallel by the given pool. Assigning
+   * them and linking the referenced objects is not parallelized, since linking may modify objects that are shared by
+   * several entities. The identifiers of a parallel initialization are not ordered like the list, e.g. time-ordered
+   * UUIDs of later entities may be smaller than those of earlier entities. Pass {@code null} as pool if the order of
+   * the identifiers matters.
+   *
+   * @param entities the entities to initialize <i>(not null)</i>
+   * @param pool the pool that creates the identifiers or {@code null} to create them in the calling thread
+   * @since 0.0.1
+   */
+  public static void initAll(List<? extends AbstractPersistable> entities, ForkJoinPool pool) {
+    // copy the list once, so that indexed access is cheap for every kind of list
+    AbstractPersistable[] batch = entities.toArray(new AbstractPersistable[0]);
+    String[] ids = new String[batch.length];
+    if (pool == null || batch.length < PARALLEL_INIT_THRESHOLD) {
+      createIds(batch, ids, 0, batch.length);
+    } else {
+      int chunks = (batch.length + PARALLEL_INIT_CHUNK_SIZE - 1) / PARALLEL_INIT_CHUNK_SIZE;
+      pool.submit(() -> IntStream.range(0, chunks)
+          .parallel()
+          .forEach(chunk -> createIds(batch, ids, chunk * PARALLEL_INIT_CHUNK_SIZE,
+              Math.min(batch.length, (chunk + 1) * PARALLEL_INIT_CHUNK_SIZE))))
+          .join();
+    }
+    for (int i = 0; i < batch.length; i++) {
+      if (OVERRIDES_INIT.get(batch[i].getClass())) {
+        batch[i].init();
+      } else {
+        batch[i].init(ids[i]);
+      }
+    }
+  }
+
+  private static void createIds(AbstractPersistable[] batch, String[] ids, int from, int to) {
+    int start = from;
+    while (start < to) {
+      if (OVERRIDES_INIT.get(batch[start].getClass())) {
+        // the entity creates its identifier in its own init()
+        start++;
+        continue;
+      }
+      IdGenerator<String> generator = batch[start].idGenerator();
+      int end = start + 1;
+      while (end < to && !OVERRIDES_INIT.get(batch[end].getClass()) && generator.equals(batch[end].idGenerator())) {
+        end++;
+      }
+      List<String> created = generator.nextIds(end - start);
+      for (int i = start; i < end; i++) {
+        ids[i] = created.get(i - start);
+      }
+      start = end;
+    }
+  }
+
+  private static boolean isProxyClass(Class<?> type) {
+    return HibernateProxy.class.isAssignableFrom(type) || ProxyConfiguration.class.isAssignableFrom(type);
+  }
+
+  private record EntityKey(Class<?> persistentClass, Object id) {
   }
 
   private EntityHelper() {
@@ -0,0 +1,131 @@
+package de.devtime.utils.persistence;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registry of the {@link EntityClassMetrics} of all entity classes that were seen by the {@link EntityMetricsListener}.
+ * The metrics can be pulled with {@link #getAll()} or read through JMX, every entity class is registered as MXBean
+ * with the name {@code de.devtime.utils.persistence:type=EntityMetrics,name=<class name>}.
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+@Slf4j
+public final class EntityMetrics {
+
+  /** Domain and type of the object names of the registered MXBeans. */
+  public static final String OBJECT_NAME_PREFIX = "de.devtime.utils.persistence:type=EntityMetrics,name=";
+
+  private static final EntityMetrics INSTANCE = new EntityMetrics();
+
+  private final ConcurrentMap<Class<?>, EntityClassMetrics> metrics = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the registry that is used by all {@link EntityMetricsListener}s.
+   *
+   * @return the shared registry
+   * @since 0.0.1
+   */
+  public static EntityMetrics getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns the object name of the MXBean of an entity class.
+   *
+   * @param entityClass the persistent class <i>(not null)</i>
+   * @return the object name
+   * @since 0.0.1
+   */
+  public static ObjectName getObjectName(Class<?> entityClass) {
+    try {
+      return new ObjectName(OBJECT_NAME_PREFIX + ObjectName.quote(entityClass.getName()));
+    } catch (JMException e) {
+      throw new IllegalArgumentException("No valid object name for " + entityClass, e);
+    }
+  }
+
+  /**
+   * Returns the metrics of the persistent class of the given entity. The metrics are created and registered as MXBean
+   * on first access.
+   *
+   * @param entity an entity or a proxy <i>(not null)</i>
+   * @return the metrics
+   * @since 0.0.1
+   */
+  public EntityClassMetrics forEntity(Object entity) {
+    return forClass(EntityHelper.getPersistentClass(entity));
+  }
+
+  /**
+   * Returns the metrics of an entity class. The metrics are created and registered as MXBean on first access.
+   *
+   * @param entityClass the persistent class <i>(not null)</i>
+   * @return the metrics
+   * @since 0.0.1
+   */
+  public EntityClassMetrics forClass(Class<?> entityClass) {
+    EntityClassMetrics classMetrics = this.metrics.get(entityClass);
+    return classMetrics != null ? classMetrics : this.metrics.computeIfAbsent(entityClass, this::register);
+  }
+
+  /**
+   * Returns the metrics of all entity classes ordered by the total number of events, the most active entity class
+   * first.
+   *
+   * @return the metrics
+   * @since 0.0.1
+   */
+  public List<EntityClassMetrics> getAll() {
+    List<EntityClassMetrics> result = new ArrayList<>(this.metrics.values());
+    result.sort(Comparator.comparingLong(EntityMetrics::getTotalCount).reversed()
+        .thenComparing(EntityClassMetrics::getEntityName));
+    return result;
+  }
+
+  /**
+   * Resets the metrics of all entity classes.
+   *
+   * @since 0.0.1
+   */
+  public void reset() {
+    this.metrics.values().forEach(EntityClassMetrics::reset);
+  }
+
+  private EntityClassMetrics register(Class<?> entityClass) {
+    EntityClassMetrics classMetrics = new EntityClassMetrics(entityClass);
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = getObjectName(entityClass);
+      if (!server.isRegistered(name)) {
+        server.registerMBean(classMetrics, name);
+      }
+    } catch (JMException | RuntimeException e) {
+      LOG.warn("Metrics of {} could not be registered as MXBean.", entityClass.getName(), e);
+    }
+    return classMetrics;
+  }
+
+  private static long getTotalCount(EntityClassMetrics classMetrics) {
+    long total = 0;
+    for (EntityEventType type : EntityEventType.values()) {
+      total += classMetrics.getCount(type);
+    }
+    return total;
+  }
+
+  private EntityMetrics() {
+    // singleton
+  }
+}
@@ -0,0 +1,146 @@
+package de.devtime.utils.persistence;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Tracks the lifecycle events of entities in the {@link EntityMetrics}. Every event is counted per entity class, the
+ * time between {@code @PrePersist} and {@code @PostPersist} and between {@code @PreUpdate} and {@code @PostUpdate} is
+ * recorded as latency.
+ *
+ * <p>
+ * The start of an operation is remembered until its post callback happens. If the callback never happens, e.g. because
+ * the flush failed, the start is dropped when the transaction completes. Outside of a Spring managed transaction the
+ * starts are bound to the thread and are dropped when they are older than a minute.
+ * </p>
+ *
+ * <pre>
+ * &#64;Entity
+ * &#64;EntityListeners({ EntityEventLogger.class, EntityMetricsListener.class })
+ * public class Customer extends AbstractPersistable {
+ * </pre>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+public class EntityMetricsListener {
+
+  /** Upper bound of pending operations, the latency of further operations is not recorded. */
+  private static final int MAX_PENDING_OPERATIONS = 10_000;
+
+  /** Age after which an operation outside of a transaction is considered as failed. */
+  private static final long STALE_OPERATION_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+  private static final ThreadLocal<PendingOperations> THREAD_PENDING_OPERATIONS = ThreadLocal
+      .withInitial(PendingOperations::new);
+
+  /** Key of the pending operations that are bound to the transaction of the current thread. */
+  private static final Object TRANSACTION_RESOURCE_KEY = new Object();
+
+  @PrePersist
+  private void persisting(Object entity) {
+    start(entity);
+  }
+
+  @PostPersist
+  private void persisted(Object entity) {
+    EntityClassMetrics metrics = EntityMetrics.getInstance().forEntity(entity);
+    metrics.count(EntityEventType.CREATED);
+    long start = stop(entity);
+    if (start != 0) {
+      metrics.recordPersistLatency(System.nanoTime() - start);
+    }
+  }
+
+  @PreUpdate
+  private void updating(Object entity) {
+    start(entity);
+  }
+
+  @PostUpdate
+  private void updated(Object entity) {
+    EntityClassMetrics metrics = EntityMetrics.getInstance().forEntity(entity);
+    metrics.count(EntityEventType.UPDATED);
+    long start = stop(entity);
+    if (start != 0) {
+      metrics.recordUpdateLatency(System.nanoTime() - start);
+    }
+  }
+
+  @PostRemove
+  private void removed(Object entity) {
+    EntityMetrics.getInstance().forEntity(entity).count(EntityEventType.REMOVED);
+  }
+
+  @PostLoad
+  private void loaded(Object entity) {
+    EntityMetrics.getInstance().forEntity(entity).count(EntityEventType.LOADED);
+  }
+
+  private static void start(Object entity) {
+    long now = System.nanoTime();
+    PendingOperations pendingOperations = getPendingOperations();
+    pendingOperations.removeStale(now);
+    if (pendingOperations.starts.size() < MAX_PENDING_OPERATIONS) {
+      pendingOperations.starts.put(entity, now);
+    }
+  }
+
+  private static long stop(Object entity) {
+    long now = System.nanoTime();
+    PendingOperations pendingOperations = getPendingOperations();
+    Long start = pendingOperations.starts.remove(entity);
+    pendingOperations.removeStale(now);
+    return start == null ? 0 : start;
+  }
+
+  private static PendingOperations getPendingOperations() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return THREAD_PENDING_OPERATIONS.get();
+    }
+    PendingOperations pendingOperations = (PendingOperations) TransactionSynchronizationManager
+        .getResource(TRANSACTION_RESOURCE_KEY);
+    if (pendingOperations == null) {
+      pendingOperations = new PendingOperations();
+      TransactionSynchronizationManager.bindResource(TRANSACTION_RESOURCE_KEY, pendingOperations);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+        @Override
+        public void afterCompletion(int status) {
+          // drops the operations whose post callback did not happen, e.g. after a failed flush
+          TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_RESOURCE_KEY);
+        }
+      });
+    }
+    return pendingOperations;
+  }
+
+  private static final class PendingOperations {
+
+    private final Map<Object, Long> starts = new IdentityHashMap<>();
+    private long nextStaleCheck = System.nanoTime() + STALE_OPERATION_NANOS;
+
+    /**
+     * Removes the operations that are older than {@link #STALE_OPERATION_NANOS}. The check is done at most once per
+     * period, so that it does not slow down each operation.
+     */
+    void removeStale(long now) {
+      if (now - this.nextStaleCheck < 0 || this.starts.isEmpty()) {
+        return;
+      }
+      this.starts.values().removeIf(start -> now - start > STALE_OPERATION_NANOS);
+      this.nextStaleCheck = now + STALE_OPERATION_NANOS;
+    }
+  }
+}
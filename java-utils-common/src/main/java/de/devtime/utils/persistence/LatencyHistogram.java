@@ -0,0 +1,89 @@
+package de.devtime.utils.persistence;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe histogram of latencies with one bucket per power of two nanoseconds. Recording a latency costs a few
+ * atomic increments and never allocates, so the histogram can be updated on every entity event.
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+public class LatencyHistogram {
+
+  private static final int BUCKET_COUNT = Long.SIZE;
+  private static final double NANOS_PER_MICRO = 1000.0;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Records a latency. Negative values are recorded as 0.
+   *
+   * @param nanos the latency in nanoseconds
+   * @since 0.0.1
+   */
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+    this.buckets.incrementAndGet(getBucket(value));
+    this.sum.add(value);
+    this.max.accumulate(value);
+  }
+
+  /**
+   * Creates statistics of all recorded latencies. Latencies that are recorded concurrently may be missing in some of
+   * the values.
+   *
+   * @return the statistics
+   * @since 0.0.1
+   */
+  public LatencyStatistics getStatistics() {
+    long[] counts = new long[BUCKET_COUNT];
+    long total = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      counts[i] = this.buckets.get(i);
+      total += counts[i];
+    }
+    long maxNanos = this.max.get();
+    double mean = total == 0 ? 0 : this.sum.sum() / (double) total / NANOS_PER_MICRO;
+    return new LatencyStatistics(total, mean, maxNanos / NANOS_PER_MICRO,
+        getPercentile(counts, total, maxNanos, 0.5), getPercentile(counts, total, maxNanos, 0.9),
+        getPercentile(counts, total, maxNanos, 0.99));
+  }
+
+  /**
+   * Removes all recorded latencies.
+   *
+   * @since 0.0.1
+   */
+  public void reset() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      this.buckets.set(i, 0);
+    }
+    this.sum.reset();
+    this.max.reset();
+  }
+
+  private static int getBucket(long nanos) {
+    return nanos == 0 ? 0 : BUCKET_COUNT - 1 - Long.numberOfLeadingZeros(nanos);
+  }
+
+  private static double getPercentile(long[] counts, long total, long maxNanos, double percentile) {
+    if (total == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(total * percentile);
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        long upperBound = i == BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+        return Math.min(upperBound, maxNanos) / NANOS_PER_MICRO;
+      }
+    }
+    return maxNanos / NANOS_PER_MICRO;
+  }
+}
@@ -0,0 +1,32 @@
+package de.devtime.utils.persistence;
+
+import lombok.Value;
+
+/**
+ * Immutable statistics of a {@link LatencyHistogram}. All latencies are given in microseconds, the percentiles are
+ * upper bounds with a precision of a power of two.
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+@Value
+public class LatencyStatistics {
+
+  /** Number of recorded latencies. */
+  long count;
+
+  /** Mean latency in microseconds. */
+  double meanMicros;
+
+  /** Maximum latency in microseconds. */
+  double maxMicros;
+
+  /** Median latency in microseconds. */
+  double p50Micros;
+
+  /** 90th percentile of the latencies in microseconds. */
+  double p90Micros;
+
+  /** 99th percentile of the latencies in microseconds. */
+  double p99Micros;
+}
@@ -0,0 +1,235 @@
+package de.devtime.utils.persistence;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.Validate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Aggregates loaded entities to counters per entity class instead of logging every single entity. The counters are
+ * summarized to one line like {@code Loaded 12,400 Order, 3 Customer}, either once per interval or once per
+ * transaction. Only every n-th loaded entity is rendered completely.
+ *
+ * <p>
+ * In interval mode the counters are kept in {@link LongAdder}s, so concurrent transactions do not contend on them. In
+ * transaction mode the counters are bound to the transaction of the current thread and summarized after its completion.
+ * Entities that are loaded outside of a transaction are counted like in interval mode and summarized once per
+ * interval, by default every {@link #DEFAULT_NON_TRANSACTIONAL_INTERVAL minute}.
+ * </p>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ * @see EntityEventLogger#setLoadAggregator(LoadedEntityAggregator)
+ */
+@Slf4j
+public class LoadedEntityAggregator implements AutoCloseable {
+
+  /** Sample rate that disables the rendering of loaded entities. */
+  public static final int NO_SAMPLES = 0;
+
+  /** Default interval of the summaries of entities that are loaded outside of a transaction in transaction mode. */
+  public static final Duration DEFAULT_NON_TRANSACTIONAL_INTERVAL = Duration.ofMinutes(1);
+
+  private final Map<Class<?>, LongAdder> counters = new ConcurrentHashMap<>();
+  private final AtomicLong sampleCounter = new AtomicLong();
+  private final int sampleRate;
+  private final boolean perTransaction;
+  private final ScheduledExecutorService scheduler;
+
+  /**
+   * Creates an aggregator that writes a summary once per interval.
+   *
+   * @param interval the interval <i>(positive)</i>
+   * @param sampleRate every n-th loaded entity is rendered completely, {@link #NO_SAMPLES} renders none
+   * @return the started aggregator
+   * @since 0.0.1
+   */
+  public static LoadedEntityAggregator perInterval(Duration interval, int sampleRate) {
+    validateInterval(interval);
+    return new LoadedEntityAggregator(sampleRate, false, interval);
+  }
+
+  /**
+   * Creates an aggregator that writes a summary after each transaction. Entities that are loaded outside of a
+   * transaction are summarized every {@link #DEFAULT_NON_TRANSACTIONAL_INTERVAL minute}.
+   *
+   * @param sampleRate every n-th loaded entity is rendered completely, {@link #NO_SAMPLES} renders none
+   * @return the started aggregator
+   * @since 0.0.1
+   */
+  public static LoadedEntityAggregator perTransaction(int sampleRate) {
+    return perTransaction(sampleRate, DEFAULT_NON_TRANSACTIONAL_INTERVAL);
+  }
+
+  /**
+   * Creates an aggregator that writes a summary after each transaction and a summary of the entities that are loaded
+   * outside of a transaction once per interval.
+   *
+   * @param sampleRate every n-th loaded entity is rendered completely, {@link #NO_SAMPLES} renders none
+   * @param nonTransactionalInterval interval of the summaries of entities loaded outside of a transaction
+   *        <i>(positive)</i>
+   * @return the started aggregator
+   * @since 0.0.1
+   */
+  public static LoadedEntityAggregator perTransaction(int sampleRate, Duration nonTransactionalInterval) {
+    validateInterval(nonTransactionalInterval);
+    return new LoadedEntityAggregator(sampleRate, true, nonTransactionalInterval);
+  }
+
+  /**
+   * Creates an aggregator.
+   *
+   * @param sampleRate every n-th loaded entity is rendered completely, {@link #NO_SAMPLES} renders none
+   * @param perTransaction {@code true} if a summary is written after each transaction
+   * @param interval interval of the summaries of the counters that are not bound to a transaction or {@code null} if
+   *        no summaries are scheduled
+   * @since 0.0.1
+   */
+  protected LoadedEntityAggregator(int sampleRate, boolean perTransaction, Duration interval) {
+    Validate.isTrue(sampleRate >= 0, "The sample rate must not be negative: %d", sampleRate);
+    this.sampleRate = sampleRate;
+    this.perTransaction = perTransaction;
+    if (interval == null) {
+      this.scheduler = null;
+    } else {
+      this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "loaded-entity-aggregator");
+        thread.setDaemon(true);
+        return thread;
+      });
+      long intervalMillis = interval.toMillis();
+      this.scheduler.scheduleAtFixedRate(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Counts a loaded entity and renders it if it was sampled.
+   *
+   * @param entity the loaded entity <i>(not null)</i>
+   * @since 0.0.1
+   */
+  public void loaded(Object entity) {
+    Class<?> entityClass = EntityHelper.getPersistentClass(entity);
+    Map<Class<?>, long[]> transactionCounters = this.perTransaction ? getTransactionCounters() : null;
+    if (transactionCounters != null) {
+      transactionCounters.computeIfAbsent(entityClass, key -> new long[1])[0]++;
+    } else {
+      this.counters.computeIfAbsent(entityClass, key -> new LongAdder()).increment();
+    }
+    if (this.sampleRate != NO_SAMPLES && this.sampleCounter.getAndIncrement() % this.sampleRate == 0) {
+      writeSample(entity);
+    }
+  }
+
+  /**
+   * Writes a summary of all counters that are not bound to a transaction and resets them.
+   *
+   * @since 0.0.1
+   */
+  public void flush() {
+    Map<Class<?>, Long> counts = new HashMap<>();
+    this.counters.forEach((entityClass, counter) -> {
+      long count = counter.sumThenReset();
+      if (count > 0) {
+        counts.put(entityClass, count);
+      }
+    });
+    formatAndWriteSummary(counts);
+  }
+
+  /**
+   * Stops the scheduled summaries and writes a last summary.
+   *
+   * @since 0.0.1
+   */
+  @Override
+  public void close() {
+    if (this.scheduler != null) {
+      this.scheduler.shutdown();
+    }
+    flush();
+  }
+
+  /**
+   * Writes a summary line. By default the line is logged with level INFO.
+   *
+   * @param summary the summary, e.g. {@code Loaded 12,400 Order, 3 Customer} <i>(not null)</i>
+   * @since 0.0.1
+   */
+  protected void writeSummary(String summary) {
+    LOG.info(summary);
+  }
+
+  /**
+   * Writes a sampled entity. By default the entity is logged with level INFO like {@link EntityEventLogger} does.
+   *
+   * @param entity the sampled entity <i>(not null)</i>
+   * @since 0.0.1
+   */
+  protected void writeSample(Object entity) {
+    LOG.info("Entity was loaded: {}", entity);
+  }
+
+  private void formatAndWriteSummary(Map<Class<?>, Long> counts) {
+    if (counts.isEmpty()) {
+      return;
+    }
+    List<Map.Entry<Class<?>, Long>> entries = new ArrayList<>(counts.entrySet());
+    entries.sort(Map.Entry.<Class<?>, Long> comparingByValue(Comparator.reverseOrder())
+        .thenComparing(entry -> entry.getKey().getSimpleName()));
+    StringBuilder summary = new StringBuilder("Loaded ");
+    for (int i = 0; i < entries.size(); i++) {
+      if (i > 0) {
+        summary.append(", ");
+      }
+      summary.append(String.format(Locale.ENGLISH, "%,d", entries.get(i).getValue()))
+          .append(' ')
+          .append(entries.get(i).getKey().getSimpleName());
+    }
+    writeSummary(summary.toString());
+  }
+
+  private static void validateInterval(Duration interval) {
+    Validate.isTrue(!interval.isNegative() && !interval.isZero(), "The interval must be positive: %s", interval);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<Class<?>, long[]> getTransactionCounters() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return null;
+    }
+    Map<Class<?>, long[]> transactionCounters = (Map<Class<?>, long[]>) TransactionSynchronizationManager
+        .getResource(this);
+    if (transactionCounters == null) {
+      Map<Class<?>, long[]> newCounters = new HashMap<>();
+      TransactionSynchronizationManager.bindResource(this, newCounters);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+        @Override
+        public void afterCompletion(int status) {
+          TransactionSynchronizationManager.unbindResourceIfPossible(LoadedEntityAggregator.this);
+          Map<Class<?>, Long> counts = new HashMap<>();
+          newCounters.forEach((entityClass, count) -> counts.put(entityClass, count[0]));
+          formatAndWriteSummary(counts);
+        }
+      });
+      transactionCounters = newCounters;
+    }
+    return transactionCounters;
+  }
+}
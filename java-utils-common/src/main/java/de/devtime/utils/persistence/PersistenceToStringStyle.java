@@ -0,0 +1,94 @@
+package de.devtime.utils.persistence;
+
+import java.io.Serializable;
+
+import org.hibernate.Hibernate;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+
+import de.devtime.utils.logging.CustomToStringStyle;
+
+/**
+ * A {@link CustomToStringStyle} that never initializes lazy associations of entities. Uninitialized
+ * {@link HibernateProxy proxies} are rendered with the identifier of the proxy, uninitialized
+ * {@link PersistentCollection collections} with the {@link #getUninitializedText() uninitialized text}. Initialized
+ * proxies are rendered like the entity they wrap. The name of the identifier is taken from the mapping of the entity,
+ * if the proxy is not attached to a session anymore, {@code id} is used.
+ *
+ * <pre>
+ * Order[customer=Customer[id=4711], positions=&lt;uninitialized&gt;, ...]
+ * </pre>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+public class PersistenceToStringStyle extends CustomToStringStyle {
+
+  private static final long serialVersionUID = 1L;
+
+  /** Same settings as {@link CustomToStringStyle#PARAMETRIZED_STYLE}, but without loading lazy associations. */
+  public static final PersistenceToStringStyle PARAMETRIZED_STYLE = new ParametrizedPersistenceToStringStyle();
+
+  private static final String DEFAULT_IDENTIFIER_NAME = "id";
+
+  private static final class ParametrizedPersistenceToStringStyle extends PersistenceToStringStyle {
+
+    private static final long serialVersionUID = 1L;
+
+    ParametrizedPersistenceToStringStyle() {
+      applyParametrizedSettings();
+    }
+
+    private Object readResolve() {
+      return PARAMETRIZED_STYLE;
+    }
+  }
+
+  private String uninitializedText = "<uninitialized>";
+
+  public String getUninitializedText() {
+    return this.uninitializedText;
+  }
+
+  public void setUninitializedText(String uninitializedText) {
+    this.uninitializedText = uninitializedText;
+  }
+
+  @Override
+  protected String getUnloadedValueText(Object value) {
+    if (Hibernate.isInitialized(value)) {
+      return null;
+    }
+    if (value instanceof HibernateProxy proxy) {
+      LazyInitializer lazyInitializer = proxy.getHibernateLazyInitializer();
+      // the internal identifier is read without initializing the proxy
+      Serializable identifier = lazyInitializer.getInternalIdentifier();
+      return getShortClassName(lazyInitializer.getPersistentClass()) + getContentStart()
+          + getIdentifierName(lazyInitializer) + getFieldNameValueSeparator() + identifier + getContentEnd();
+    }
+    return getUninitializedText();
+  }
+
+  private static String getIdentifierName(LazyInitializer lazyInitializer) {
+    SharedSessionContractImplementor session = lazyInitializer.getSession();
+    if (session == null || session.isClosed()) {
+      return DEFAULT_IDENTIFIER_NAME;
+    }
+    String identifierName = session.getFactory()
+        .getMetamodel()
+        .entityPersister(lazyInitializer.getEntityName())
+        .getIdentifierPropertyName();
+    // entities with an embedded identifier do not have an identifier property
+    return identifierName != null ? identifierName : DEFAULT_IDENTIFIER_NAME;
+  }
+
+  @Override
+  protected Object resolveValue(Object value) {
+    if (value instanceof HibernateProxy proxy) {
+      return proxy.getHibernateLazyInitializer().getImplementation();
+    }
+    return value;
+  }
+}
@@ -0,0 +1,83 @@
+package de.devtime.utils.persistence;
+
+import java.util.UUID;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Converts a {@link UUID} attribute into a {@code BINARY(16)} column in big-endian order, which keeps the order of
+ * time-ordered UUIDs in the database.
+ *
+ * <pre>
+ * &#64;Convert(converter = UuidBinaryConverter.class)
+ * &#64;Column(name = "ORDER_ID", length = 16)
+ * private UUID orderId;
+ * </pre>
+ *
+ * <p>
+ * JPA does not apply converters to identifiers, therefore {@link AbstractUuidPersistable} maps its identifier with the
+ * binary UUID type of Hibernate, which uses the same format.
+ * </p>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+@Converter
+public class UuidBinaryConverter implements AttributeConverter<UUID, byte[]> {
+
+  private static final int UUID_LENGTH = 16;
+
+  @Override
+  public byte[] convertToDatabaseColumn(UUID attribute) {
+    return attribute == null ? null : toBytes(attribute);
+  }
+
+  @Override
+  public UUID convertToEntityAttribute(byte[] dbData) {
+    return dbData == null ? null : fromBytes(dbData);
+  }
+
+  /**
+   * Converts a UUID into 16 bytes in big-endian order.
+   *
+   * @param uuid a UUID <i>(not null)</i>
+   * @return the bytes of the UUID
+   * @since 0.0.1
+   */
+  public static byte[] toBytes(UUID uuid) {
+    byte[] bytes = new byte[UUID_LENGTH];
+    writeLong(bytes, 0, uuid.getMostSignificantBits());
+    writeLong(bytes, 8, uuid.getLeastSignificantBits());
+    return bytes;
+  }
+
+  /**
+   * Converts 16 bytes in big-endian order into a UUID.
+   *
+   * @param bytes the bytes of a UUID <i>(not null)</i>
+   * @return the UUID
+   * @throws IllegalArgumentException if the length of the array is not 16
+   * @since 0.0.1
+   */
+  public static UUID fromBytes(byte[] bytes) {
+    Validate.isTrue(bytes.length == UUID_LENGTH, "A UUID requires %d bytes, but got %d!", UUID_LENGTH, bytes.length);
+    return new UUID(readLong(bytes, 0), readLong(bytes, 8));
+  }
+
+  private static void writeLong(byte[] bytes, int offset, long value) {
+    for (int i = 0; i < 8; i++) {
+      bytes[offset + i] = (byte) (value >>> (56 - 8 * i));
+    }
+  }
+
+  private static long readLong(byte[] bytes, int offset) {
+    long value = 0L;
+    for (int i = 0; i < 8; i++) {
+      value = (value << 8) | (bytes[offset + i] & 0xFFL);
+    }
+    return value;
+  }
+}
@@ -0,0 +1,334 @@
+package de.devtime.utils.persistence.journal;
+
+import static de.devtime.utils.persistence.journal.JournalFormat.CHECKSUM_OFFSET;
+import static de.devtime.utils.persistence.journal.JournalFormat.ENTITY_CLASSES_FILE;
+import static de.devtime.utils.persistence.journal.JournalFormat.ENTITY_CLASS_ID_OFFSET;
+import static de.devtime.utils.persistence.journal.JournalFormat.EVENT_TYPE_OFFSET;
+import static de.devtime.utils.persistence.journal.JournalFormat.ID_HIGH_OFFSET;
+import static de.devtime.utils.persistence.journal.JournalFormat.ID_KIND_OFFSET;
+import static de.devtime.utils.persistence.journal.JournalFormat.ID_LOW_OFFSET;
+import static de.devtime.utils.persistence.journal.JournalFormat.INT_VIEW;
+import static de.devtime.utils.persistence.journal.JournalFormat.PAYLOAD_LENGTH_OFFSET;
+import static de.devtime.utils.persistence.journal.JournalFormat.RECORD_HEADER_SIZE;
+import static de.devtime.utils.persistence.journal.JournalFormat.RECORD_LENGTH_OFFSET;
+import static de.devtime.utils.persistence.journal.JournalFormat.SEGMENT_HEADER_SIZE;
+import static de.devtime.utils.persistence.journal.JournalFormat.SEGMENT_MAGIC;
+import static de.devtime.utils.persistence.journal.JournalFormat.TIMESTAMP_OFFSET;
+import static de.devtime.utils.persistence.journal.JournalFormat.VERSION;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+import org.apache.commons.lang3.Validate;
+
+import de.devtime.utils.persistence.EntityEventType;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only journal of entity events with fixed-layout binary records. The records are written to memory-mapped
+ * segment files of a fixed size, a new segment is started when a record does not fit into the current one. Appending a
+ * record is a plain memory copy, the operating system writes the pages back to disk. {@link #flush()} forces the
+ * current segment to the storage device.
+ *
+ * <p>
+ * A record becomes visible by writing its length last. Every record contains a checksum, so a record that was only
+ * partially written before a crash is detected. When a journal is opened, the last segment is scanned and everything
+ * after the last complete record is discarded. The same holds for a partially written name of an entity class.
+ * </p>
+ *
+ * <p>
+ * The names of the entity classes are kept in a separate text file, the records only contain the id of the class, see
+ * {@link #getEntityClassId(String)}. Use {@link AuditJournalReader} to read the records.
+ * </p>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+@Slf4j
+public final class AuditJournal implements AutoCloseable {
+
+  /** Default size of a segment file, 64 MiB. */
+  public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+  private final Path directory;
+  private final int segmentSize;
+  private final Map<String, Integer> entityClassIds = new HashMap<>();
+  private final CRC32C crc = new CRC32C();
+
+  private long segmentNumber;
+  private MappedByteBuffer segment;
+  private ByteBuffer checksumView;
+  private int position;
+  private boolean closed;
+
+  /** Number of bytes that were discarded when the journal was opened, because they did not form a complete record. */
+  @Getter
+  private long discardedBytes;
+
+  /**
+   * Opens the journal in the given directory with the default segment size. The directory is created if it does not
+   * exist. A partially written record at the end of the journal is discarded.
+   *
+   * @param directory directory of the journal <i>(not null)</i>
+   * @return the opened journal
+   * @throws IOException if the journal can not be opened
+   * @since 0.0.1
+   */
+  public static AuditJournal open(Path directory) throws IOException {
+    return open(directory, DEFAULT_SEGMENT_SIZE);
+  }
+
+  /**
+   * Opens the journal in the given directory. The directory is created if it does not exist. A partially written record
+   * at the end of the journal is discarded.
+   *
+   * @param directory directory of the journal <i>(not null)</i>
+   * @param segmentSize size of new segment files in bytes <i>(at least 4 KiB)</i>
+   * @return the opened journal
+   * @throws IOException if the journal can not be opened
+   * @since 0.0.1
+   */
+  public static AuditJournal open(Path directory, int segmentSize) throws IOException {
+    Validate.isTrue(segmentSize >= 4096, "The segment size must be at least 4096 bytes: %d", segmentSize);
+    AuditJournal journal = new AuditJournal(directory, segmentSize);
+    journal.recover();
+    return journal;
+  }
+
+  private AuditJournal(Path directory, int segmentSize) {
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+  }
+
+  /**
+   * Returns the id of an entity class that is stored in the records. The id is assigned when a class is seen for the
+   * first time and is stored in the journal directory, so it is stable across restarts.
+   *
+   * @param entityClassName fully qualified name of the entity class <i>(not blank)</i>
+   * @return id of the entity class
+   * @since 0.0.1
+   */
+  public synchronized int getEntityClassId(String entityClassName) {
+    Integer id = this.entityClassIds.get(entityClassName);
+    if (id == null) {
+      Validate.notBlank(entityClassName, "The name of the entity class must not be blank!");
+      Validate.isTrue(entityClassName.indexOf('\n') < 0, "The name of the entity class must be a single line!");
+      try {
+        Files.writeString(this.directory.resolve(ENTITY_CLASSES_FILE), entityClassName + "\n", StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Entity class " + entityClassName + " could not be registered!", e);
+      }
+      id = this.entityClassIds.size();
+      this.entityClassIds.put(entityClassName, id);
+    }
+    return id;
+  }
+
+  /**
+   * Appends a record with an identifier of {@link IdKind#UNKNOWN unknown} kind to the journal.
+   *
+   * @param type type of the event <i>(not null)</i>
+   * @param entityClassId id of the entity class, see {@link #getEntityClassId(String)}
+   * @param idHigh the high 64 bits of the identifier of the entity
+   * @param idLow the low 64 bits of the identifier of the entity
+   * @param timestamp time of the event in milliseconds since the epoch
+   * @param payload optional payload or {@code null}
+   * @throws IllegalArgumentException if the record does not fit into a segment
+   * @throws IllegalStateException if the journal is closed
+   * @since 0.0.1
+   */
+  public void append(EntityEventType type, int entityClassId, long idHigh, long idLow, long timestamp,
+      byte[] payload) {
+    append(type, entityClassId, IdKind.UNKNOWN, idHigh, idLow, timestamp, payload);
+  }
+
+  /**
+   * Appends a record to the journal.
+   *
+   * @param type type of the event <i>(not null)</i>
+   * @param entityClassId id of the entity class, see {@link #getEntityClassId(String)}
+   * @param idKind tells where the identifier is stored <i>(not null)</i>
+   * @param idHigh the high 64 bits of the identifier of the entity
+   * @param idLow the low 64 bits of the identifier of the entity
+   * @param timestamp time of the event in milliseconds since the epoch
+   * @param payload optional payload or {@code null}
+   * @throws IllegalArgumentException if the record does not fit into a segment
+   * @throws IllegalStateException if the journal is closed
+   * @since 0.0.1
+   */
+  public synchronized void append(EntityEventType type, int entityClassId, IdKind idKind, long idHigh, long idLow,
+      long timestamp, byte[] payload) {
+    Validate.validState(!this.closed, "The journal is closed!");
+    int payloadLength = payload == null ? 0 : payload.length;
+    int recordLength = JournalFormat.getRecordLength(payloadLength);
+    Validate.isTrue(recordLength > 0 && recordLength <= this.segmentSize - SEGMENT_HEADER_SIZE,
+        "The payload is too large for a segment: %d bytes", payloadLength);
+    if (recordLength > this.segment.limit() - this.position) {
+      rollSegment();
+    }
+
+    MappedByteBuffer buffer = this.segment;
+    int offset = this.position;
+    buffer.putInt(offset + PAYLOAD_LENGTH_OFFSET, payloadLength);
+    buffer.putInt(offset + ENTITY_CLASS_ID_OFFSET, entityClassId);
+    buffer.putLong(offset + ID_HIGH_OFFSET, idHigh);
+    buffer.putLong(offset + ID_LOW_OFFSET, idLow);
+    buffer.putLong(offset + TIMESTAMP_OFFSET, timestamp);
+    buffer.putInt(offset + EVENT_TYPE_OFFSET, JournalFormat.getEventTypeCode(type));
+    buffer.putInt(offset + ID_KIND_OFFSET, idKind.getCode());
+    if (payloadLength > 0) {
+      buffer.put(offset + RECORD_HEADER_SIZE, payload);
+    }
+    buffer.putInt(offset + CHECKSUM_OFFSET,
+        JournalFormat.computeChecksum(this.checksumView, offset, payloadLength, this.crc));
+    INT_VIEW.setRelease(buffer, offset + RECORD_LENGTH_OFFSET, recordLength);
+    this.position = offset + recordLength;
+  }
+
+  /**
+   * Forces all appended records of the current segment to the storage device.
+   *
+   * @since 0.0.1
+   */
+  public synchronized void flush() {
+    if (!this.closed) {
+      this.segment.force();
+    }
+  }
+
+  /**
+   * Flushes and closes the journal. The mapped memory is released by the garbage collector.
+   *
+   * @since 0.0.1
+   */
+  @Override
+  public synchronized void close() {
+    flush();
+    this.closed = true;
+  }
+
+  private void recover() throws IOException {
+    Files.createDirectories(this.directory);
+    Path classesFile = this.directory.resolve(ENTITY_CLASSES_FILE);
+    if (Files.exists(classesFile)) {
+      truncateTornEntityClassName(classesFile);
+      List<String> names = Files.readAllLines(classesFile, StandardCharsets.UTF_8);
+      for (String name : names) {
+        this.entityClassIds.put(name, this.entityClassIds.size());
+      }
+    }
+
+    List<Path> segments = JournalFormat.listSegments(this.directory);
+    if (segments.isEmpty()) {
+      openSegment(1);
+      return;
+    }
+    Path lastSegment = segments.get(segments.size() - 1);
+    this.segmentNumber = JournalFormat.getSegmentNumber(lastSegment);
+    long size = Files.size(lastSegment);
+    this.segment = map(lastSegment, size < SEGMENT_HEADER_SIZE ? this.segmentSize : (int) size);
+    this.checksumView = this.segment.duplicate();
+    if (this.segment.getLong(0) == SEGMENT_MAGIC && this.segment.getInt(8) != VERSION) {
+      throw new IOException("Unsupported version " + this.segment.getInt(8) + " of " + lastSegment);
+    }
+    if (this.segment.getLong(0) != SEGMENT_MAGIC) {
+      // the segment was created, but its header was not written
+      writeSegmentHeader();
+      this.discardedBytes = clearFrom(SEGMENT_HEADER_SIZE);
+      return;
+    }
+    int offset = SEGMENT_HEADER_SIZE;
+    int recordLength;
+    while ((recordLength = JournalFormat.readValidRecordLength(this.segment, offset, this.checksumView,
+        this.crc)) > 0) {
+      offset += recordLength;
+    }
+    this.position = offset;
+    this.discardedBytes = clearFrom(offset);
+    if (this.discardedBytes > 0) {
+      LOG.warn("Discarded {} bytes of a partially written record at the end of {}.", this.discardedBytes, lastSegment);
+    }
+  }
+
+  /**
+   * Removes a name that was not completely written before a crash, so that the next name starts on a new line and the
+   * ids of the writer and the readers match.
+   */
+  private static void truncateTornEntityClassName(Path classesFile) throws IOException {
+    byte[] content = Files.readAllBytes(classesFile);
+    int end = content.length;
+    while (end > 0 && content[end - 1] != '\n') {
+      end--;
+    }
+    if (end < content.length) {
+      try (FileChannel channel = FileChannel.open(classesFile, StandardOpenOption.WRITE)) {
+        channel.truncate(end);
+        channel.force(true);
+      }
+      LOG.warn("Discarded a partially written entity class name at the end of {}.", classesFile);
+    }
+  }
+
+  private long clearFrom(int offset) {
+    int end = this.segment.limit();
+    int clearEnd = offset;
+    int i = offset;
+    for (; i + Long.BYTES <= end; i += Long.BYTES) {
+      if (this.segment.getLong(i) != 0) {
+        clearEnd = i + Long.BYTES;
+      }
+    }
+    for (; i < end; i++) {
+      if (this.segment.get(i) != 0) {
+        clearEnd = i + 1;
+      }
+    }
+    for (int j = offset; j < clearEnd; j++) {
+      this.segment.put(j, (byte) 0);
+    }
+    return (long) clearEnd - offset;
+  }
+
+  private void rollSegment() {
+    this.segment.force();
+    try {
+      openSegment(this.segmentNumber + 1);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Segment " + (this.segmentNumber + 1) + " could not be created!", e);
+    }
+  }
+
+  private void openSegment(long number) throws IOException {
+    this.segmentNumber = number;
+    this.segment = map(this.directory.resolve(JournalFormat.getSegmentName(number)), this.segmentSize);
+    this.checksumView = this.segment.duplicate();
+    writeSegmentHeader();
+  }
+
+  private void writeSegmentHeader() {
+    this.segment.putInt(8, VERSION);
+    this.segment.putLong(0, SEGMENT_MAGIC);
+    this.position = SEGMENT_HEADER_SIZE;
+  }
+
+  private static MappedByteBuffer map(Path file, int size) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      return channel.map(MapMode.READ_WRITE, 0, size);
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package de.devtime.utils.persistence.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32C;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads the records of an {@link AuditJournal} for replay and forensics. The segments are mapped into memory and
+ * scanned sequentially, the records are passed to the consumer as a reused {@link AuditRecord} view, so reading does
+ * not allocate per record. Every record is verified by its checksum, a segment is read up to the first record that is
+ * not complete.
+ *
+ * <p>
+ * The reader can be used while the journal is written, records that are appended concurrently may or may not be read.
+ * Entity classes that are registered while the journal is read are resolved by reading the names again.
+ * </p>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+@Slf4j
+public final class AuditJournalReader {
+
+  private final Path directory;
+
+  /**
+   * Creates a reader for the journal in the given directory.
+   *
+   * @param directory directory of the journal <i>(not null)</i>
+   * @since 0.0.1
+   */
+  public AuditJournalReader(Path directory) {
+    this.directory = directory;
+  }
+
+  /**
+   * Returns the names of the registered entity classes, the index of a name is the id of the class. A name that is
+   * registered concurrently is only returned when it was written completely.
+   *
+   * @return names of the entity classes
+   * @throws IOException if the names can not be read
+   * @since 0.0.1
+   */
+  public List<String> getEntityClassNames() throws IOException {
+    Path classesFile = this.directory.resolve(JournalFormat.ENTITY_CLASSES_FILE);
+    if (!Files.exists(classesFile)) {
+      return Collections.emptyList();
+    }
+    String names = Files.readString(classesFile, StandardCharsets.UTF_8);
+    return names.substring(0, names.lastIndexOf('\n') + 1).lines().collect(Collectors.toUnmodifiableList());
+  }
+
+  /**
+   * Passes all records of the journal in the order they were appended to the consumer.
+   *
+   * @param consumer consumer of the records, the passed view is only valid during the call <i>(not null)</i>
+   * @return number of read records
+   * @throws IOException if a segment can not be read
+   * @since 0.0.1
+   */
+  public long read(Consumer<AuditRecord> consumer) throws IOException {
+    AuditRecord record = new AuditRecord(getEntityClassNames(), this::readEntityClassNames);
+    CRC32C crc = new CRC32C();
+    long count = 0;
+    for (Path segmentFile : JournalFormat.listSegments(this.directory)) {
+      MappedByteBuffer segment = map(segmentFile);
+      if (segment.limit() < JournalFormat.SEGMENT_HEADER_SIZE || segment.getLong(0) != JournalFormat.SEGMENT_MAGIC) {
+        LOG.warn("{} is not a journal segment and is skipped.", segmentFile);
+        continue;
+      }
+      count += readSegment(segment, record, crc, consumer);
+    }
+    return count;
+  }
+
+  private List<String> readEntityClassNames() {
+    try {
+      return getEntityClassNames();
+    } catch (IOException e) {
+      throw new UncheckedIOException("The entity classes of " + this.directory + " could not be read!", e);
+    }
+  }
+
+  private static long readSegment(MappedByteBuffer segment, AuditRecord record, CRC32C crc,
+      Consumer<AuditRecord> consumer) {
+    MappedByteBuffer checksumView = segment.duplicate();
+    long count = 0;
+    int offset = JournalFormat.SEGMENT_HEADER_SIZE;
+    int recordLength;
+    while ((recordLength = JournalFormat.readValidRecordLength(segment, offset, checksumView, crc)) > 0) {
+      record.wrap(segment, offset);
+      consumer.accept(record);
+      offset += recordLength;
+      count++;
+    }
+    return count;
+  }
+
+  private static MappedByteBuffer map(Path segmentFile) throws IOException {
+    try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ)) {
+      return channel.map(MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+}
@@ -0,0 +1,181 @@
+package de.devtime.utils.persistence.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import de.devtime.utils.persistence.EntityEventType;
+
+/**
+ * View of a record of an {@link AuditJournal}. The {@link AuditJournalReader} reuses one instance for all records, so
+ * the values must be read or copied while the record is passed to the consumer.
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+public final class AuditRecord {
+
+  private final Supplier<List<String>> entityClassNamesLoader;
+  private List<String> entityClassNames;
+  private ByteBuffer buffer;
+  private int offset;
+
+  AuditRecord(List<String> entityClassNames, Supplier<List<String>> entityClassNamesLoader) {
+    this.entityClassNames = entityClassNames;
+    this.entityClassNamesLoader = entityClassNamesLoader;
+  }
+
+  void wrap(ByteBuffer segment, int recordOffset) {
+    this.buffer = segment;
+    this.offset = recordOffset;
+  }
+
+  /**
+   * Returns the type of the event.
+   *
+   * @return the event type or {@code null} if the type is unknown to this version
+   * @since 0.0.1
+   */
+  public EntityEventType getEventType() {
+    return JournalFormat.getEventType(this.buffer.getInt(this.offset + JournalFormat.EVENT_TYPE_OFFSET));
+  }
+
+  /**
+   * Returns the kind of the identifier, which tells where the identifier is stored.
+   *
+   * @return the kind or {@code null} if the kind is unknown to this version
+   * @since 0.0.1
+   */
+  public IdKind getIdKind() {
+    return IdKind.ofCode(this.buffer.getInt(this.offset + JournalFormat.ID_KIND_OFFSET));
+  }
+
+  /**
+   * Returns the identifier of the entity as string according to its {@link #getIdKind() kind}.
+   *
+   * @return the identifier or {@code null} if the entity has no identifier or its kind is not known
+   * @since 0.0.1
+   */
+  public String getIdAsString() {
+    IdKind kind = getIdKind();
+    if (kind == null) {
+      return null;
+    }
+    switch (kind) {
+      case UUID:
+        return getId().toString();
+      case NUMBER:
+        return Long.toString(getIdLow());
+      case PAYLOAD:
+        return getPayloadAsString();
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Returns the id of the entity class.
+   *
+   * @return id of the entity class
+   * @since 0.0.1
+   */
+  public int getEntityClassId() {
+    return this.buffer.getInt(this.offset + JournalFormat.ENTITY_CLASS_ID_OFFSET);
+  }
+
+  /**
+   * Returns the name of the entity class. If the id is not known yet, the class was registered after the names were
+   * read, so the names are read again.
+   *
+   * @return fully qualified name of the entity class or {@code null} if the id is not registered
+   * @since 0.0.1
+   */
+  public String getEntityClassName() {
+    int id = getEntityClassId();
+    if (id >= this.entityClassNames.size()) {
+      this.entityClassNames = this.entityClassNamesLoader.get();
+    }
+    return id >= 0 && id < this.entityClassNames.size() ? this.entityClassNames.get(id) : null;
+  }
+
+  /**
+   * Returns the high 64 bits of the identifier of the entity.
+   *
+   * @return high bits of the identifier
+   * @since 0.0.1
+   */
+  public long getIdHigh() {
+    return this.buffer.getLong(this.offset + JournalFormat.ID_HIGH_OFFSET);
+  }
+
+  /**
+   * Returns the low 64 bits of the identifier of the entity.
+   *
+   * @return low bits of the identifier
+   * @since 0.0.1
+   */
+  public long getIdLow() {
+    return this.buffer.getLong(this.offset + JournalFormat.ID_LOW_OFFSET);
+  }
+
+  /**
+   * Returns the identifier of the entity as UUID.
+   *
+   * @return the identifier
+   * @since 0.0.1
+   */
+  public UUID getId() {
+    return new UUID(getIdHigh(), getIdLow());
+  }
+
+  /**
+   * Returns the time of the event.
+   *
+   * @return milliseconds since the epoch
+   * @since 0.0.1
+   */
+  public long getTimestamp() {
+    return this.buffer.getLong(this.offset + JournalFormat.TIMESTAMP_OFFSET);
+  }
+
+  /**
+   * Returns the length of the payload.
+   *
+   * @return number of bytes of the payload, 0 if the record has no payload
+   * @since 0.0.1
+   */
+  public int getPayloadLength() {
+    return this.buffer.getInt(this.offset + JournalFormat.PAYLOAD_LENGTH_OFFSET);
+  }
+
+  /**
+   * Returns a copy of the payload.
+   *
+   * @return the payload, an empty array if the record has no payload
+   * @since 0.0.1
+   */
+  public byte[] getPayload() {
+    byte[] payload = new byte[getPayloadLength()];
+    this.buffer.get(this.offset + JournalFormat.RECORD_HEADER_SIZE, payload);
+    return payload;
+  }
+
+  /**
+   * Returns the payload decoded as UTF-8.
+   *
+   * @return the payload as string, an empty string if the record has no payload
+   * @since 0.0.1
+   */
+  public String getPayloadAsString() {
+    return new String(getPayload(), StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public String toString() {
+    Object id = getIdKind() == IdKind.UNKNOWN ? getId() : getIdAsString();
+    return "AuditRecord[eventType=" + getEventType() + ", entityClass=" + getEntityClassName() + ", id=" + id
+        + ", timestamp=" + getTimestamp() + ", payloadLength=" + getPayloadLength() + "]";
+  }
+}
@@ -0,0 +1,46 @@
+package de.devtime.utils.persistence.journal;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Kind of the entity identifier that is stored in a record of an {@link AuditJournal}. The kind is stored with an
+ * explicit code, so that a reader knows which part of the record contains the identifier.
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+@AllArgsConstructor
+public enum IdKind {
+
+  /** The kind was not given when the record was appended, the identifier fields contain the values of the caller. */
+  UNKNOWN(0),
+
+  /** The entity has no identifier. */
+  NONE(1),
+
+  /** The identifier is a UUID that is stored in the high and low 64 bits. */
+  UUID(2),
+
+  /** The identifier is a number that is stored in the low 64 bits. */
+  NUMBER(3),
+
+  /** The identifier is stored as UTF-8 payload. */
+  PAYLOAD(4);
+
+  @Getter(AccessLevel.PACKAGE)
+  private final int code;
+
+  /**
+   * Returns the kind of a stored code or {@code null} if the code is unknown to this version.
+   */
+  static IdKind ofCode(int code) {
+    for (IdKind kind : values()) {
+      if (kind.code == code) {
+        return kind;
+      }
+    }
+    return null;
+  }
+}
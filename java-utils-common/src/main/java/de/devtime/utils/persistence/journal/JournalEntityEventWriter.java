@@ -0,0 +1,107 @@
+package de.devtime.utils.persistence.journal;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import de.devtime.utils.persistence.BackpressurePolicy;
+import de.devtime.utils.persistence.EntityEvent;
+import de.devtime.utils.persistence.EntityEventWriter;
+
+/**
+ * Writes {@link EntityEvent entity events} to an {@link AuditJournal} instead of the log. Identifiers that are UUIDs
+ * or UUID strings are stored in the 128 bits of the record, numbers and their decimal strings, e.g. identifiers of a
+ * {@link de.devtime.utils.id.BlockIdGenerator} wrapped by {@link de.devtime.utils.id.IdGenerators#asString}, in the
+ * low 64 bits. Any other identifier is stored as UTF-8 payload. The {@link IdKind} of each record tells where the
+ * identifier is stored.
+ *
+ * <pre>
+ * AsyncEntityEventLogger.setWriter(new JournalEntityEventWriter(AuditJournal.open(directory),
+ *     EntityEventWriter.DEFAULT_CAPACITY, BackpressurePolicy.BLOCK));
+ * </pre>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+public class JournalEntityEventWriter extends EntityEventWriter {
+
+  private static final int UUID_STRING_LENGTH = 36;
+  private static final int MAX_LONG_STRING_LENGTH = 20;
+
+  private final AuditJournal journal;
+
+  /**
+   * Creates a writer and starts its worker.
+   *
+   * @param journal the journal that receives the events <i>(not null)</i>
+   * @param capacity capacity of the queue <i>(greater than 0)</i>
+   * @param policy behaviour if the queue is full <i>(not null)</i>
+   * @since 0.0.1
+   */
+  public JournalEntityEventWriter(AuditJournal journal, int capacity, BackpressurePolicy policy) {
+    super(capacity, policy);
+    this.journal = journal;
+  }
+
+  /**
+   * Writes all queued events and closes the journal.
+   *
+   * @since 0.0.1
+   */
+  @Override
+  public void close() {
+    super.close();
+    this.journal.close();
+  }
+
+  @Override
+  protected void write(List<EntityEvent> events) {
+    for (EntityEvent event : events) {
+      int entityClassId = this.journal.getEntityClassId(event.entityClass().getName());
+      Object id = event.id();
+      UUID uuid = toUuid(id);
+      Long number = uuid == null ? toNumber(id) : null;
+      if (uuid != null) {
+        this.journal.append(event.type(), entityClassId, IdKind.UUID, uuid.getMostSignificantBits(),
+            uuid.getLeastSignificantBits(), event.timestamp(), null);
+      } else if (number != null) {
+        this.journal.append(event.type(), entityClassId, IdKind.NUMBER, 0L, number, event.timestamp(), null);
+      } else if (id == null) {
+        this.journal.append(event.type(), entityClassId, IdKind.NONE, 0L, 0L, event.timestamp(), null);
+      } else {
+        this.journal.append(event.type(), entityClassId, IdKind.PAYLOAD, 0L, 0L, event.timestamp(),
+            id.toString().getBytes(StandardCharsets.UTF_8));
+      }
+    }
+  }
+
+  private static UUID toUuid(Object id) {
+    if (id instanceof UUID uuid) {
+      return uuid;
+    }
+    if (id instanceof String text && text.length() == UUID_STRING_LENGTH) {
+      try {
+        return UUID.fromString(text);
+      } catch (IllegalArgumentException e) {
+        return null;
+      }
+    }
+    return null;
+  }
+
+  private static Long toNumber(Object id) {
+    if (id instanceof Long || id instanceof Integer || id instanceof Short) {
+      return ((Number) id).longValue();
+    }
+    if (id instanceof String text && !text.isEmpty() && text.length() <= MAX_LONG_STRING_LENGTH) {
+      try {
+        long number = Long.parseLong(text);
+        // only the canonical form can be restored, e.g. not "+1" or "007"
+        return Long.toString(number).equals(text) ? number : null;
+      } catch (NumberFormatException e) {
+        return null;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,163 @@
+package de.devtime.utils.persistence.journal;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import de.devtime.utils.persistence.EntityEventType;
+
+/**
+ * Binary layout of the audit journal. A journal is a directory of segment files and a file with the names of the
+ * entity classes. Every segment starts with a header followed by records, the unused rest of a segment is zero.
+ *
+ * <pre>
+ * segment header (16 bytes)           record (48 bytes + payload, aligned to 8 bytes)
+ *  0 long magic                         0 int  record length (written last, 0 marks the end)
+ *  8 int  version                       4 int  CRC32C of the bytes from offset 8 to the end of the payload
+ * 12 int  reserved                      8 int  payload length
+ *                                      12 int  entity class id
+ *                                      16 long high bits of the identifier
+ *                                      24 long low bits of the identifier
+ *                                      32 long timestamp in milliseconds since the epoch
+ *                                      40 int  event type code
+ *                                      44 int  identifier kind code
+ *                                      48 payload
+ * </pre>
+ *
+ * <p>
+ * The event types are stored with the explicit codes of {@link #getEventTypeCode(EntityEventType)}, so that the order
+ * of the constants of {@link EntityEventType} can be changed without breaking existing journals. The same holds for the
+ * codes of {@link IdKind}, which tell a reader whether the identifier is stored in the 128 bits or as payload.
+ * </p>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+final class JournalFormat {
+
+  static final long SEGMENT_MAGIC = 0x44544A524E4C3031L;
+  static final int VERSION = 1;
+  static final int SEGMENT_HEADER_SIZE = 16;
+
+  static final int RECORD_LENGTH_OFFSET = 0;
+  static final int CHECKSUM_OFFSET = 4;
+  static final int PAYLOAD_LENGTH_OFFSET = 8;
+  static final int ENTITY_CLASS_ID_OFFSET = 12;
+  static final int ID_HIGH_OFFSET = 16;
+  static final int ID_LOW_OFFSET = 24;
+  static final int TIMESTAMP_OFFSET = 32;
+  static final int EVENT_TYPE_OFFSET = 40;
+  static final int ID_KIND_OFFSET = 44;
+  static final int RECORD_HEADER_SIZE = 48;
+  static final int RECORD_ALIGNMENT = 8;
+
+  static final String SEGMENT_SUFFIX = ".journal";
+  static final String ENTITY_CLASSES_FILE = "entity-classes.txt";
+
+  /** Reads and writes the record length with memory ordering, so that a record is visible only when it is complete. */
+  static final VarHandle INT_VIEW = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+  static final int EVENT_TYPE_CREATED = 0;
+  static final int EVENT_TYPE_UPDATED = 1;
+  static final int EVENT_TYPE_REMOVED = 2;
+  static final int EVENT_TYPE_LOADED = 3;
+
+  /**
+   * Returns the code that is stored for the event type. The codes must never change.
+   */
+  static int getEventTypeCode(EntityEventType type) {
+    switch (type) {
+      case CREATED:
+        return EVENT_TYPE_CREATED;
+      case UPDATED:
+        return EVENT_TYPE_UPDATED;
+      case REMOVED:
+        return EVENT_TYPE_REMOVED;
+      case LOADED:
+        return EVENT_TYPE_LOADED;
+      default:
+        throw new IllegalArgumentException("No code is defined for the event type " + type);
+    }
+  }
+
+  /**
+   * Returns the event type of a stored code or {@code null} if the code is unknown to this version.
+   */
+  static EntityEventType getEventType(int code) {
+    switch (code) {
+      case EVENT_TYPE_CREATED:
+        return EntityEventType.CREATED;
+      case EVENT_TYPE_UPDATED:
+        return EntityEventType.UPDATED;
+      case EVENT_TYPE_REMOVED:
+        return EntityEventType.REMOVED;
+      case EVENT_TYPE_LOADED:
+        return EntityEventType.LOADED;
+      default:
+        return null;
+    }
+  }
+
+  static int getRecordLength(int payloadLength) {
+    return (RECORD_HEADER_SIZE + payloadLength + RECORD_ALIGNMENT - 1) & -RECORD_ALIGNMENT;
+  }
+
+  static String getSegmentName(long segmentNumber) {
+    return String.format("%016d%s", segmentNumber, SEGMENT_SUFFIX);
+  }
+
+  static long getSegmentNumber(Path segment) {
+    String name = segment.getFileName().toString();
+    return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+  }
+
+  static List<Path> listSegments(Path directory) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(file -> file.getFileName().toString().matches("\\d{16}\\" + SEGMENT_SUFFIX))
+          .sorted()
+          .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Checks the record at the given offset.
+   *
+   * @param buffer the segment
+   * @param offset offset of the record
+   * @param checksumView a duplicate of the segment that is used to compute the checksum
+   * @param crc a reusable checksum
+   * @return the length of the record or 0 if there is no complete record at the offset
+   */
+  static int readValidRecordLength(ByteBuffer buffer, int offset, ByteBuffer checksumView, CRC32C crc) {
+    if (buffer.limit() - offset < RECORD_HEADER_SIZE) {
+      return 0;
+    }
+    int recordLength = (int) INT_VIEW.getAcquire(buffer, offset + RECORD_LENGTH_OFFSET);
+    int payloadLength = buffer.getInt(offset + PAYLOAD_LENGTH_OFFSET);
+    if (recordLength < RECORD_HEADER_SIZE || recordLength > buffer.limit() - offset || payloadLength < 0
+        || recordLength != getRecordLength(payloadLength)) {
+      return 0;
+    }
+    int checksum = computeChecksum(checksumView, offset, payloadLength, crc);
+    return checksum == buffer.getInt(offset + CHECKSUM_OFFSET) ? recordLength : 0;
+  }
+
+  static int computeChecksum(ByteBuffer checksumView, int offset, int payloadLength, CRC32C crc) {
+    checksumView.limit(offset + RECORD_HEADER_SIZE + payloadLength).position(offset + PAYLOAD_LENGTH_OFFSET);
+    crc.reset();
+    crc.update(checksumView);
+    return (int) crc.getValue();
+  }
+
+  private JournalFormat() {
+    // private utility class constructor
+  }
+}
@@ -2,9 +2,14 @@ package de.devtime.test.utils;
 
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import de.devtime.utils.BitUtil;
@@ -77,4 +82,54 @@ class BitUtilTest {
     long actual = BitUtil.setAllBits();
     assertThat(actual, is(equalTo(expected)));
   }
+
+  @Test
+  void test_if_unchecked_variants_match_checked_variants() {
+    for (int position = 0; position < 64; position++) {
+      assertThat(BitUtil.setLongBitUnchecked(position), is(equalTo(BitUtil.setLongBit(position))));
+      assertThat(BitUtil.removeLongBitUnchecked(ALL_BITS_ONE, position),
+          is(equalTo(BitUtil.removeLongBit(ALL_BITS_ONE, position))));
+      assertThat(BitUtil.isLongBitSetUnchecked(0b1010, position), is(position == 1 || position == 3));
+    }
+  }
+
+  @Test
+  void test_if_forEachSetBit_visits_set_bits_of_long_in_ascending_order() {
+    List<Integer> positions = new ArrayList<>();
+    BitUtil.forEachSetBit(Long.MIN_VALUE | 0b1001L, positions::add);
+    assertThat(positions, contains(0, 3, 63));
+
+    positions.clear();
+    BitUtil.forEachSetBit(0L, positions::add);
+    assertThat(positions, is(empty()));
+  }
+
+  @Test
+  void test_if_forEachSetBit_visits_set_bits_of_array_in_ascending_order() {
+    List<Long> positions = new ArrayList<>();
+    BitUtil.forEachSetBit(new long[] { 0b10L, 0L, Long.MIN_VALUE | 1L }, positions::add);
+    assertThat(positions, contains(1L, 128L, 191L));
+  }
+
+  @Test
+  void test_if_nextSetBit_iterates_set_bits_of_long() {
+    long value = Long.MIN_VALUE | 0b1010L;
+    assertThat(BitUtil.nextSetBit(value, 0), is(1));
+    assertThat(BitUtil.nextSetBit(value, 2), is(3));
+    assertThat(BitUtil.nextSetBit(value, 4), is(63));
+    assertThat(BitUtil.nextSetBit(value, 64), is(-1));
+    assertThat(BitUtil.nextSetBit(0b1010L, 4), is(-1));
+    assertThrows(IllegalArgumentException.class, () -> BitUtil.nextSetBit(value, -1));
+  }
+
+  @Test
+  void test_if_nextSetBit_iterates_set_bits_of_array() {
+    long[] words = { 0b10L, 0L, Long.MIN_VALUE | 1L };
+    assertThat(BitUtil.nextSetBit(words, 0), is(1L));
+    assertThat(BitUtil.nextSetBit(words, 2), is(128L));
+    assertThat(BitUtil.nextSetBit(words, 129), is(191L));
+    assertThat(BitUtil.nextSetBit(words, 192), is(-1L));
+    assertThat(BitUtil.nextSetBit(new long[0], 0), is(-1L));
+    assertThrows(IllegalArgumentException.class, () -> BitUtil.nextSetBit(words, -1));
+  }
 }
\ No newline at end of file
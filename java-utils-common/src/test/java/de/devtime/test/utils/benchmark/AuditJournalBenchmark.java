@@ -0,0 +1,95 @@
+package de.devtime.test.utils.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import de.devtime.utils.persistence.EntityEventType;
+import de.devtime.utils.persistence.journal.AuditJournal;
+import de.devtime.utils.persistence.journal.AuditJournalReader;
+
+/**
+ * Measures appending records to an {@link AuditJournal} and scanning a journal of one million records with the
+ * {@link AuditJournalReader}. The results are given per record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditJournalBenchmark {
+
+  private static final int RECORD_COUNT = 1_000_000;
+
+  private Path readDirectory;
+  private Path appendDirectory;
+  private AuditJournal appendJournal;
+  private AuditJournalReader reader;
+  private long counter;
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(AuditJournalBenchmark.class.getSimpleName()).build()).run();
+  }
+
+  @Setup
+  public void setup() throws IOException {
+    this.readDirectory = Files.createTempDirectory("journal-read");
+    try (AuditJournal journal = AuditJournal.open(this.readDirectory)) {
+      int classId = journal.getEntityClassId("de.devtime.Order");
+      for (int i = 0; i < RECORD_COUNT; i++) {
+        journal.append(EntityEventType.LOADED, classId, i, i, i, null);
+      }
+    }
+    this.reader = new AuditJournalReader(this.readDirectory);
+    this.appendDirectory = Files.createTempDirectory("journal-append");
+    this.appendJournal = AuditJournal.open(this.appendDirectory);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    this.appendJournal.close();
+    deleteDirectory(this.readDirectory);
+    deleteDirectory(this.appendDirectory);
+  }
+
+  @Benchmark
+  public void append() {
+    long value = this.counter++;
+    this.appendJournal.append(EntityEventType.UPDATED, 0, value, value, value, null);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORD_COUNT)
+  public long scan(Blackhole blackhole) throws IOException {
+    return this.reader.read(record -> blackhole.consume(record.getIdLow()));
+  }
+
+  private static void deleteDirectory(Path directory) throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+        Files.delete(file);
+      }
+    }
+  }
+}
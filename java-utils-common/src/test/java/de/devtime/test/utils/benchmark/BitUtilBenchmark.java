@@ -0,0 +1,82 @@
+package de.devtime.test.utils.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import de.devtime.utils.BitUtil;
+
+/**
+ * Compares ways to enumerate the set bits of 1024 sparse masks: testing all 64 positions with the validating
+ * {@link BitUtil#setLongBit(int)}, the callback {@link BitUtil#forEachSetBit(long, java.util.function.IntConsumer)}
+ * and the cursor {@link BitUtil#nextSetBit(long, int)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BitUtilBenchmark {
+
+  private final long[] masks = new long[1024];
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(BitUtilBenchmark.class.getSimpleName()).build()).run();
+  }
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    for (int i = 0; i < this.masks.length; i++) {
+      this.masks[i] = random.nextLong() & random.nextLong() & random.nextLong();
+    }
+  }
+
+  @Benchmark
+  public void loopOverAllPositions(Blackhole blackhole) {
+    for (long mask : this.masks) {
+      for (int position = 0; position < 64; position++) {
+        if ((mask & BitUtil.setLongBit(position)) != 0) {
+          blackhole.consume(position);
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  public void forEachSetBit(Blackhole blackhole) {
+    for (long mask : this.masks) {
+      BitUtil.forEachSetBit(mask, blackhole::consume);
+    }
+  }
+
+  @Benchmark
+  public void nextSetBitCursor(Blackhole blackhole) {
+    for (long mask : this.masks) {
+      for (int position = BitUtil.nextSetBit(mask, 0); position >= 0; position = BitUtil.nextSetBit(mask,
+          position + 1)) {
+        blackhole.consume(position);
+      }
+    }
+  }
+
+  @Benchmark
+  public void forEachSetBitOfArray(Blackhole blackhole) {
+    BitUtil.forEachSetBit(this.masks, blackhole::consume);
+  }
+}
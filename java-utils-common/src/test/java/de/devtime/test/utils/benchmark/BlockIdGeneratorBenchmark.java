@@ -0,0 +1,71 @@
+package de.devtime.test.utils.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import de.devtime.utils.id.BlockIdGenerator;
+import de.devtime.utils.id.IdGenerators;
+
+/**
+ * Measures the throughput of 32 threads that create identifiers with a {@link BlockIdGenerator}. The block source
+ * simulates a database sequence with a latency of one millisecond, which is hidden by the prefetching as long as a
+ * block lasts longer than the latency.
+ * {@code timeOrderedUuid} is given for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockIdGeneratorBenchmark {
+
+  private BlockIdGenerator generator;
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(BlockIdGeneratorBenchmark.class.getSimpleName()).build()).run();
+  }
+
+  @Setup
+  public void setup() {
+    AtomicLong sequence = new AtomicLong(1);
+    this.generator = new BlockIdGenerator(() -> {
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+      return sequence.getAndIncrement();
+    }, 100_000, 64);
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.generator.close();
+  }
+
+  @Benchmark
+  @Threads(32)
+  public Long blockId() {
+    return this.generator.nextId();
+  }
+
+  @Benchmark
+  @Threads(32)
+  public Object timeOrderedUuid() {
+    return IdGenerators.timeOrderedUuid().nextId();
+  }
+}
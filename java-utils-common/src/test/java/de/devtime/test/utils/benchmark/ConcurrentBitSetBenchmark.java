@@ -0,0 +1,86 @@
+package de.devtime.test.utils.benchmark;
+
+import java.util.BitSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import de.devtime.utils.bitmap.ConcurrentBitSet;
+
+/**
+ * Measures the throughput of 8 threads that set and clear random bits of a small bitset, so most updates hit the same
+ * few words, and of claiming and releasing slots. A {@link BitSet} guarded by {@code synchronized} is given for
+ * comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class ConcurrentBitSetBenchmark {
+
+  private static final int SIZE = 256;
+
+  private final ConcurrentBitSet concurrentBitSet = new ConcurrentBitSet(SIZE);
+  private final BitSet bitSet = new BitSet(SIZE);
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(ConcurrentBitSetBenchmark.class.getSimpleName()).build()).run();
+  }
+
+  @Benchmark
+  public boolean concurrentSetClear() {
+    int position = ThreadLocalRandom.current().nextInt(SIZE);
+    return this.concurrentBitSet.testAndSet(position) && this.concurrentBitSet.testAndClear(position);
+  }
+
+  @Benchmark
+  public boolean synchronizedSetClear() {
+    int position = ThreadLocalRandom.current().nextInt(SIZE);
+    synchronized (this.bitSet) {
+      boolean previous = this.bitSet.get(position);
+      this.bitSet.set(position);
+      if (previous) {
+        this.bitSet.clear(position);
+      }
+      return previous;
+    }
+  }
+
+  @Benchmark
+  public int concurrentClaimRelease() {
+    int slot = this.concurrentBitSet.claimFirstFreeBit();
+    if (slot >= 0) {
+      this.concurrentBitSet.clear(slot);
+    }
+    return slot;
+  }
+
+  @Benchmark
+  public int synchronizedClaimRelease() {
+    int slot;
+    synchronized (this.bitSet) {
+      slot = this.bitSet.nextClearBit(0);
+      this.bitSet.set(slot);
+    }
+    synchronized (this.bitSet) {
+      this.bitSet.clear(slot);
+    }
+    return slot;
+  }
+}
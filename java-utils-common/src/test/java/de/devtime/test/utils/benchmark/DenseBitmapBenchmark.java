@@ -0,0 +1,124 @@
+package de.devtime.test.utils.benchmark;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import de.devtime.utils.bitmap.DenseBitmap;
+
+/**
+ * Compares the bulk operations of {@link DenseBitmap} with {@link BitSet} for half filled bitmaps. {@code BitSet} has
+ * to track the number of words in use after every operation, {@code DenseBitmap} always works on all words.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DenseBitmapBenchmark {
+
+  @Param({"1000000", "16000000"})
+  private int size;
+
+  private DenseBitmap denseLeft;
+  private DenseBitmap denseRight;
+  private BitSet bitSetLeft;
+  private BitSet bitSetRight;
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(DenseBitmapBenchmark.class.getSimpleName()).build()).run();
+  }
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    this.denseLeft = new DenseBitmap(this.size);
+    this.denseRight = new DenseBitmap(this.size);
+    this.bitSetLeft = new BitSet(this.size);
+    this.bitSetRight = new BitSet(this.size);
+    for (int i = 0; i < this.size; i++) {
+      if (random.nextBoolean()) {
+        this.denseLeft.set(i);
+        this.bitSetLeft.set(i);
+      }
+      if (random.nextBoolean()) {
+        this.denseRight.set(i);
+        this.bitSetRight.set(i);
+      }
+    }
+  }
+
+  @Benchmark
+  public DenseBitmap denseOr() {
+    this.denseLeft.or(this.denseRight);
+    return this.denseLeft;
+  }
+
+  @Benchmark
+  public BitSet bitSetOr() {
+    this.bitSetLeft.or(this.bitSetRight);
+    return this.bitSetLeft;
+  }
+
+  @Benchmark
+  public DenseBitmap denseXor() {
+    this.denseLeft.xor(this.denseRight);
+    return this.denseLeft;
+  }
+
+  @Benchmark
+  public BitSet bitSetXor() {
+    this.bitSetLeft.xor(this.bitSetRight);
+    return this.bitSetLeft;
+  }
+
+  @Benchmark
+  public int denseAndCardinality() {
+    return this.denseLeft.andCardinality(this.denseRight);
+  }
+
+  @Benchmark
+  public int bitSetAndCardinality() {
+    BitSet and = (BitSet) this.bitSetLeft.clone();
+    and.and(this.bitSetRight);
+    return and.cardinality();
+  }
+
+  @Benchmark
+  public int denseCardinality() {
+    return this.denseLeft.cardinality();
+  }
+
+  @Benchmark
+  public int bitSetCardinality() {
+    return this.bitSetLeft.cardinality();
+  }
+
+  @Benchmark
+  public DenseBitmap denseSetRange() {
+    this.denseLeft.set(17, this.size - 17);
+    return this.denseLeft;
+  }
+
+  @Benchmark
+  public BitSet bitSetSetRange() {
+    this.bitSetLeft.set(17, this.size - 17);
+    return this.bitSetLeft;
+  }
+}
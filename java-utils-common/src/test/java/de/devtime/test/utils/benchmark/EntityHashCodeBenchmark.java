@@ -0,0 +1,93 @@
+package de.devtime.test.utils.benchmark;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import de.devtime.test.utils.persistence.HibernateProxyOfTestEntity;
+import de.devtime.test.utils.persistence.TestEntity;
+
+/**
+ * Measures {@code equals} and {@code hashCode} of entities and their Hibernate proxies. {@code objectsHash} shows the
+ * costs of the former {@code Objects.hash(getId())} implementation for comparison.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityHashCodeBenchmark {
+
+  private TestEntity entity;
+  private TestEntity equalEntity;
+  private HibernateProxyOfTestEntity proxy;
+  private Set<TestEntity> entities;
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(EntityHashCodeBenchmark.class.getSimpleName()).build()).run();
+  }
+
+  @Setup
+  public void setup() throws IllegalAccessException {
+    this.entity = TestEntity.builder().withName("Entity").build();
+    this.entity.init();
+    this.proxy = new HibernateProxyOfTestEntity(this.entity.getId());
+    // a second instance of the same entity, e.g. loaded by another session
+    this.equalEntity = TestEntity.builder().withName("Entity").build();
+    FieldUtils.writeField(this.equalEntity, "id", this.entity.getId(), true);
+    this.entities = new HashSet<>();
+    for (int i = 0; i < 100_000; i++) {
+      TestEntity other = TestEntity.builder().build();
+      other.init();
+      this.entities.add(other);
+    }
+    this.entities.add(this.entity);
+  }
+
+  @Benchmark
+  public int objectsHash() {
+    return Objects.hash(this.entity.getId());
+  }
+
+  @Benchmark
+  public int hashCodeEntity() {
+    return this.entity.hashCode();
+  }
+
+  @Benchmark
+  public int hashCodeProxy() {
+    return this.proxy.hashCode();
+  }
+
+  @Benchmark
+  public boolean equalsEntity() {
+    return this.entity.equals(this.equalEntity);
+  }
+
+  @Benchmark
+  public boolean equalsProxy() {
+    return this.entity.equals(this.proxy);
+  }
+
+  @Benchmark
+  public boolean containsProxy() {
+    return this.entities.contains(this.proxy);
+  }
+}
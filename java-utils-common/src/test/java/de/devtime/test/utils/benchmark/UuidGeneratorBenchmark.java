@@ -0,0 +1,85 @@
+package de.devtime.test.utils.benchmark;
+
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import de.devtime.utils.id.IdGenerator;
+import de.devtime.utils.id.IdGenerators;
+
+/**
+ * Compares random UUIDs of version 4 with time-ordered UUIDs of version 7.
+ * <ul>
+ * <li>{@code generate}: throughput of 32 threads that create identifiers concurrently</li>
+ * <li>{@code insert}: costs of inserting identifiers into a sorted index, represented by a {@link TreeSet} of strings.
+ * Random identifiers are inserted at random positions, time-ordered identifiers are appended at the end and touch only
+ * the same few nodes.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UuidGeneratorBenchmark {
+
+  private static final int INSERTS = 100_000;
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(UuidGeneratorBenchmark.class.getSimpleName()).build()).run();
+  }
+
+  @State(Scope.Benchmark)
+  public static class Generator {
+
+    @Param({
+        "random", "timeOrdered"
+    })
+    private String strategy;
+
+    private IdGenerator<UUID> idGenerator;
+    private IdGenerator<String> idStringGenerator;
+
+    @Setup
+    public void setup() {
+      boolean random = "random".equals(this.strategy);
+      this.idGenerator = random ? IdGenerators.randomUuid() : IdGenerators.timeOrderedUuid();
+      this.idStringGenerator = random ? IdGenerators.randomUuidString() : IdGenerators.timeOrderedUuidString();
+    }
+  }
+
+  @Benchmark
+  @Threads(32)
+  public UUID generate(Generator generator) {
+    return generator.idGenerator.nextId();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @OperationsPerInvocation(INSERTS)
+  public TreeSet<String> insert(Generator generator) {
+    TreeSet<String> index = new TreeSet<>();
+    for (int i = 0; i < INSERTS; i++) {
+      index.add(generator.idStringGenerator.nextId());
+    }
+    return index;
+  }
+}
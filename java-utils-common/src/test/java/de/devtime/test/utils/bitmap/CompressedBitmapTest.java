@@ -0,0 +1,346 @@
+package de.devtime.test.utils.bitmap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import de.devtime.utils.bitmap.CompressedBitmap;
+
+class CompressedBitmapTest {
+
+  @Test
+  void test_add_remove_contains_should_behave_like_a_set() {
+    Random random = new Random(7);
+    CompressedBitmap bitmap = new CompressedBitmap();
+    TreeSet<Long> expected = new TreeSet<>();
+    for (int i = 0; i < 50_000; i++) {
+      int value = randomValue(random);
+      assertThat(bitmap.add(value), is(expected.add(Integer.toUnsignedLong(value))));
+    }
+    for (int i = 0; i < 20_000; i++) {
+      int value = randomValue(random);
+      assertThat(bitmap.remove(value), is(expected.remove(Integer.toUnsignedLong(value))));
+    }
+
+    assertThat(bitmap.cardinality(), is((long) expected.size()));
+    assertThat(toUnsigned(bitmap.toArray()), is(equalTo(expected.stream().mapToLong(Long::longValue).toArray())));
+    for (long value : expected) {
+      assertThat(bitmap.contains((int) value), is(true));
+    }
+  }
+
+  @Test
+  void test_containers_should_switch_between_array_and_bitmap() {
+    CompressedBitmap bitmap = new CompressedBitmap();
+    for (int i = 0; i < 10_000; i++) {
+      bitmap.add(i * 3);
+    }
+    assertThat(bitmap.cardinality(), is(10_000L));
+    for (int i = 0; i < 10_000; i += 2) {
+      bitmap.remove(i * 3);
+    }
+    assertThat(bitmap.cardinality(), is(5_000L));
+    assertThat(bitmap.contains(3), is(true));
+    assertThat(bitmap.contains(6), is(false));
+    for (int i = 1; i < 10_000; i += 2) {
+      bitmap.remove(i * 3);
+    }
+    assertThat(bitmap.isEmpty(), is(true));
+    assertThat(bitmap, is(equalTo(new CompressedBitmap())));
+  }
+
+  @Test
+  void test_addRange_should_create_runs_over_several_chunks() {
+    CompressedBitmap bitmap = CompressedBitmap.of(5, 200_000);
+    bitmap.addRange(100_000, 300_000);
+    bitmap.addRange(0xFFFF_FFF0L, 1L << 32);
+
+    assertThat(bitmap.cardinality(), is(200_000L + 1 + 16));
+    assertThat(bitmap.contains(99_999), is(false));
+    assertThat(bitmap.contains(100_000), is(true));
+    assertThat(bitmap.contains(299_999), is(true));
+    assertThat(bitmap.contains(300_000), is(false));
+    assertThat(bitmap.contains(-1), is(true));
+    assertThat(bitmap.serializedSizeInBytes(), is(lessThan(200)));
+    assertThat(bitmap.remove(150_000), is(true));
+    assertThat(bitmap.contains(150_000), is(false));
+    assertThat(bitmap.cardinality(), is(200_000L + 16));
+    assertThrows(IllegalArgumentException.class, () -> bitmap.addRange(10, 5));
+    assertThrows(IllegalArgumentException.class, () -> bitmap.addRange(0, (1L << 32) + 1));
+  }
+
+  @Test
+  void test_single_value_changes_of_runs_should_behave_like_a_set() {
+    Random random = new Random(3);
+    CompressedBitmap bitmap = new CompressedBitmap();
+    TreeSet<Long> expected = new TreeSet<>();
+    for (int i = 0; i < 20; i++) {
+      int from = random.nextInt(60_000);
+      int to = from + random.nextInt(3_000);
+      bitmap.addRange(from, to);
+      addRange(expected, from, to);
+    }
+    for (int i = 0; i < 20_000; i++) {
+      int value = random.nextInt(1 << 16);
+      if (random.nextBoolean()) {
+        assertThat(bitmap.add(value), is(expected.add((long) value)));
+      } else {
+        assertThat(bitmap.remove(value), is(expected.remove((long) value)));
+      }
+      if (i % 1000 == 0) {
+        int from = random.nextInt(65_000);
+        int to = from + random.nextInt(500);
+        bitmap.addRange(from, to);
+        addRange(expected, from, to);
+      }
+    }
+    assertContent(bitmap, expected);
+  }
+
+  @Test
+  void test_extending_a_run_should_keep_the_run_representation() {
+    CompressedBitmap bitmap = new CompressedBitmap();
+    bitmap.addRange(1_000, 2_000);
+    for (int i = 0; i < 1_000; i++) {
+      bitmap.add(2_000 + i);
+      bitmap.add(999 - i);
+    }
+    bitmap.addRange(5_000, 6_000);
+    bitmap.addRange(2_900, 5_100);
+
+    assertThat(bitmap.cardinality(), is(6_000L));
+    assertThat(bitmap.serializedSizeInBytes(), is(4 + 4 + 2 + 1 + 4 + 4));
+    assertThat(bitmap.remove(3_000), is(true));
+    assertThat(bitmap.serializedSizeInBytes(), is(4 + 4 + 2 + 1 + 4 + 8));
+    assertThat(bitmap.contains(2_999), is(true));
+    assertThat(bitmap.contains(3_000), is(false));
+    assertThat(bitmap.contains(3_001), is(true));
+  }
+
+  @Test
+  void test_binary_operations_of_run_containers_should_match_set_operations() {
+    CompressedBitmap left = new CompressedBitmap();
+    CompressedBitmap right = new CompressedBitmap();
+    TreeSet<Long> expectedLeft = new TreeSet<>();
+    TreeSet<Long> expectedRight = new TreeSet<>();
+    Random random = new Random(5);
+    for (int i = 0; i < 30; i++) {
+      int from = random.nextInt(65_000);
+      int to = from + 1 + random.nextInt(400);
+      left.addRange(from, to);
+      addRange(expectedLeft, from, to);
+      from = random.nextInt(65_000);
+      to = from + 1 + random.nextInt(400);
+      right.addRange(from, to);
+      addRange(expectedRight, from, to);
+    }
+    TreeSet<Long> and = new TreeSet<>(expectedLeft);
+    and.retainAll(expectedRight);
+    TreeSet<Long> or = new TreeSet<>(expectedLeft);
+    or.addAll(expectedRight);
+
+    assertContent(CompressedBitmap.and(left, right), and);
+    assertContent(CompressedBitmap.or(left, right), or);
+    assertThat(CompressedBitmap.andCardinality(left, right), is((long) and.size()));
+    assertThat(CompressedBitmap.intersects(left, right), is(!and.isEmpty()));
+    assertThat(CompressedBitmap.or(left, left), is(equalTo(left)));
+
+    CompressedBitmap dense = new CompressedBitmap();
+    TreeSet<Long> expectedDense = new TreeSet<>();
+    fill(dense, expectedDense, random, 0, 20_000);
+    TreeSet<Long> andDense = new TreeSet<>(expectedLeft);
+    andDense.retainAll(expectedDense);
+    assertContent(CompressedBitmap.and(left, dense), andDense);
+    assertThat(CompressedBitmap.andCardinality(dense, left), is((long) andDense.size()));
+  }
+
+  @Test
+  void test_runOptimize_should_shrink_consecutive_values() {
+    CompressedBitmap bitmap = new CompressedBitmap();
+    for (int i = 0; i < 100_000; i++) {
+      bitmap.add(i);
+    }
+    int sizeBefore = bitmap.serializedSizeInBytes();
+    CompressedBitmap copy = CompressedBitmap.or(bitmap, new CompressedBitmap());
+
+    bitmap.runOptimize();
+
+    assertThat(bitmap.serializedSizeInBytes(), is(lessThan(sizeBefore / 100)));
+    assertThat(bitmap, is(equalTo(copy)));
+    assertThat(bitmap.hashCode(), is(copy.hashCode()));
+  }
+
+  @Test
+  void test_binary_operations_should_match_set_operations_for_all_container_types() {
+    Random random = new Random(11);
+    CompressedBitmap left = new CompressedBitmap();
+    CompressedBitmap right = new CompressedBitmap();
+    TreeSet<Long> expectedLeft = new TreeSet<>();
+    TreeSet<Long> expectedRight = new TreeSet<>();
+    fill(left, expectedLeft, random, 0, 300);
+    fill(left, expectedLeft, random, 1, 30_000);
+    fill(right, expectedRight, random, 0, 20_000);
+    fill(right, expectedRight, random, 1, 200);
+    fill(right, expectedRight, random, 2, 100);
+    left.addRange(3 << 16, (3 << 16) + 40_000);
+    addRange(expectedLeft, 3 << 16, (3 << 16) + 40_000);
+    fill(right, expectedRight, random, 3, 10_000);
+    left.addRange(4 << 16, (4 << 16) + 1_000);
+    addRange(expectedLeft, 4 << 16, (4 << 16) + 1_000);
+    right.addRange((4 << 16) + 500, (4 << 16) + 2_000);
+    addRange(expectedRight, (4 << 16) + 500, (4 << 16) + 2_000);
+    left.runOptimize();
+    right.runOptimize();
+
+    TreeSet<Long> and = new TreeSet<>(expectedLeft);
+    and.retainAll(expectedRight);
+    TreeSet<Long> or = new TreeSet<>(expectedLeft);
+    or.addAll(expectedRight);
+    TreeSet<Long> andNot = new TreeSet<>(expectedLeft);
+    andNot.removeAll(expectedRight);
+
+    assertContent(CompressedBitmap.and(left, right), and);
+    assertContent(CompressedBitmap.and(right, left), and);
+    assertContent(CompressedBitmap.or(left, right), or);
+    assertContent(CompressedBitmap.or(right, left), or);
+    assertContent(CompressedBitmap.andNot(left, right), andNot);
+    assertThat(CompressedBitmap.andCardinality(left, right), is((long) and.size()));
+    assertThat(CompressedBitmap.intersects(left, right), is(true));
+    assertThat(CompressedBitmap.intersects(left, CompressedBitmap.of(2 << 16)), is(false));
+    assertContent(left, expectedLeft);
+  }
+
+  @Test
+  void test_serialize_should_restore_equal_bitmap() throws IOException {
+    CompressedBitmap bitmap = CompressedBitmap.of(1, 2, 3, -5, 1 << 20);
+    for (int i = 0; i < 10_000; i++) {
+      bitmap.add((7 << 16) + i * 5);
+    }
+    bitmap.addRange(9L << 16, (9L << 16) + 12_345);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    bitmap.serialize(new DataOutputStream(bytes));
+    CompressedBitmap restored = CompressedBitmap.deserialize(
+        new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+    assertThat(bytes.size(), is(bitmap.serializedSizeInBytes()));
+    assertThat(restored, is(equalTo(bitmap)));
+    assertThat(restored.cardinality(), is(bitmap.cardinality()));
+  }
+
+  @Test
+  void test_deserialize_should_throw_IOException_for_unknown_format() {
+    byte[] bytes = { 1, 2, 3, 4, 0, 0, 0, 0 };
+    assertThrows(IOException.class,
+        () -> CompressedBitmap.deserialize(new DataInputStream(new ByteArrayInputStream(bytes))));
+  }
+
+  @Test
+  void test_deserialize_should_throw_IOException_for_unsorted_array_values() throws IOException {
+    byte[] bytes = serializedContainer(0, 3, 5, 1, 5);
+    assertThrows(IOException.class, () -> deserialize(bytes));
+  }
+
+  @Test
+  void test_deserialize_should_throw_IOException_for_duplicate_array_values() throws IOException {
+    byte[] bytes = serializedContainer(0, 2, 5, 5);
+    assertThrows(IOException.class, () -> deserialize(bytes));
+  }
+
+  @Test
+  void test_deserialize_should_throw_IOException_for_run_exceeding_the_chunk() throws IOException {
+    byte[] bytes = serializedContainer(2, 1, 65535, 5);
+    assertThrows(IOException.class, () -> deserialize(bytes));
+  }
+
+  @Test
+  void test_deserialize_should_throw_IOException_for_unsorted_runs() throws IOException {
+    byte[] bytes = serializedContainer(2, 2, 100, 0, 10, 0);
+    assertThrows(IOException.class, () -> deserialize(bytes));
+  }
+
+  @Test
+  void test_deserialize_should_throw_IOException_for_overlapping_runs() throws IOException {
+    byte[] bytes = serializedContainer(2, 2, 10, 5, 12, 3);
+    assertThrows(IOException.class, () -> deserialize(bytes));
+  }
+
+  @Test
+  void test_deserialize_should_accept_valid_runs_up_to_the_end_of_the_chunk() throws IOException {
+    CompressedBitmap bitmap = deserialize(serializedContainer(2, 2, 10, 5, 65530, 5));
+    assertThat(bitmap.cardinality(), is(12L));
+    assertThat(bitmap.contains(65535), is(true));
+    assertThat(bitmap.contains(65536), is(false));
+  }
+
+  @Test
+  void test_select_should_return_elements_at_contained_positions() {
+    List<String> elements = List.of("a", "b", "c", "d", "e");
+    CompressedBitmap positions = CompressedBitmap.of(4, 1, 99, -1);
+    assertThat(positions.select(elements), contains("b", "e"));
+    assertThat(positions.toString(), is("{1, 4, 99, 4294967295}"));
+  }
+
+  private static byte[] serializedContainer(int type, int length, int... chars) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(0x44544342);
+    out.writeInt(1);
+    out.writeChar(0);
+    out.writeByte(type);
+    out.writeInt(length);
+    for (int value : chars) {
+      out.writeChar(value);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static CompressedBitmap deserialize(byte[] bytes) throws IOException {
+    return CompressedBitmap.deserialize(new DataInputStream(new ByteArrayInputStream(bytes)));
+  }
+
+  private static void fill(CompressedBitmap bitmap, TreeSet<Long> expected, Random random, int chunk, int count) {
+    for (int i = 0; i < count; i++) {
+      int value = (chunk << 16) | random.nextInt(1 << 16);
+      bitmap.add(value);
+      expected.add((long) value);
+    }
+  }
+
+  private static void addRange(TreeSet<Long> expected, long from, long to) {
+    for (long value = from; value < to; value++) {
+      expected.add(value);
+    }
+  }
+
+  private static void assertContent(CompressedBitmap bitmap, TreeSet<Long> expected) {
+    assertThat(bitmap.cardinality(), is((long) expected.size()));
+    assertThat(toUnsigned(bitmap.toArray()), is(equalTo(expected.stream().mapToLong(Long::longValue).toArray())));
+  }
+
+  private static int randomValue(Random random) {
+    return random.nextBoolean() ? random.nextInt(1 << 18) : random.nextInt();
+  }
+
+  private static long[] toUnsigned(int[] values) {
+    long[] result = new long[values.length];
+    for (int i = 0; i < values.length; i++) {
+      result[i] = Integer.toUnsignedLong(values[i]);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,142 @@
+package de.devtime.test.utils.bitmap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.Test;
+
+import de.devtime.utils.bitmap.ConcurrentBitSet;
+
+class ConcurrentBitSetTest {
+
+  private static final int THREADS = 8;
+
+  @Test
+  void test_single_bit_operations_should_return_previous_state() {
+    ConcurrentBitSet bitSet = new ConcurrentBitSet(130);
+    assertThat(bitSet.testAndSet(129), is(false));
+    assertThat(bitSet.testAndSet(129), is(true));
+    assertThat(bitSet.get(129), is(true));
+    assertThat(bitSet.flip(0), is(true));
+    assertThat(bitSet.flip(0), is(false));
+    bitSet.set(64);
+    assertThat(bitSet.testAndClear(64), is(true));
+    assertThat(bitSet.testAndClear(64), is(false));
+    bitSet.set(3);
+    bitSet.clear(129);
+    assertThat(bitSet.cardinality(), is(1));
+    assertThat(bitSet.toString(), is("{3}"));
+    assertThrows(IndexOutOfBoundsException.class, () -> bitSet.set(130));
+    assertThrows(IndexOutOfBoundsException.class, () -> bitSet.get(-1));
+  }
+
+  @Test
+  void test_claimFirstFreeBit_should_respect_size_and_wrap_around() {
+    ConcurrentBitSet bitSet = new ConcurrentBitSet(70);
+    bitSet.set(0);
+    assertThat(bitSet.claimFirstFreeBit(), is(1));
+    assertThat(bitSet.claimFreeBit(68), is(64));
+    for (int i = 0; i < 67; i++) {
+      bitSet.claimFirstFreeBit();
+    }
+    assertThat(bitSet.cardinality(), is(70));
+    assertThat(bitSet.claimFirstFreeBit(), is(-1));
+    bitSet.clear(42);
+    assertThat(bitSet.claimFreeBit(69), is(42));
+    assertThat(new ConcurrentBitSet(0).claimFirstFreeBit(), is(-1));
+  }
+
+  @Test
+  void test_concurrent_updates_of_the_same_words_should_not_be_lost() throws Exception {
+    int bitsPerThread = 4096;
+    ConcurrentBitSet bitSet = new ConcurrentBitSet(THREADS * bitsPerThread);
+    // thread t owns every bit i with i % THREADS == t, so all threads write to every word
+    runConcurrently(thread -> {
+      for (int round = 0; round < 20; round++) {
+        for (int i = thread; i < bitSet.size(); i += THREADS) {
+          bitSet.set(i);
+        }
+        for (int i = thread; i < bitSet.size(); i += THREADS) {
+          if (!bitSet.testAndClear(i)) {
+            throw new AssertionError("Bit " + i + " was lost");
+          }
+        }
+      }
+      for (int i = thread; i < bitSet.size(); i += THREADS) {
+        bitSet.flip(i);
+      }
+    });
+    assertThat(bitSet.cardinality(), is(bitSet.size()));
+  }
+
+  @Test
+  void test_concurrent_claims_should_hand_out_every_bit_exactly_once() throws Exception {
+    int size = 10_000;
+    ConcurrentBitSet bitSet = new ConcurrentBitSet(size);
+    AtomicIntegerArray owners = new AtomicIntegerArray(size);
+    runConcurrently(thread -> {
+      for (int round = 0; round < 200; round++) {
+        List<Integer> claimed = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+          int slot = bitSet.claimFreeBit((thread * 997 + i) % size);
+          if (!owners.compareAndSet(slot, 0, thread + 1)) {
+            throw new AssertionError("Slot " + slot + " was claimed twice");
+          }
+          claimed.add(slot);
+        }
+        for (int slot : claimed) {
+          owners.set(slot, 0);
+          bitSet.clear(slot);
+        }
+      }
+    });
+    runConcurrently(thread -> {
+      int slot;
+      while ((slot = bitSet.claimFirstFreeBit()) >= 0) {
+        if (!owners.compareAndSet(slot, 0, thread + 1)) {
+          throw new AssertionError("Slot " + slot + " was claimed twice");
+        }
+      }
+    });
+    assertThat(bitSet.cardinality(), is(size));
+    for (int i = 0; i < size; i++) {
+      assertThat(owners.get(i) > 0, is(true));
+    }
+  }
+
+  private static void runConcurrently(ThreadTask task) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      CyclicBarrier barrier = new CyclicBarrier(THREADS);
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        int thread = t;
+        futures.add(executor.submit(() -> {
+          barrier.await();
+          task.run(thread);
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @FunctionalInterface
+  private interface ThreadTask {
+
+    void run(int thread);
+  }
+}
@@ -0,0 +1,149 @@
+package de.devtime.test.utils.bitmap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import de.devtime.utils.bitmap.DenseBitmap;
+
+class DenseBitmapTest {
+
+  private static final int SIZE = 1000;
+
+  @Test
+  void test_set_get_clear_flip_should_change_single_bits() {
+    DenseBitmap bitmap = new DenseBitmap(SIZE);
+    bitmap.set(0);
+    bitmap.set(63);
+    bitmap.set(64);
+    bitmap.set(SIZE - 1);
+    bitmap.clear(63);
+    bitmap.flip(500);
+    bitmap.flip(64);
+
+    assertThat(bitmap.get(0), is(true));
+    assertThat(bitmap.get(63), is(false));
+    assertThat(bitmap.get(64), is(false));
+    assertThat(bitmap.get(500), is(true));
+    assertThat(bitmap.get(SIZE - 1), is(true));
+    assertThat(bitmap.cardinality(), is(3));
+    assertThat(bitmap.toString(), is("{0, 500, 999}"));
+  }
+
+  @Test
+  void test_get_should_throw_IOOBE_if_position_is_out_of_range() {
+    DenseBitmap bitmap = new DenseBitmap(SIZE);
+    assertThrows(IndexOutOfBoundsException.class, () -> bitmap.get(-1));
+    assertThrows(IndexOutOfBoundsException.class, () -> bitmap.set(SIZE));
+    assertThrows(IndexOutOfBoundsException.class, () -> bitmap.set(10, 5));
+    assertThrows(IllegalArgumentException.class, () -> new DenseBitmap(-1));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"0,0", "0,1", "3,60", "0,64", "63,65", "64,128", "5,999", "0,1000", "130,131"})
+  void test_set_and_clear_range_should_behave_like_BitSet(int from, int to) {
+    DenseBitmap bitmap = new DenseBitmap(SIZE);
+    BitSet expected = new BitSet(SIZE);
+    bitmap.set(from, to);
+    expected.set(from, to);
+    assertThat(bitmap.words(), is(equalTo(toWords(expected))));
+
+    bitmap.set(0, SIZE);
+    expected.set(0, SIZE);
+    bitmap.clear(from, to);
+    expected.clear(from, to);
+    assertThat(bitmap.words(), is(equalTo(toWords(expected))));
+    assertThat(bitmap.cardinality(), is(expected.cardinality()));
+  }
+
+  @Test
+  void test_bulk_operations_should_behave_like_BitSet() {
+    Random random = new Random(42);
+    DenseBitmap left = new DenseBitmap(SIZE);
+    DenseBitmap right = new DenseBitmap(SIZE);
+    BitSet expectedLeft = new BitSet(SIZE);
+    BitSet expectedRight = new BitSet(SIZE);
+    for (int i = 0; i < 400; i++) {
+      int l = random.nextInt(SIZE);
+      int r = random.nextInt(SIZE);
+      left.set(l);
+      expectedLeft.set(l);
+      right.set(r);
+      expectedRight.set(r);
+    }
+
+    assertThat(left.andCardinality(right), is(cardinality(expectedLeft, expectedRight)));
+    assertThat(left.intersects(right), is(expectedLeft.intersects(expectedRight)));
+
+    DenseBitmap and = left.copy();
+    and.and(right);
+    DenseBitmap or = left.copy();
+    or.or(right);
+    DenseBitmap xor = left.copy();
+    xor.xor(right);
+    DenseBitmap andNot = left.copy();
+    andNot.andNot(right);
+
+    BitSet expected = (BitSet) expectedLeft.clone();
+    expected.and(expectedRight);
+    assertThat(and.words(), is(equalTo(toWords(expected))));
+    expected = (BitSet) expectedLeft.clone();
+    expected.or(expectedRight);
+    assertThat(or.words(), is(equalTo(toWords(expected))));
+    assertThat(or.cardinality(), is(expected.cardinality()));
+    expected = (BitSet) expectedLeft.clone();
+    expected.xor(expectedRight);
+    assertThat(xor.words(), is(equalTo(toWords(expected))));
+    expected = (BitSet) expectedLeft.clone();
+    expected.andNot(expectedRight);
+    assertThat(andNot.words(), is(equalTo(toWords(expected))));
+    assertThat(left.words(), is(equalTo(toWords(expectedLeft))));
+  }
+
+  @Test
+  void test_bulk_operations_should_throw_IAE_if_sizes_differ() {
+    DenseBitmap bitmap = new DenseBitmap(SIZE);
+    DenseBitmap other = new DenseBitmap(SIZE + 1);
+    assertThrows(IllegalArgumentException.class, () -> bitmap.and(other));
+    assertThrows(IllegalArgumentException.class, () -> bitmap.or(other));
+  }
+
+  @Test
+  void test_nextSetBit_should_iterate_all_set_bits() {
+    DenseBitmap bitmap = new DenseBitmap(SIZE);
+    assertThat(bitmap.nextSetBit(0), is(-1));
+    assertThat(bitmap.isEmpty(), is(true));
+    bitmap.set(7);
+    bitmap.set(640);
+    assertThat(bitmap.nextSetBit(0), is(7));
+    assertThat(bitmap.nextSetBit(8), is(640));
+    assertThat(bitmap.nextSetBit(641), is(-1));
+    assertThat(bitmap.nextSetBit(SIZE), is(-1));
+    assertThat(bitmap.isEmpty(), is(false));
+
+    bitmap.clearAll();
+    assertThat(bitmap.isEmpty(), is(true));
+    assertThat(bitmap, is(equalTo(new DenseBitmap(SIZE))));
+  }
+
+  private static long[] toWords(BitSet bitSet) {
+    long[] words = new long[DenseBitmap.wordCount(SIZE)];
+    long[] used = bitSet.toLongArray();
+    System.arraycopy(used, 0, words, 0, used.length);
+    return words;
+  }
+
+  private static int cardinality(BitSet left, BitSet right) {
+    BitSet and = (BitSet) left.clone();
+    and.and(right);
+    return and.cardinality();
+  }
+}
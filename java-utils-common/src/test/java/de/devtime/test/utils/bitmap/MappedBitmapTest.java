@@ -0,0 +1,131 @@
+package de.devtime.test.utils.bitmap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.devtime.utils.bitmap.MappedBitmap;
+
+class MappedBitmapTest {
+
+  private static final int REGION_SIZE = 4096;
+  private static final long BITS_PER_REGION = REGION_SIZE * 8L;
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void test_bits_should_survive_reopening() throws IOException {
+    Path file = this.directory.resolve("seen.bitmap");
+    try (MappedBitmap bitmap = MappedBitmap.open(file, 1000)) {
+      assertThat(bitmap.capacity(), is(1024L));
+      assertThat(bitmap.testAndSet(3), is(false));
+      assertThat(bitmap.testAndSet(3), is(true));
+      bitmap.set(999);
+      bitmap.set(500);
+      assertThat(bitmap.testAndClear(500), is(true));
+      bitmap.force();
+    }
+
+    try (MappedBitmap bitmap = MappedBitmap.open(file, 0)) {
+      assertThat(bitmap.capacity(), is(1024L));
+      assertThat(bitmap.get(3), is(true));
+      assertThat(bitmap.get(999), is(true));
+      assertThat(bitmap.get(500), is(false));
+      assertThat(bitmap.cardinality(), is(2L));
+    }
+  }
+
+  @Test
+  void test_bits_should_be_stored_in_little_endian_words_after_the_header() throws IOException {
+    Path file = this.directory.resolve("layout.bitmap");
+    try (MappedBitmap bitmap = MappedBitmap.open(file, 128)) {
+      bitmap.set(9);
+      bitmap.set(127);
+    }
+    byte[] content = Files.readAllBytes(file);
+    assertThat(content.length, is(16 + 16));
+    assertThat(content[16 + 1], is((byte) 0b10));
+    assertThat(content[16 + 15], is((byte) 0x80));
+  }
+
+  @Test
+  void test_ensureCapacity_should_grow_over_several_regions() throws IOException {
+    Path file = this.directory.resolve("grow.bitmap");
+    try (MappedBitmap bitmap = MappedBitmap.open(file, 100, REGION_SIZE)) {
+      bitmap.set(64);
+      assertThrows(IndexOutOfBoundsException.class, () -> bitmap.set(BITS_PER_REGION));
+
+      bitmap.ensureCapacity(BITS_PER_REGION * 3 + 1);
+
+      assertThat(bitmap.capacity(), is(BITS_PER_REGION * 3 + 64));
+      bitmap.set(BITS_PER_REGION - 1);
+      bitmap.set(BITS_PER_REGION);
+      bitmap.set(BITS_PER_REGION * 3);
+      assertThat(bitmap.get(64), is(true));
+      assertThat(bitmap.cardinality(), is(4L));
+    }
+    try (MappedBitmap bitmap = MappedBitmap.open(file, 0, REGION_SIZE * 2)) {
+      assertThat(bitmap.get(BITS_PER_REGION), is(true));
+      assertThat(bitmap.get(BITS_PER_REGION * 3), is(true));
+      assertThat(bitmap.cardinality(), is(4L));
+    }
+  }
+
+  @Test
+  void test_concurrent_updates_should_not_be_lost() throws Exception {
+    int threads = 8;
+    long size = BITS_PER_REGION * 2;
+    try (MappedBitmap bitmap = MappedBitmap.open(this.directory.resolve("concurrent.bitmap"), size, REGION_SIZE)) {
+      ExecutorService executor = Executors.newFixedThreadPool(threads);
+      try {
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+          long thread = t;
+          futures.add(executor.submit(() -> {
+            for (long i = thread; i < size; i += threads) {
+              bitmap.set(i);
+            }
+          }));
+        }
+        for (Future<?> future : futures) {
+          future.get();
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+      assertThat(bitmap.cardinality(), is(size));
+    }
+  }
+
+  @Test
+  void test_open_should_reject_other_files_and_invalid_arguments() throws IOException {
+    Path file = this.directory.resolve("other.txt");
+    Files.writeString(file, "no bitmap at all");
+    assertThrows(IOException.class, () -> MappedBitmap.open(file, 0));
+    assertThrows(IllegalArgumentException.class, () -> MappedBitmap.open(file, -1));
+    assertThrows(IllegalArgumentException.class, () -> MappedBitmap.open(file, 0, 5000));
+  }
+
+  @Test
+  void test_closed_bitmap_should_reject_access() throws IOException {
+    MappedBitmap bitmap = MappedBitmap.open(this.directory.resolve("closed.bitmap"), 64);
+    bitmap.close();
+    bitmap.close();
+    assertThrows(IndexOutOfBoundsException.class, () -> bitmap.get(0));
+    assertThrows(IllegalStateException.class, bitmap::force);
+    assertThrows(IllegalStateException.class, () -> bitmap.ensureCapacity(128));
+  }
+}
@@ -0,0 +1,168 @@
+package de.devtime.test.utils.id;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.devtime.test.utils.persistence.TestEntity;
+import de.devtime.utils.id.BlockIdGenerator;
+import de.devtime.utils.id.FileIdBlockSource;
+import de.devtime.utils.id.IdBlockSource;
+import de.devtime.utils.id.IdGenerator;
+import de.devtime.utils.id.IdGenerators;
+import de.devtime.utils.id.SequenceIdBlockSource;
+
+class BlockIdGeneratorTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void test_nextId_should_hand_out_the_ids_of_a_block_in_order() {
+    try (BlockIdGenerator generator = new BlockIdGenerator(new CountingSource(5), 100, 1)) {
+      for (long i = 500; i < 700; i++) {
+        assertThat(generator.nextId(), is(i));
+      }
+    }
+  }
+
+  @Test
+  void test_nextId_should_create_unique_ids_in_many_threads() throws Exception {
+    Set<Long> ids = ConcurrentHashMap.newKeySet();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try (BlockIdGenerator generator = new BlockIdGenerator(new CountingSource(1), 64, 2)) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.nextId());
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(ids.size(), is(80_000));
+  }
+
+  @Test
+  void test_nextId_should_not_access_the_source_when_blocks_are_prefetched() throws InterruptedException {
+    CountingSource source = new CountingSource(1);
+    try (BlockIdGenerator generator = new BlockIdGenerator(source, 10, 3)) {
+      source.awaitCalls(3);
+      for (int i = 0; i < 30; i++) {
+        generator.nextId();
+      }
+      source.awaitCalls(6);
+      assertThat(source.threadNames, everyItem(startsWith("id-block-prefetcher-")));
+    }
+  }
+
+  @Test
+  void test_nextId_should_access_the_source_directly_when_prefetching_fails() {
+    AtomicLong nextBlock = new AtomicLong(1);
+    IdBlockSource unavailableForPrefetcher = () -> {
+      if (Thread.currentThread().getName().startsWith("id-block-prefetcher-")) {
+        throw new IllegalStateException("Source not available");
+      }
+      return nextBlock.getAndIncrement();
+    };
+    try (BlockIdGenerator generator = new BlockIdGenerator(unavailableForPrefetcher, 10, 1)) {
+      for (long i = 10; i < 30; i++) {
+        assertThat(generator.nextId(), is(i));
+      }
+    }
+  }
+
+  @Test
+  void test_constructor_should_validate_arguments() {
+    CountingSource source = new CountingSource(1);
+    assertThrows(NullPointerException.class, () -> new BlockIdGenerator(null));
+    assertThrows(IllegalArgumentException.class, () -> new BlockIdGenerator(source, 0, 1));
+    assertThrows(IllegalArgumentException.class, () -> new BlockIdGenerator(source, 1, 0));
+  }
+
+  @Test
+  void test_FileIdBlockSource_should_continue_with_the_next_block_after_restart() {
+    Path file = this.directory.resolve("blocks");
+    assertThat(new FileIdBlockSource(file).nextBlock(), is(FileIdBlockSource.FIRST_BLOCK));
+    FileIdBlockSource source = new FileIdBlockSource(file);
+    assertThat(List.of(source.nextBlock(), source.nextBlock()), contains(2L, 3L));
+  }
+
+  @Test
+  void test_SequenceIdBlockSource_should_read_the_next_value_of_the_sequence() throws Exception {
+    JdbcDataSource dataSource = new JdbcDataSource();
+    dataSource.setURL("jdbc:h2:mem:id-blocks;DB_CLOSE_DELAY=-1");
+    try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+      statement.execute("CREATE SEQUENCE ID_BLOCKS START WITH 7");
+    }
+    SequenceIdBlockSource source = new SequenceIdBlockSource(dataSource, "SELECT NEXT VALUE FOR ID_BLOCKS");
+    assertThat(List.of(source.nextBlock(), source.nextBlock()), contains(7L, 8L));
+
+    SequenceIdBlockSource invalid = new SequenceIdBlockSource(dataSource, "SELECT NEXT VALUE FOR MISSING");
+    assertThrows(IllegalStateException.class, invalid::nextBlock);
+  }
+
+  @Test
+  void test_asString_should_be_usable_as_id_generator_of_entities() {
+    try (BlockIdGenerator generator = new BlockIdGenerator(new CountingSource(3), 10, 1)) {
+      IdGenerator<String> ids = IdGenerators.asString(generator);
+      TestEntity entity = new TestEntity() {
+
+        @Override
+        protected IdGenerator<String> idGenerator() {
+          return ids;
+        }
+      };
+      entity.init();
+      assertThat(entity.getId(), is("30"));
+    }
+  }
+
+  private static class CountingSource implements IdBlockSource {
+
+    private final AtomicLong nextBlock;
+    private final List<String> threadNames = new CopyOnWriteArrayList<>();
+
+    CountingSource(long firstBlock) {
+      this.nextBlock = new AtomicLong(firstBlock);
+    }
+
+    @Override
+    public long nextBlock() {
+      this.threadNames.add(Thread.currentThread().getName());
+      return this.nextBlock.getAndIncrement();
+    }
+
+    void awaitCalls(int calls) throws InterruptedException {
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      while (this.threadNames.size() < calls && System.nanoTime() < deadline) {
+        Thread.sleep(1);
+      }
+      assertThat(this.threadNames.size() >= calls, is(true));
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package de.devtime.test.utils.id;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import de.devtime.utils.id.IdGenerator;
+import de.devtime.utils.id.IdGenerators;
+
+class IdGeneratorsTest {
+
+  @Test
+  void test_randomUuid_nextIds_should_create_unique_version_4_uuids() {
+    List<UUID> uuids = IdGenerators.randomUuid().nextIds(5000);
+
+    assertThat(uuids.size(), is(5000));
+    for (UUID uuid : uuids) {
+      assertThat(uuid.version(), is(4));
+      assertThat(uuid.variant(), is(2));
+    }
+    assertThat(new HashSet<>(uuids).size(), is(5000));
+  }
+
+  @Test
+  void test_randomUuidString_nextIds_should_create_parsable_uuid_strings() {
+    List<String> ids = IdGenerators.randomUuidString().nextIds(3);
+
+    Set<String> distinct = new HashSet<>();
+    for (String id : ids) {
+      assertThat(UUID.fromString(id).version(), is(4));
+      distinct.add(id);
+    }
+    assertThat(distinct.size(), is(3));
+  }
+
+  @Test
+  void test_asString_should_be_equal_for_the_same_generator() {
+    IdGenerator<Long> numbers = () -> 1L;
+
+    assertThat(IdGenerators.asString(numbers), is(equalTo(IdGenerators.asString(numbers))));
+    assertThat(IdGenerators.asString(numbers).hashCode(), is(IdGenerators.asString(numbers).hashCode()));
+    assertThat(IdGenerators.asString(numbers), is(not(equalTo(IdGenerators.asString(() -> 1L)))));
+    assertThat(IdGenerators.asString(IdGenerators.randomUuid()), is(equalTo(IdGenerators.randomUuidString())));
+  }
+}
@@ -0,0 +1,138 @@
+package de.devtime.test.utils.id;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import de.devtime.utils.id.IdGenerators;
+import de.devtime.utils.id.TimeOrderedUuidGenerator;
+
+class TimeOrderedUuidGeneratorTest {
+
+  private static final long NOW = 1_700_000_000_000L;
+
+  @Test
+  void test_nextId_should_create_version_7_with_timestamp() {
+    TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(new MutableClock(NOW));
+    UUID uuid = generator.nextId();
+    assertThat(uuid.version(), is(7));
+    assertThat(uuid.variant(), is(2));
+    assertThat(TimeOrderedUuidGenerator.getTimestamp(uuid), is(NOW));
+  }
+
+  @Test
+  void test_nextId_should_create_increasing_ids_within_one_millisecond() {
+    TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(new MutableClock(NOW));
+    String previous = generator.nextId().toString();
+    for (int i = 0; i < 10_000; i++) {
+      String next = generator.nextId().toString();
+      assertThat(next.compareTo(previous), is(greaterThan(0)));
+      previous = next;
+    }
+    // the counter overflows at least twice within 10000 ids, which advances the timestamp
+    assertThat(TimeOrderedUuidGenerator.getTimestamp(UUID.fromString(previous)), is(greaterThan(NOW)));
+  }
+
+  @Test
+  void test_nextId_should_create_increasing_ids_if_clock_moves_backwards() {
+    MutableClock clock = new MutableClock(NOW);
+    TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(clock);
+    UUID first = generator.nextId();
+    clock.millis = NOW - 1_000;
+    UUID second = generator.nextId();
+    assertThat(second.toString().compareTo(first.toString()), is(greaterThan(0)));
+    assertThat(TimeOrderedUuidGenerator.getTimestamp(second), is(NOW));
+  }
+
+  @Test
+  void test_nextId_should_be_ordered_by_time() {
+    MutableClock clock = new MutableClock(NOW);
+    TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(clock);
+    UUID first = generator.nextId();
+    clock.millis = NOW + 1;
+    UUID second = generator.nextId();
+    assertThat(second.toString().compareTo(first.toString()), is(greaterThan(0)));
+    assertThat(TimeOrderedUuidGenerator.getTimestamp(second), is(NOW + 1));
+  }
+
+  @Test
+  void test_nextId_should_create_unique_ids_in_several_threads() throws Exception {
+    TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(new MutableClock(NOW));
+    Set<UUID> ids = ConcurrentHashMap.newKeySet();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < 10_000; j++) {
+            ids.add(generator.nextId());
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(ids.size(), is(equalTo(80_000)));
+  }
+
+  @Test
+  void test_getTimestamp_should_reject_other_versions() {
+    UUID uuid = UUID.randomUUID();
+    assertThrows(IllegalArgumentException.class, () -> TimeOrderedUuidGenerator.getTimestamp(uuid));
+  }
+
+  @Test
+  void test_timeOrderedUuidString_should_create_version_7() {
+    assertThat(UUID.fromString(IdGenerators.timeOrderedUuidString().nextId()).version(), is(7));
+    assertThat(UUID.fromString(IdGenerators.randomUuidString().nextId()).version(), is(4));
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private long millis;
+
+    MutableClock(long millis) {
+      this.millis = millis;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public long millis() {
+      return this.millis;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(this.millis);
+    }
+  }
+}
@@ -0,0 +1,172 @@
+package de.devtime.test.utils.persistence;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import javax.persistence.EntityManager;
+
+import org.hamcrest.FeatureMatcher;
+import org.hamcrest.Matcher;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+
+/**
+ * Counts the SQL statements that {@link SimpleJpaRepository#saveAll(Iterable)} issues for entities in the different
+ * states of their lifecycle.
+ */
+class AbstractPersistableRepositoryTest {
+
+  private static final int ENTITY_COUNT = 200;
+  private static final RecordingStatementInspector STATEMENTS = new RecordingStatementInspector();
+
+  private static SessionFactory sessionFactory;
+
+  @BeforeAll
+  static void setUpSessionFactory() {
+    Configuration configuration = new Configuration()
+        .setProperty(AvailableSettings.URL, "jdbc:h2:mem:repository-test;DB_CLOSE_DELAY=-1")
+        .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+        .addAnnotatedClass(TestEntity.class);
+    configuration.getProperties().put(AvailableSettings.STATEMENT_INSPECTOR, STATEMENTS);
+    sessionFactory = configuration.buildSessionFactory();
+  }
+
+  @AfterAll
+  static void tearDownSessionFactory() {
+    sessionFactory.close();
+  }
+
+  @BeforeEach
+  void setUp() {
+    inTransaction(repository -> {
+      repository.deleteAllInBatch();
+      return null;
+    });
+    STATEMENTS.clear();
+  }
+
+  @Test
+  void test_saveAll_should_insert_new_entities_without_select() {
+    List<TestEntity> entities = createEntities();
+
+    inTransaction(repository -> repository.saveAll(entities));
+
+    assertThat(STATEMENTS.count("insert"), is(ENTITY_COUNT));
+    assertThat(STATEMENTS.count("select"), is(0));
+    assertThat(entities, everyItem(isNew(false)));
+  }
+
+  @Test
+  void test_saveAll_should_update_loaded_entities_without_select() {
+    inTransaction(repository -> repository.saveAll(createEntities()));
+    STATEMENTS.clear();
+
+    inTransaction(repository -> {
+      List<TestEntity> loaded = repository.findAll();
+      assertThat(loaded, everyItem(isNew(false)));
+      loaded.forEach(entity -> entity.setName("changed"));
+      return repository.saveAll(loaded);
+    });
+
+    assertThat(STATEMENTS.count("select"), is(1));
+    assertThat(STATEMENTS.count("insert"), is(0));
+    assertThat(STATEMENTS.count("update"), is(ENTITY_COUNT));
+  }
+
+  @Test
+  void test_saveAll_should_merge_detached_entities() {
+    inTransaction(repository -> repository.saveAll(createEntities()));
+    List<TestEntity> detached = inTransaction(SimpleJpaRepository::findAll);
+    detached.forEach(entity -> entity.setName("changed"));
+    STATEMENTS.clear();
+
+    inTransaction(repository -> repository.saveAll(detached));
+
+    assertThat(STATEMENTS.count("insert"), is(0));
+    assertThat(STATEMENTS.count("update"), is(ENTITY_COUNT));
+  }
+
+  @Test
+  void test_saveAll_should_insert_removed_entities_again() {
+    inTransaction(repository -> repository.saveAll(createEntities()));
+    List<TestEntity> removed = inTransaction(repository -> {
+      List<TestEntity> loaded = repository.findAll();
+      repository.deleteAll(loaded);
+      return loaded;
+    });
+    assertThat(removed, everyItem(isNew(true)));
+    STATEMENTS.clear();
+
+    inTransaction(repository -> repository.saveAll(removed));
+
+    assertThat(STATEMENTS.count("insert"), is(ENTITY_COUNT));
+    assertThat(STATEMENTS.count("select"), is(0));
+  }
+
+  private static List<TestEntity> createEntities() {
+    List<TestEntity> entities = new ArrayList<>(ENTITY_COUNT);
+    for (int i = 0; i < ENTITY_COUNT; i++) {
+      TestEntity entity = TestEntity.builder().withName("Entity " + i).build();
+      entity.init();
+      entities.add(entity);
+    }
+    return entities;
+  }
+
+  private static <R> R inTransaction(Function<SimpleJpaRepository<TestEntity, String>, R> action) {
+    EntityManager entityManager = sessionFactory.createEntityManager();
+    try {
+      entityManager.getTransaction().begin();
+      R result = action.apply(new SimpleJpaRepository<>(TestEntity.class, entityManager));
+      entityManager.getTransaction().commit();
+      return result;
+    } finally {
+      entityManager.close();
+    }
+  }
+
+  private static Matcher<TestEntity> isNew(boolean expected) {
+    return new FeatureMatcher<>(is(expected), "isNew", "isNew") {
+
+      @Override
+      protected Boolean featureValueOf(TestEntity actual) {
+        return actual.isNew();
+      }
+    };
+  }
+
+  private static class RecordingStatementInspector implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+      this.statements.add(sql.toLowerCase(Locale.ROOT));
+      return sql;
+    }
+
+    int count(String statementType) {
+      return (int) this.statements.stream().filter(sql -> sql.startsWith(statementType)).count();
+    }
+
+    void clear() {
+      this.statements.clear();
+    }
+  }
+}
@@ -7,9 +7,15 @@ import static org.hamcrest.Matchers.is;
 
 import java.util.UUID;
 
+import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.reflect.MethodUtils;
 import org.junit.jupiter.api.Test;
 
+import de.devtime.utils.id.IdGenerator;
+import de.devtime.utils.id.IdGenerators;
+import de.devtime.utils.logging.CustomToStringStyle;
+import de.devtime.utils.logging.ToStringFieldRenderers;
+import de.devtime.utils.persistence.AbstractPersistable;
 import nl.jqno.equalsverifier.ConfiguredEqualsVerifier;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
@@ -30,12 +36,54 @@ class AbstractPersistableTest {
     assertThat(testEntity.isNew(), is(false));
   }
 
+  @Test
+  void test_isNew_should_return_false_after_load() throws Exception {
+    TestEntity testEntity = TestEntity.builder().build();
+    // simulate PostLoad event
+    MethodUtils.invokeMethod(testEntity, true, "postLoad");
+    assertThat(testEntity.isNew(), is(false));
+  }
+
+  @Test
+  void test_isNew_should_return_true_after_remove() throws Exception {
+    TestEntity testEntity = TestEntity.builder().build();
+    // simulate PostLoad and PostRemove events
+    MethodUtils.invokeMethod(testEntity, true, "postLoad");
+    MethodUtils.invokeMethod(testEntity, true, "postRemove");
+    assertThat(testEntity.isNew(), is(true));
+  }
+
   @Test
   void test_hashCode_and_equals_work_as_expected() {
+    TestEntity example = TestEntity.builder().withName("Example").build();
+    example.init();
+    example.hashCode();
     ConfiguredEqualsVerifier verifier = EqualsVerifier.configure()
         .usingGetClass()
         .suppress(Warning.ALL_FIELDS_SHOULD_BE_USED);
-    verifier.forClass(TestEntity.class).verify();
+    verifier.forClass(TestEntity.class)
+        .withCachedHashCode("cachedHashCode", "calculateHashCode", example)
+        .verify();
+  }
+
+  @Test
+  void test_hashCode_should_be_fixed_without_id_and_match_id_after_init() {
+    TestEntity testEntity = TestEntity.builder().build();
+    TestEntity otherEntity = TestEntity.builder().build();
+    assertThat(testEntity.hashCode(), is(equalTo(otherEntity.hashCode())));
+    testEntity.init();
+    assertThat(testEntity.hashCode(), is(equalTo(testEntity.getId().hashCode())));
+    assertThat(testEntity.hashCode(), is(equalTo(testEntity.hashCode())));
+  }
+
+  @Test
+  void test_hashCode_and_equals_should_match_for_proxy() {
+    TestEntity testEntity = TestEntity.builder().build();
+    testEntity.init();
+    HibernateProxyOfTestEntity proxy = new HibernateProxyOfTestEntity(testEntity.getId());
+    assertThat(proxy.hashCode(), is(equalTo(testEntity.hashCode())));
+    assertThat(proxy.equals(testEntity), is(true));
+    assertThat(testEntity.equals(proxy), is(true));
   }
 
   @Test
@@ -49,6 +97,17 @@ class AbstractPersistableTest {
     assertThat(toStringResult, containsString("isNew=true"));
   }
 
+  @Test
+  void test_toString_uses_generated_renderer_with_same_output_as_reflection() {
+    TestEntity testEntity = TestEntity.builder()
+        .withName("TestName")
+        .build();
+    testEntity.init();
+    String expected = ToStringBuilder.reflectionToString(testEntity, CustomToStringStyle.PARAMETRIZED_STYLE);
+    assertThat(ToStringFieldRenderers.forClass(TestEntity.class).isPresent(), is(true));
+    assertThat(testEntity.toString(), is(equalTo(expected)));
+  }
+
   @Test
   void test_init_generates_an_id() {
     TestEntity testEntity = TestEntity.builder()
@@ -57,4 +116,22 @@ class AbstractPersistableTest {
     testEntity.init();
     assertThat(UUID.fromString(testEntity.getId()).version(), is(equalTo(4)));
   }
+
+  @Test
+  void test_init_uses_id_generator_of_entity() {
+    AbstractPersistable entity = new AbstractPersistable() {
+
+      @Override
+      protected void linkReferencedObjects() {
+        // nothing to do
+      }
+
+      @Override
+      protected IdGenerator<String> idGenerator() {
+        return IdGenerators.timeOrderedUuidString();
+      }
+    };
+    entity.init();
+    assertThat(UUID.fromString(entity.getId()).version(), is(equalTo(7)));
+  }
 }
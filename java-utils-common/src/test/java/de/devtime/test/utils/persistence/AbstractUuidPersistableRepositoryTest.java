@@ -0,0 +1,124 @@
+package de.devtime.test.utils.persistence;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.function.Function;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import de.devtime.utils.persistence.AbstractUuidPersistable;
+import de.devtime.utils.persistence.PersistenceToStringStyle;
+
+/**
+ * Stores {@link AbstractUuidPersistable} entities in an H2 database to verify the column type of the identifier and
+ * that loaded entities are equal to the stored ones.
+ */
+class AbstractUuidPersistableRepositoryTest {
+
+  private static SessionFactory sessionFactory;
+
+  @BeforeAll
+  static void setUpSessionFactory() {
+    sessionFactory = new Configuration()
+        .setProperty(AvailableSettings.URL, "jdbc:h2:mem:uuid-repository-test;DB_CLOSE_DELAY=-1")
+        .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+        .addAnnotatedClass(TestUuidEntity.class)
+        .buildSessionFactory();
+  }
+
+  @AfterAll
+  static void tearDownSessionFactory() {
+    sessionFactory.close();
+  }
+
+  @Test
+  void test_id_should_be_stored_in_a_binary_column_of_16_bytes() {
+    Object[] column = inTransaction(entityManager -> (Object[]) entityManager.createNativeQuery(
+        "select DATA_TYPE, CHARACTER_OCTET_LENGTH from INFORMATION_SCHEMA.COLUMNS "
+            + "where TABLE_NAME = 'TESTUUIDENTITY' and COLUMN_NAME = 'ID'")
+        .getSingleResult());
+
+    assertThat(column[0], is(equalTo("BINARY")));
+    assertThat(((Number) column[1]).intValue(), is(16));
+  }
+
+  @Test
+  void test_find_should_load_an_entity_equal_to_the_stored_one() {
+    TestUuidEntity stored = new TestUuidEntity("TestName");
+    stored.init();
+    inTransaction(entityManager -> {
+      entityManager.persist(stored);
+      return null;
+    });
+
+    TestUuidEntity loaded = inTransaction(entityManager -> entityManager.find(TestUuidEntity.class, stored.getId()));
+
+    assertThat(loaded, is(not(sameInstance(stored))));
+    assertThat(loaded, is(equalTo(stored)));
+    assertThat(loaded.hashCode(), is(equalTo(stored.hashCode())));
+    assertThat(loaded.getId(), is(equalTo(stored.getId())));
+    assertThat(loaded.getName(), is(equalTo("TestName")));
+    assertThat(loaded.isNew(), is(false));
+  }
+
+  @Test
+  void test_getReference_should_return_a_proxy_equal_to_the_stored_entity() {
+    TestUuidEntity stored = new TestUuidEntity("TestName");
+    stored.init();
+    inTransaction(entityManager -> {
+      entityManager.persist(stored);
+      return null;
+    });
+
+    inTransaction(entityManager -> {
+      TestUuidEntity reference = entityManager.getReference(TestUuidEntity.class, stored.getId());
+      assertThat(reference.getClass(), is(not(equalTo(TestUuidEntity.class))));
+      assertThat(reference, is(equalTo(stored)));
+      assertThat(stored, is(equalTo(reference)));
+      assertThat(reference.hashCode(), is(equalTo(stored.hashCode())));
+      return null;
+    });
+  }
+
+  @Test
+  void test_toString_should_render_an_uninitialized_reference_with_the_mapped_identifier() {
+    TestUuidEntity stored = new TestUuidEntity("TestName");
+    stored.init();
+    inTransaction(entityManager -> {
+      entityManager.persist(stored);
+      return null;
+    });
+
+    inTransaction(entityManager -> {
+      TestUuidEntity reference = entityManager.getReference(TestUuidEntity.class, stored.getId());
+      assertThat(PersistenceToStringStyle.PARAMETRIZED_STYLE.render(reference),
+          is(equalTo("TestUuidEntity[id=" + stored.getId() + "]")));
+      assertThat(Hibernate.isInitialized(reference), is(false));
+      return null;
+    });
+  }
+
+  private static <R> R inTransaction(Function<EntityManager, R> action) {
+    EntityManager entityManager = sessionFactory.createEntityManager();
+    try {
+      entityManager.getTransaction().begin();
+      R result = action.apply(entityManager);
+      entityManager.getTransaction().commit();
+      return result;
+    } finally {
+      entityManager.close();
+    }
+  }
+}
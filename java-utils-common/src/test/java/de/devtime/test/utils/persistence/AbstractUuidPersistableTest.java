@@ -0,0 +1,92 @@
+package de.devtime.test.utils.persistence;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+
+import org.apache.commons.lang3.reflect.MethodUtils;
+import org.junit.jupiter.api.Test;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+
+class AbstractUuidPersistableTest {
+
+  @Test
+  void test_isNew_should_return_false_after_persist() throws Exception {
+    TestUuidEntity testEntity = new TestUuidEntity("TestName");
+    assertThat(testEntity.isNew(), is(true));
+    // simulate PostPersist event
+    MethodUtils.invokeMethod(testEntity, true, "postPersist");
+    assertThat(testEntity.isNew(), is(false));
+  }
+
+  @Test
+  void test_isNew_should_follow_load_and_remove() throws Exception {
+    TestUuidEntity testEntity = new TestUuidEntity("TestName");
+    // simulate PostLoad event
+    MethodUtils.invokeMethod(testEntity, true, "postLoad");
+    assertThat(testEntity.isNew(), is(false));
+    // simulate PostRemove event
+    MethodUtils.invokeMethod(testEntity, true, "postRemove");
+    assertThat(testEntity.isNew(), is(true));
+  }
+
+  @Test
+  void test_init_generates_a_time_ordered_id() {
+    TestUuidEntity testEntity = new TestUuidEntity("TestName");
+    assertThat(testEntity.getId(), is(nullValue()));
+    testEntity.init();
+    assertThat(testEntity.getId().version(), is(equalTo(7)));
+  }
+
+  @Test
+  void test_hashCode_and_equals_work_as_expected() {
+    // the transient fields are persisted through the id property
+    EqualsVerifier.forClass(TestUuidEntity.class)
+        .usingGetClass()
+        .suppress(Warning.ALL_FIELDS_SHOULD_BE_USED, Warning.TRANSIENT_FIELDS)
+        .verify();
+  }
+
+  @Test
+  void test_hashCode_should_match_hashCode_of_id() {
+    TestUuidEntity testEntity = new TestUuidEntity("TestName");
+    testEntity.init();
+    assertThat(testEntity.hashCode(), is(equalTo(testEntity.getId().hashCode())));
+  }
+
+  @Test
+  void test_equals_should_compare_proxy_by_id() {
+    TestUuidEntity testEntity = new TestUuidEntity("TestName");
+    testEntity.init();
+    HibernateProxyOfTestUuidEntity proxy = new HibernateProxyOfTestUuidEntity(testEntity.getId());
+    assertThat(testEntity.equals(proxy), is(true));
+    assertThat(proxy.equals(testEntity), is(true));
+    assertThat(proxy.hashCode(), is(equalTo(testEntity.hashCode())));
+  }
+
+  @Test
+  void test_toString_should_render_id_as_uuid() {
+    TestUuidEntity testEntity = new TestUuidEntity("TestName");
+    testEntity.init();
+    String toStringResult = testEntity.toString();
+    assertThat(toStringResult, containsString("TestUuidEntity[id=" + testEntity.getId() + ", name=TestName, "));
+    assertThat(toStringResult, not(containsString("SigBits")));
+  }
+
+  @Test
+  void test_toString_should_render_id_first_when_output_is_truncated() {
+    TestUuidEntity testEntity = new TestUuidEntity("x".repeat(100_000));
+    testEntity.init();
+    String toStringResult = testEntity.toString();
+    assertThat(toStringResult, startsWith("TestUuidEntity[id=" + testEntity.getId() + ", name=xxx"));
+    assertThat(toStringResult, containsString("<truncated>"));
+    assertThat(toStringResult.length(), is(lessThan(70_000)));
+  }
+}
@@ -0,0 +1,115 @@
+package de.devtime.test.utils.persistence;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.registry.BootstrapServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.devtime.utils.persistence.EntityDiffLogger;
+
+class EntityDiffLoggerTest {
+
+  private static final CapturingDiffLogger LOGGER = new CapturingDiffLogger();
+
+  private static SessionFactory sessionFactory;
+
+  @BeforeAll
+  static void setUpSessionFactory() {
+    sessionFactory = new Configuration(new BootstrapServiceRegistryBuilder().applyIntegrator(LOGGER).build())
+        .setProperty(AvailableSettings.URL, "jdbc:h2:mem:diff-logger-test;DB_CLOSE_DELAY=-1")
+        .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+        .addAnnotatedClass(TestWideEntity.class)
+        .buildSessionFactory();
+  }
+
+  @AfterAll
+  static void tearDownSessionFactory() {
+    sessionFactory.close();
+  }
+
+  @BeforeEach
+  void setUp() {
+    LOGGER.messages.clear();
+  }
+
+  @Test
+  void test_onPostUpdate_should_log_only_changed_fields() {
+    TestWideEntity entity = persistEntity();
+
+    inTransaction(session -> session.get(TestWideEntity.class, entity.getId()).setAmount(42));
+
+    String id = entity.getId();
+    assertThat(LOGGER.messages, contains("Entity was updated: TestWideEntity[id=" + id + ", amount=42] (previous: "
+        + "TestWideEntity[id=" + id + ", amount=7])"));
+  }
+
+  @Test
+  void test_onPostUpdate_should_log_every_changed_field() {
+    TestWideEntity entity = persistEntity();
+
+    inTransaction(session -> {
+      TestWideEntity loaded = session.get(TestWideEntity.class, entity.getId());
+      loaded.setName("New name");
+      loaded.setDescription(null);
+    });
+
+    String id = entity.getId();
+    assertThat(LOGGER.messages, contains("Entity was updated: TestWideEntity[id=" + id
+        + ", description=<null>, name=New name] (previous: TestWideEntity[id=" + id
+        + ", description=A long description, name=Name])"));
+  }
+
+  @Test
+  void test_onPostUpdate_should_log_nothing_when_nothing_changed() {
+    TestWideEntity entity = persistEntity();
+
+    inTransaction(session -> session.get(TestWideEntity.class, entity.getId()).setName("Name"));
+
+    assertThat(LOGGER.messages, is(empty()));
+  }
+
+  private static TestWideEntity persistEntity() {
+    TestWideEntity entity = new TestWideEntity();
+    entity.init();
+    entity.setName("Name");
+    entity.setDescription("A long description");
+    entity.setAmount(7);
+    inTransaction(session -> session.persist(entity));
+    LOGGER.messages.clear();
+    return entity;
+  }
+
+  private static void inTransaction(Consumer<Session> action) {
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+      action.accept(session);
+      session.getTransaction().commit();
+    }
+  }
+
+  private static class CapturingDiffLogger extends EntityDiffLogger {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient List<String> messages = new CopyOnWriteArrayList<>();
+
+    @Override
+    protected void write(String message) {
+      this.messages.add(message);
+    }
+  }
+}
@@ -0,0 +1,243 @@
+package de.devtime.test.utils.persistence;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import de.devtime.utils.persistence.AsyncEntityEventLogger;
+import de.devtime.utils.persistence.BackpressurePolicy;
+import de.devtime.utils.persistence.EntityEvent;
+import de.devtime.utils.persistence.EntityEventType;
+import de.devtime.utils.persistence.EntityEventWriter;
+
+class EntityEventWriterTest {
+
+  @Test
+  void test_publish_should_write_snapshots_in_order() {
+    TestEntity entity = createEntity();
+    HibernateProxyOfTestEntity proxy = new HibernateProxyOfTestEntity("proxy-id");
+    CapturingWriter writer = new CapturingWriter(16, BackpressurePolicy.DROP);
+
+    writer.publish(EntityEventType.CREATED, entity);
+    writer.publish(EntityEventType.UPDATED, entity);
+    writer.publish(EntityEventType.LOADED, proxy);
+    writer.close();
+
+    List<EntityEvent> events = writer.getEvents();
+    assertThat(events.size(), is(3));
+    assertThat(events.get(0).type(), is(EntityEventType.CREATED));
+    assertThat(events.get(1).type(), is(EntityEventType.UPDATED));
+    assertThat(events.get(0).id(), is(equalTo(entity.getId())));
+    assertThat(events.get(2).entityClass(), is(equalTo(TestEntity.class)));
+    assertThat(events.get(2).id(), is(equalTo("proxy-id")));
+  }
+
+  @Test
+  void test_publish_should_drop_events_when_queue_is_full_and_policy_is_drop() throws InterruptedException {
+    CapturingWriter writer = new CapturingWriter(4, BackpressurePolicy.DROP);
+    TestEntity entity = createEntity();
+    writer.publishAndWaitUntilWriting(entity);
+
+    List<Boolean> accepted = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      accepted.add(writer.publish(EntityEventType.LOADED, entity));
+    }
+    writer.release();
+    writer.close();
+
+    assertThat(accepted, contains(true, true, true, true, false, false, false, false, false, false));
+    assertThat(writer.getDroppedEvents(), is(6L));
+    assertThat(writer.getEvents().size(), is(5));
+  }
+
+  @Test
+  void test_publish_should_sample_events_when_queue_is_half_full_and_policy_is_sample()
+      throws InterruptedException {
+    CapturingWriter writer = new CapturingWriter(8, BackpressurePolicy.SAMPLE, 2);
+    TestEntity entity = createEntity();
+    writer.publishAndWaitUntilWriting(entity);
+
+    List<Boolean> accepted = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      accepted.add(writer.publish(EntityEventType.LOADED, entity));
+    }
+    writer.release();
+    writer.close();
+
+    assertThat(accepted, contains(true, true, true, true, true, false, true, false, true, false));
+    assertThat(writer.getDroppedEvents(), is(3L));
+    assertThat(writer.getEvents().size(), is(8));
+  }
+
+  @Test
+  void test_publish_should_wait_for_space_when_queue_is_full_and_policy_is_block() throws InterruptedException {
+    CapturingWriter writer = new CapturingWriter(2, BackpressurePolicy.BLOCK);
+    TestEntity entity = createEntity();
+    writer.publishAndWaitUntilWriting(entity);
+
+    CountDownLatch published = new CountDownLatch(1);
+    Thread publisher = new Thread(() -> {
+      for (int i = 0; i < 5; i++) {
+        writer.publish(EntityEventType.LOADED, entity);
+      }
+      published.countDown();
+    });
+    publisher.start();
+
+    assertThat(published.await(100, TimeUnit.MILLISECONDS), is(false));
+    writer.release();
+    assertThat(published.await(10, TimeUnit.SECONDS), is(true));
+    writer.close();
+
+    assertThat(writer.getDroppedEvents(), is(0L));
+    assertThat(writer.getEvents().size(), is(6));
+  }
+
+  @Test
+  void test_publish_should_drop_events_after_close() {
+    CapturingWriter writer = new CapturingWriter(4, BackpressurePolicy.BLOCK);
+    writer.close();
+    assertThat(writer.publish(EntityEventType.CREATED, createEntity()), is(false));
+    assertThat(writer.getDroppedEvents(), is(1L));
+  }
+
+  @Test
+  void test_close_should_write_every_accepted_event_of_concurrent_publishers() throws Exception {
+    TestEntity entity = createEntity();
+    for (int round = 0; round < 50; round++) {
+      CapturingWriter writer = new CapturingWriter(1024, BackpressurePolicy.BLOCK);
+      AtomicLong accepted = new AtomicLong();
+      ExecutorService executor = Executors.newFixedThreadPool(4);
+      try {
+        CountDownLatch started = new CountDownLatch(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+          futures.add(executor.submit(() -> {
+            started.countDown();
+            while (writer.publish(EntityEventType.LOADED, entity)) {
+              accepted.incrementAndGet();
+            }
+          }));
+        }
+        started.await();
+        writer.close();
+        for (Future<?> future : futures) {
+          future.get(10, TimeUnit.SECONDS);
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+
+      assertThat(writer.getEvents().size(), is((int) accepted.get()));
+    }
+  }
+
+  @Test
+  void test_publish_should_wake_up_the_idle_worker() throws InterruptedException {
+    CapturingWriter writer = new CapturingWriter(4, BackpressurePolicy.DROP);
+    awaitIdleWorkers();
+
+    writer.publishAndWaitUntilWriting(createEntity());
+    writer.release();
+    writer.close();
+
+    assertThat(writer.getEvents().size(), is(1));
+  }
+
+  @Test
+  void test_constructor_should_validate_arguments() {
+    assertThrows(IllegalArgumentException.class, () -> new EntityEventWriter(0, BackpressurePolicy.DROP));
+    assertThrows(NullPointerException.class, () -> new EntityEventWriter(1, null));
+    assertThrows(IllegalArgumentException.class, () -> new EntityEventWriter(1, 1, BackpressurePolicy.SAMPLE, 0));
+  }
+
+  @Test
+  void test_setWriter_should_close_previous_writer() {
+    CapturingWriter first = new CapturingWriter(4, BackpressurePolicy.DROP);
+    CapturingWriter second = new CapturingWriter(4, BackpressurePolicy.DROP);
+    AsyncEntityEventLogger.setWriter(first);
+    AsyncEntityEventLogger.getWriter().publish(EntityEventType.CREATED, createEntity());
+    AsyncEntityEventLogger.setWriter(second);
+
+    assertThat(AsyncEntityEventLogger.getWriter(), is(sameInstance(second)));
+    assertThat(first.getEvents().size(), is(1));
+    assertThat(first.publish(EntityEventType.CREATED, createEntity()), is(false));
+    second.close();
+  }
+
+  private static void awaitIdleWorkers() throws InterruptedException {
+    // an idle worker parks without timeout until an event is published
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!Thread.getAllStackTraces().keySet().stream()
+        .filter(thread -> thread.getName().startsWith("entity-event-writer-"))
+        .allMatch(thread -> thread.getState() == Thread.State.WAITING)) {
+      assertThat(System.nanoTime() < deadline, is(true));
+      Thread.sleep(1);
+    }
+  }
+
+  private static TestEntity createEntity() {
+    TestEntity entity = TestEntity.builder().withName("Test").build();
+    entity.init();
+    return entity;
+  }
+
+  private static class CapturingWriter extends EntityEventWriter {
+
+    private final List<EntityEvent> events = new CopyOnWriteArrayList<>();
+    private final CountDownLatch writing = new CountDownLatch(1);
+    private final CountDownLatch released = new CountDownLatch(1);
+    private volatile boolean blocking;
+
+    CapturingWriter(int capacity, BackpressurePolicy policy) {
+      this(capacity, policy, DEFAULT_SAMPLE_RATE);
+    }
+
+    CapturingWriter(int capacity, BackpressurePolicy policy, int sampleRate) {
+      super(capacity, 1, policy, sampleRate);
+    }
+
+    /** Publishes an event and blocks the worker while it writes this event. */
+    void publishAndWaitUntilWriting(TestEntity entity) throws InterruptedException {
+      this.blocking = true;
+      publish(EntityEventType.CREATED, entity);
+      assertThat(this.writing.await(10, TimeUnit.SECONDS), is(true));
+    }
+
+    void release() {
+      this.released.countDown();
+    }
+
+    List<EntityEvent> getEvents() {
+      return this.events;
+    }
+
+    @Override
+    protected void write(List<EntityEvent> batch) {
+      this.events.addAll(batch);
+      if (this.blocking) {
+        this.writing.countDown();
+        try {
+          this.released.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+}
@@ -1,12 +1,31 @@
 package de.devtime.test.utils.persistence;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import de.devtime.utils.id.IdGenerator;
+import de.devtime.utils.id.IdGenerators;
 import de.devtime.utils.persistence.EntityHelper;
 
 class EntityHelperTest {
@@ -65,4 +84,179 @@ class EntityHelperTest {
     boolean result = EntityHelper.isClassEquals(left, right);
     assertThat(result, is(false));
   }
+
+  @Test
+  void test_isClassEquals_should_return_true_when_left_is_nested_hibernate_proxy() {
+    TestClass left = new NestedHibernateProxyOfTestClass();
+    TestClass right = new HibernateProxyOfTestClass();
+    assertThat(EntityHelper.isClassEquals(left, right), is(true));
+    assertThat(EntityHelper.isClassEquals(left, new TestClass()), is(true));
+  }
+
+  @Test
+  void test_getPersistentClass_should_return_class_behind_proxies() {
+    assertThat(EntityHelper.getPersistentClass(new TestClass()), is(equalTo(TestClass.class)));
+    assertThat(EntityHelper.getPersistentClass(new HibernateProxyOfTestClass()), is(equalTo(TestClass.class)));
+    assertThat(EntityHelper.getPersistentClass(NestedHibernateProxyOfTestClass.class), is(equalTo(TestClass.class)));
+  }
+
+  @Test
+  void test_areClassesEqual_should_compare_pairwise() {
+    List<Object> left = List.of(new TestClass(), new HibernateProxyOfTestClass(), "Hello");
+    List<Object> right = List.of(new NestedHibernateProxyOfTestClass(), new TestClass(), new TestClass());
+    boolean[] result = EntityHelper.areClassesEqual(left, right);
+    assertThat(result, is(equalTo(new boolean[] { true, true, false })));
+  }
+
+  @Test
+  void test_areClassesEqual_should_throw_exception_when_sizes_differ() {
+    List<Object> left = List.of(new TestClass());
+    List<Object> right = List.of();
+    assertThrows(IllegalArgumentException.class, () -> EntityHelper.areClassesEqual(left, right));
+  }
+
+  @Test
+  void test_distinct_should_remove_proxies_and_duplicates_and_prefer_loaded_entities() {
+    TestEntity first = TestEntity.builder().withName("first").build();
+    first.init();
+    TestEntity second = TestEntity.builder().withName("second").build();
+    second.init();
+    TestEntity unsaved = TestEntity.builder().build();
+    HibernateProxyOfTestEntity firstProxy = new HibernateProxyOfTestEntity(first.getId());
+    HibernateProxyOfTestEntity secondProxy = new HibernateProxyOfTestEntity(second.getId());
+
+    List<TestEntity> result = EntityHelper.distinct(
+        List.of(firstProxy, second, unsaved, first, secondProxy, TestEntity.builder().build()));
+
+    assertThat(result.size(), is(4));
+    assertThat(result.get(0), is(sameInstance(first)));
+    assertThat(result.get(1), is(sameInstance(second)));
+    assertThat(result.get(2), is(sameInstance(unsaved)));
+    assertThat(result.get(3).getId(), is((String) null));
+    assertThat(EntityHelper.distinct(List.of(firstProxy, secondProxy)), contains(firstProxy, secondProxy));
+  }
+
+  @Test
+  void test_initAll_should_assign_unique_ids_and_link_like_init_one_by_one() {
+    List<LinkCountingEntity> entities = new LinkedList<>();
+    for (int i = 0; i < 100; i++) {
+      entities.add(new LinkCountingEntity(entities));
+    }
+
+    EntityHelper.initAll(entities);
+
+    Set<String> ids = new HashSet<>();
+    for (LinkCountingEntity entity : entities) {
+      assertThat(UUID.fromString(entity.getId()).version(), is(4));
+      assertThat(entity.linkCount, is(1));
+      assertThat(entity.idsAssignedWhenLinked, is(entities.indexOf(entity) + 1L));
+      ids.add(entity.getId());
+    }
+    assertThat(ids.size(), is(100));
+  }
+
+  @Test
+  void test_initAll_should_assign_unique_ids_in_parallel_for_large_batches() {
+    int size = EntityHelper.PARALLEL_INIT_THRESHOLD * 2 + 17;
+    List<TestEntity> entities = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      entities.add(TestEntity.builder().build());
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      EntityHelper.initAll(entities, pool);
+    } finally {
+      pool.shutdown();
+    }
+
+    Set<String> ids = new HashSet<>();
+    for (TestEntity entity : entities) {
+      assertThat(UUID.fromString(entity.getId()).variant(), is(2));
+      ids.add(entity.getId());
+    }
+    assertThat(ids.size(), is(size));
+  }
+
+  @Test
+  void test_initAll_should_draw_ids_of_asString_wrapped_generators_at_once() {
+    AtomicInteger calls = new AtomicInteger();
+    AtomicLong nextId = new AtomicLong();
+    IdGenerator<Long> numbers = new IdGenerator<>() {
+
+      @Override
+      public Long nextId() {
+        return nextIds(1).get(0);
+      }
+
+      @Override
+      public List<Long> nextIds(int count) {
+        calls.incrementAndGet();
+        return LongStream.range(0, count).mapToObj(i -> nextId.incrementAndGet()).collect(Collectors.toList());
+      }
+    };
+    List<TestEntity> entities = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      entities.add(new TestEntity() {
+
+        @Override
+        protected IdGenerator<String> idGenerator() {
+          // a new wrapper for every call
+          return IdGenerators.asString(numbers);
+        }
+      });
+    }
+
+    EntityHelper.initAll(entities);
+
+    assertThat(calls.get(), is(1));
+    assertThat(entities.get(0).getId(), is("1"));
+    assertThat(entities.get(99).getId(), is("100"));
+  }
+
+  @Test
+  void test_initAll_should_call_overridden_init() {
+    List<TestEntity> initialized = new ArrayList<>();
+    List<TestEntity> entities = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      entities.add(TestEntity.builder().build());
+      entities.add(new TestEntity() {
+
+        @Override
+        public void init() {
+          super.init();
+          initialized.add(this);
+        }
+      });
+    }
+
+    EntityHelper.initAll(entities);
+
+    assertThat(initialized, contains(entities.get(1), entities.get(3), entities.get(5)));
+    for (TestEntity entity : entities) {
+      assertThat(entity.getId(), is(notNullValue()));
+    }
+  }
+
+  private static class LinkCountingEntity extends TestEntity {
+
+    private final List<LinkCountingEntity> batch;
+    private int linkCount;
+    private long idsAssignedWhenLinked;
+
+    LinkCountingEntity(List<LinkCountingEntity> batch) {
+      this.batch = batch;
+    }
+
+    @Override
+    protected void linkReferencedObjects() {
+      this.linkCount++;
+      this.idsAssignedWhenLinked = this.batch.stream().filter(entity -> entity.getId() != null).count();
+    }
+  }
+
+  private static class NestedHibernateProxyOfTestClass extends HibernateProxyOfTestClass {
+
+    private static final long serialVersionUID = 1L;
+  }
 }
@@ -0,0 +1,145 @@
+package de.devtime.test.utils.persistence;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.apache.commons.lang3.reflect.MethodUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import de.devtime.utils.persistence.EntityClassMetrics;
+import de.devtime.utils.persistence.EntityEventType;
+import de.devtime.utils.persistence.EntityMetrics;
+import de.devtime.utils.persistence.EntityMetricsListener;
+
+class EntityMetricsListenerTest {
+
+  private final EntityMetricsListener listener = new EntityMetricsListener();
+
+  @BeforeEach
+  void setUp() {
+    EntityMetrics.getInstance().reset();
+  }
+
+  @Test
+  void test_callbacks_should_count_events_per_entity_class() throws ReflectiveOperationException {
+    TestEntity entity = new TestEntity();
+    invoke("loaded", entity);
+    invoke("loaded", new HibernateProxyOfTestEntity("id"));
+    invoke("removed", entity);
+    invoke("loaded", new TestUuidEntity());
+
+    EntityClassMetrics metrics = EntityMetrics.getInstance().forClass(TestEntity.class);
+    assertThat(metrics.getLoadCount(), is(2L));
+    assertThat(metrics.getRemoveCount(), is(1L));
+    assertThat(metrics.getCount(EntityEventType.CREATED), is(0L));
+    assertThat(EntityMetrics.getInstance().forClass(TestUuidEntity.class).getLoadCount(), is(1L));
+  }
+
+  @Test
+  void test_callbacks_should_record_persist_and_update_latencies() throws ReflectiveOperationException {
+    TestEntity entity = new TestEntity();
+    invoke("persisting", entity);
+    invoke("persisted", entity);
+    invoke("updating", entity);
+    invoke("updated", entity);
+    invoke("updated", entity);
+
+    EntityClassMetrics metrics = EntityMetrics.getInstance().forEntity(entity);
+    assertThat(metrics.getPersistCount(), is(1L));
+    assertThat(metrics.getUpdateCount(), is(2L));
+    assertThat(metrics.getPersistLatency().getCount(), is(1L));
+    assertThat(metrics.getUpdateLatency().getCount(), is(1L));
+    assertThat(metrics.getPersistLatency().getMaxMicros(), is(greaterThan(0.0)));
+  }
+
+  @Test
+  void test_callbacks_should_keep_pending_operations_when_the_limit_is_reached() throws ReflectiveOperationException {
+    TestEntity entity = new TestEntity();
+    invoke("persisting", entity);
+    List<TestEntity> others = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      TestEntity other = new TestEntity();
+      others.add(other);
+      invoke("updating", other);
+    }
+    invoke("persisted", entity);
+    for (TestEntity other : others) {
+      invoke("updated", other);
+    }
+
+    EntityClassMetrics metrics = EntityMetrics.getInstance().forEntity(entity);
+    assertThat(metrics.getPersistLatency().getCount(), is(1L));
+    assertThat(metrics.getUpdateLatency().getCount(), is(9_999L));
+  }
+
+  @Test
+  void test_callbacks_should_drop_pending_operations_when_the_transaction_completes()
+      throws ReflectiveOperationException {
+    TestEntity entity = new TestEntity();
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      invoke("persisting", entity);
+      assertThat(TransactionSynchronizationManager.getResourceMap().size(), is(1));
+      // the flush failed, so the post callback does not happen
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+      assertThat(TransactionSynchronizationManager.getResourceMap().isEmpty(), is(true));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    invoke("persisted", entity);
+
+    assertThat(EntityMetrics.getInstance().forEntity(entity).getPersistLatency().getCount(), is(0L));
+  }
+
+  @Test
+  void test_getAll_should_order_by_activity() throws ReflectiveOperationException {
+    invoke("loaded", new TestUuidEntity());
+    invoke("loaded", new TestEntity());
+    invoke("loaded", new TestEntity());
+
+    List<EntityClassMetrics> all = EntityMetrics.getInstance().getAll();
+    assertThat(all.get(0).getEntityClass(), is(equalTo(TestEntity.class)));
+    assertThat(all.get(1).getEntityClass(), is(equalTo(TestUuidEntity.class)));
+  }
+
+  @Test
+  void test_metrics_should_be_readable_through_jmx() throws Exception {
+    invoke("loaded", new TestEntity());
+    EntityClassMetrics metrics = EntityMetrics.getInstance().forClass(TestEntity.class);
+    assertThat(EntityMetrics.getInstance().forEntity(new TestEntity()), is(sameInstance(metrics)));
+
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = EntityMetrics.getObjectName(TestEntity.class);
+    assertThat(server.getAttribute(name, "LoadCount"), is(1L));
+    assertThat(server.getAttribute(name, "EntityName"), is(TestEntity.class.getName()));
+    CompositeData latency = (CompositeData) server.getAttribute(name, "PersistLatency");
+    assertThat(latency.get("count"), is(0L));
+
+    server.invoke(name, "reset", null, null);
+    assertThat(metrics.getLoadCount(), is(0L));
+  }
+
+  private void invoke(String callback, Object entity) throws ReflectiveOperationException {
+    try {
+      MethodUtils.invokeMethod(this.listener, true, callback, new Object[] { entity }, new Class<?>[] { Object.class });
+    } catch (InvocationTargetException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package de.devtime.test.utils.persistence;
+
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+
+public class HibernateProxyOfTestEntity extends TestEntity implements HibernateProxy {
+
+  private static final long serialVersionUID = 1L;
+
+  private final transient LazyInitializer lazyInitializer;
+
+  public HibernateProxyOfTestEntity(String id) {
+    this.lazyInitializer = new TestLazyInitializer(TestEntity.class, id);
+  }
+
+  @Override
+  public String getId() {
+    return (String) this.lazyInitializer.getInternalIdentifier();
+  }
+
+  @Override
+  public Object writeReplace() {
+    return null;
+  }
+
+  @Override
+  public LazyInitializer getHibernateLazyInitializer() {
+    return this.lazyInitializer;
+  }
+}
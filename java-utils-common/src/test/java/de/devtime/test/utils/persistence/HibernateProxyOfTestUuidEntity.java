@@ -0,0 +1,32 @@
+package de.devtime.test.utils.persistence;
+
+import java.util.UUID;
+
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+
+public class HibernateProxyOfTestUuidEntity extends TestUuidEntity implements HibernateProxy {
+
+  private static final long serialVersionUID = 1L;
+
+  private final transient LazyInitializer lazyInitializer;
+
+  public HibernateProxyOfTestUuidEntity(UUID id) {
+    this.lazyInitializer = new TestLazyInitializer(TestUuidEntity.class, id);
+  }
+
+  @Override
+  public UUID getId() {
+    return (UUID) this.lazyInitializer.getInternalIdentifier();
+  }
+
+  @Override
+  public Object writeReplace() {
+    return null;
+  }
+
+  @Override
+  public LazyInitializer getHibernateLazyInitializer() {
+    return this.lazyInitializer;
+  }
+}
@@ -0,0 +1,50 @@
+package de.devtime.test.utils.persistence;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.jupiter.api.Test;
+
+import de.devtime.utils.persistence.LatencyHistogram;
+import de.devtime.utils.persistence.LatencyStatistics;
+
+class LatencyHistogramTest {
+
+  @Test
+  void test_getStatistics_should_return_zeros_when_nothing_was_recorded() {
+    LatencyStatistics statistics = new LatencyHistogram().getStatistics();
+    assertThat(statistics.getCount(), is(0L));
+    assertThat(statistics.getMeanMicros(), is(0.0));
+    assertThat(statistics.getP99Micros(), is(0.0));
+  }
+
+  @Test
+  void test_getStatistics_should_estimate_percentiles_by_power_of_two_buckets() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 0; i < 98; i++) {
+      histogram.record(1_000);
+    }
+    histogram.record(100_000);
+    histogram.record(1_000_000);
+
+    LatencyStatistics statistics = histogram.getStatistics();
+    assertThat(statistics.getCount(), is(100L));
+    assertThat(statistics.getMeanMicros(), is(closeTo(11.98, 0.001)));
+    assertThat(statistics.getMaxMicros(), is(1000.0));
+    assertThat(statistics.getP50Micros(), is(1.023));
+    assertThat(statistics.getP90Micros(), is(1.023));
+    assertThat(statistics.getP99Micros(), is(131.071));
+  }
+
+  @Test
+  void test_reset_should_remove_all_latencies() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-5);
+    histogram.record(42);
+    assertThat(histogram.getStatistics().getCount(), is(2L));
+    histogram.reset();
+    assertThat(histogram.getStatistics().getCount(), is(0L));
+    assertThat(histogram.getStatistics().getMaxMicros(), is(0.0));
+  }
+}
@@ -0,0 +1,145 @@
+package de.devtime.test.utils.persistence;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import de.devtime.utils.persistence.LoadedEntityAggregator;
+
+class LoadedEntityAggregatorTest {
+
+  @Test
+  void test_flush_should_write_one_summary_ordered_by_count() {
+    CapturingAggregator aggregator = new CapturingAggregator(LoadedEntityAggregator.NO_SAMPLES, false, null);
+    for (int i = 0; i < 12400; i++) {
+      aggregator.loaded(new TestEntity());
+    }
+    for (int i = 0; i < 3; i++) {
+      aggregator.loaded(new TestClass());
+    }
+
+    aggregator.flush();
+    aggregator.flush();
+
+    assertThat(aggregator.summaries, contains("Loaded 12,400 TestEntity, 3 TestClass"));
+    assertThat(aggregator.samples, is(empty()));
+  }
+
+  @Test
+  void test_loaded_should_count_proxies_as_their_entity_class() {
+    CapturingAggregator aggregator = new CapturingAggregator(LoadedEntityAggregator.NO_SAMPLES, false, null);
+    aggregator.loaded(new TestEntity());
+    aggregator.loaded(new HibernateProxyOfTestEntity("id"));
+    aggregator.close();
+    assertThat(aggregator.summaries, contains("Loaded 2 TestEntity"));
+  }
+
+  @Test
+  void test_loaded_should_render_every_nth_entity() {
+    CapturingAggregator aggregator = new CapturingAggregator(3, false, null);
+    TestEntity first = new TestEntity();
+    TestEntity fourth = new TestEntity();
+    aggregator.loaded(first);
+    aggregator.loaded(new TestEntity());
+    aggregator.loaded(new TestEntity());
+    aggregator.loaded(fourth);
+    aggregator.loaded(new TestEntity());
+    assertThat(aggregator.samples, contains(first, fourth));
+  }
+
+  @Test
+  void test_loaded_should_write_summary_after_transaction() {
+    CapturingAggregator aggregator = new CapturingAggregator(LoadedEntityAggregator.NO_SAMPLES, true, null);
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      aggregator.loaded(new TestEntity());
+      aggregator.loaded(new TestEntity());
+      aggregator.loaded(new TestClass());
+      aggregator.flush();
+      assertThat(aggregator.summaries, is(empty()));
+
+      for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+        synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+      }
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertThat(aggregator.summaries, contains("Loaded 2 TestEntity, 1 TestClass"));
+    assertThat(TransactionSynchronizationManager.hasResource(aggregator), is(false));
+  }
+
+  @Test
+  void test_loaded_should_count_globally_without_transaction_in_transaction_mode() {
+    CapturingAggregator aggregator = new CapturingAggregator(LoadedEntityAggregator.NO_SAMPLES, true, null);
+    aggregator.loaded(new TestEntity());
+    aggregator.flush();
+    assertThat(aggregator.summaries, contains("Loaded 1 TestEntity"));
+  }
+
+  @Test
+  void test_perTransaction_should_write_summaries_of_entities_loaded_without_transaction_periodically()
+      throws InterruptedException {
+    CapturingAggregator aggregator = new CapturingAggregator(LoadedEntityAggregator.NO_SAMPLES, true,
+        Duration.ofMillis(10));
+    aggregator.loaded(new TestEntity());
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (aggregator.summaries.isEmpty() && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(aggregator.summaries, contains("Loaded 1 TestEntity"));
+    aggregator.close();
+  }
+
+  @Test
+  void test_perInterval_should_write_summaries_periodically() throws InterruptedException {
+    CapturingAggregator aggregator = new CapturingAggregator(LoadedEntityAggregator.NO_SAMPLES, false,
+        Duration.ofMillis(10));
+    aggregator.loaded(new TestEntity());
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (aggregator.summaries.isEmpty() && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    aggregator.close();
+    assertThat(aggregator.summaries, contains("Loaded 1 TestEntity"));
+  }
+
+  @Test
+  void test_factories_should_validate_arguments() {
+    assertThrows(IllegalArgumentException.class, () -> LoadedEntityAggregator.perInterval(Duration.ZERO, 1));
+    assertThrows(IllegalArgumentException.class, () -> LoadedEntityAggregator.perTransaction(-1));
+    assertThrows(IllegalArgumentException.class,
+        () -> LoadedEntityAggregator.perTransaction(1, Duration.ofSeconds(-1)));
+  }
+
+  private static class CapturingAggregator extends LoadedEntityAggregator {
+
+    private final List<String> summaries = new CopyOnWriteArrayList<>();
+    private final List<Object> samples = new CopyOnWriteArrayList<>();
+
+    CapturingAggregator(int sampleRate, boolean perTransaction, Duration interval) {
+      super(sampleRate, perTransaction, interval);
+    }
+
+    @Override
+    protected void writeSummary(String summary) {
+      this.summaries.add(summary);
+    }
+
+    @Override
+    protected void writeSample(Object entity) {
+      this.samples.add(entity);
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package de.devtime.test.utils.persistence;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.hibernate.Hibernate;
+import org.hibernate.collection.internal.PersistentSet;
+import org.junit.jupiter.api.Test;
+
+import de.devtime.utils.logging.CustomToStringStyle;
+import de.devtime.utils.persistence.PersistenceToStringStyle;
+
+class PersistenceToStringStyleTest {
+
+  @Test
+  void test_toString_should_render_identifier_of_uninitialized_proxy() {
+    TestReferencingEntity entity = new TestReferencingEntity();
+    entity.setReference(new HibernateProxyOfTestEntity("4711"));
+
+    String result = entity.toString();
+
+    assertThat(result, containsString("reference=TestEntity[id=4711]"));
+    assertThat(Hibernate.isInitialized(entity.getReference()), is(false));
+  }
+
+  @Test
+  void test_toString_should_render_placeholder_for_uninitialized_collection() {
+    TestReferencingEntity entity = new TestReferencingEntity();
+    entity.setReferenceSet(uninitializedSet());
+
+    String result = entity.toString();
+
+    assertThat(result, containsString("referenceSet=<uninitialized>"));
+    assertThat(Hibernate.isInitialized(entity.getReferenceSet()), is(false));
+  }
+
+  @Test
+  void test_toString_should_render_identifier_of_uninitialized_proxy_in_collection() {
+    TestReferencingEntity entity = new TestReferencingEntity();
+    entity.setReferenceList(List.of(new HibernateProxyOfTestEntity("4711"), new HibernateProxyOfTestEntity("4712")));
+
+    String result = entity.toString();
+
+    assertThat(result, containsString("referenceList=<size=2>[TestEntity[id=4711], TestEntity[id=4712]]"));
+  }
+
+  @Test
+  void test_toString_should_render_target_of_initialized_proxy() {
+    TestEntity target = TestEntity.builder().withName("Target").build();
+    HibernateProxyOfTestEntity proxy = new HibernateProxyOfTestEntity("4711");
+    proxy.getHibernateLazyInitializer().setImplementation(target);
+    TestReferencingEntity entity = new TestReferencingEntity();
+    entity.setReference(proxy);
+
+    String result = entity.toString();
+
+    assertThat(result, containsString("reference=TestEntity[name=Target, "));
+  }
+
+  @Test
+  void test_render_should_match_reflection_output() {
+    TestReferencingEntity entity = new TestReferencingEntity();
+    entity.setReference(new HibernateProxyOfTestEntity("4711"));
+    entity.setReferenceSet(uninitializedSet());
+
+    String result = PersistenceToStringStyle.PARAMETRIZED_STYLE.render(entity);
+
+    assertThat(result, is(ToStringBuilder.reflectionToString(entity, PersistenceToStringStyle.PARAMETRIZED_STYLE)));
+    assertThat(result, is(entity.toString()));
+  }
+
+  @Test
+  void test_parametrized_style_should_use_settings_of_custom_parametrized_style() {
+    CustomToStringStyle expected = CustomToStringStyle.PARAMETRIZED_STYLE;
+    PersistenceToStringStyle style = PersistenceToStringStyle.PARAMETRIZED_STYLE;
+
+    assertThat(style.getMaxItemPrintAmount(), is(expected.getMaxItemPrintAmount()));
+    assertThat(style.getMaxCharacters(), is(expected.getMaxCharacters()));
+    assertThat(style.getMaxDepth(), is(expected.getMaxDepth()));
+    assertThat(style.isUseLoggingIdAnnotationForReferencedObjects(),
+        is(expected.isUseLoggingIdAnnotationForReferencedObjects()));
+  }
+
+  @Test
+  void test_render_should_render_identifier_of_uninitialized_root_proxy() {
+    String result = PersistenceToStringStyle.PARAMETRIZED_STYLE.render(new HibernateProxyOfTestEntity("4711"));
+
+    assertThat(result, is("TestEntity[id=4711]"));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Set<TestEntity> uninitializedSet() {
+    // the persistent collections of Hibernate 5 are raw types
+    return new PersistentSet();
+  }
+}
@@ -4,6 +4,7 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Table;
 
+import de.devtime.utils.logging.annotations.GenerateToString;
 import de.devtime.utils.persistence.AbstractPersistable;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,6 +17,7 @@ import lombok.Setter;
 @Getter
 @Setter
 @Builder(setterPrefix = "with")
+@GenerateToString
 
 @Entity
 @Table(name = "TestEntity")
@@ -0,0 +1,20 @@
+package de.devtime.test.utils.persistence;
+
+import java.io.Serializable;
+
+import org.hibernate.proxy.AbstractLazyInitializer;
+
+public class TestLazyInitializer extends AbstractLazyInitializer {
+
+  private final Class<?> persistentClass;
+
+  public TestLazyInitializer(Class<?> persistentClass, Serializable id) {
+    super(persistentClass.getName(), id, null);
+    this.persistentClass = persistentClass;
+  }
+
+  @Override
+  public Class<?> getPersistentClass() {
+    return this.persistentClass;
+  }
+}
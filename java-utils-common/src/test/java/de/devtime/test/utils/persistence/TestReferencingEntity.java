@@ -0,0 +1,24 @@
+package de.devtime.test.utils.persistence;
+
+import java.util.List;
+import java.util.Set;
+
+import de.devtime.utils.logging.annotations.GenerateToString;
+import de.devtime.utils.persistence.AbstractPersistable;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@GenerateToString
+public class TestReferencingEntity extends AbstractPersistable {
+
+  private TestEntity reference;
+  private List<TestEntity> referenceList;
+  private Set<TestEntity> referenceSet;
+
+  @Override
+  protected void linkReferencedObjects() {
+    // nothing to do
+  }
+}
@@ -0,0 +1,33 @@
+package de.devtime.test.utils.persistence;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+
+import de.devtime.utils.logging.annotations.GenerateToString;
+import de.devtime.utils.persistence.AbstractUuidPersistable;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@Getter
+@Setter
+@GenerateToString
+
+@Entity
+@Table(name = "TestUuidEntity")
+public class TestUuidEntity extends AbstractUuidPersistable {
+
+  @Column(name = "NAME", length = 256)
+  private String name;
+
+  public TestUuidEntity(String name) {
+    this.name = name;
+  }
+
+  @Override
+  protected void linkReferencedObjects() {
+    // nothing to do
+  }
+}
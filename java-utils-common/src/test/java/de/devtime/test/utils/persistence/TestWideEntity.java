@@ -0,0 +1,33 @@
+package de.devtime.test.utils.persistence;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+
+import de.devtime.utils.persistence.AbstractPersistable;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@Getter
+@Setter
+
+@Entity
+@Table(name = "TestWideEntity")
+public class TestWideEntity extends AbstractPersistable {
+
+  @Column(name = "NAME", length = 256)
+  private String name;
+
+  @Column(name = "DESCRIPTION", length = 4000)
+  private String description;
+
+  @Column(name = "AMOUNT")
+  private int amount;
+
+  @Override
+  protected void linkReferencedObjects() {
+    // nothing to do
+  }
+}
@@ -0,0 +1,59 @@
+package de.devtime.test.utils.persistence;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import de.devtime.utils.id.TimeOrderedUuidGenerator;
+import de.devtime.utils.persistence.UuidBinaryConverter;
+
+class UuidBinaryConverterTest {
+
+  private final UuidBinaryConverter converter = new UuidBinaryConverter();
+
+  @Test
+  void test_convert_should_restore_uuid() {
+    UUID uuid = UUID.randomUUID();
+    byte[] bytes = this.converter.convertToDatabaseColumn(uuid);
+    assertThat(bytes.length, is(16));
+    assertThat(this.converter.convertToEntityAttribute(bytes), is(equalTo(uuid)));
+  }
+
+  @Test
+  void test_convert_should_write_big_endian() {
+    UUID uuid = UUID.fromString("00112233-4455-6677-8899-aabbccddeeff");
+    byte[] expected = {
+        0x00, 0x11, 0x22, 0x33, 0x44, 0x55, 0x66, 0x77, (byte) 0x88, (byte) 0x99, (byte) 0xaa, (byte) 0xbb,
+        (byte) 0xcc, (byte) 0xdd, (byte) 0xee, (byte) 0xff
+    };
+    assertThat(this.converter.convertToDatabaseColumn(uuid), is(equalTo(expected)));
+  }
+
+  @Test
+  void test_convert_should_keep_order_of_time_ordered_uuids() {
+    TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator();
+    byte[] first = this.converter.convertToDatabaseColumn(generator.nextId());
+    byte[] second = this.converter.convertToDatabaseColumn(generator.nextId());
+    assertThat(Arrays.compareUnsigned(first, second), is(lessThan(0)));
+  }
+
+  @Test
+  void test_convert_should_handle_null() {
+    assertThat(this.converter.convertToDatabaseColumn(null), is(nullValue()));
+    assertThat(this.converter.convertToEntityAttribute(null), is(nullValue()));
+  }
+
+  @Test
+  void test_fromBytes_should_reject_invalid_length() {
+    byte[] bytes = new byte[15];
+    assertThrows(IllegalArgumentException.class, () -> UuidBinaryConverter.fromBytes(bytes));
+  }
+}
@@ -0,0 +1,187 @@
+package de.devtime.test.utils.persistence.journal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.devtime.utils.persistence.EntityEventType;
+import de.devtime.utils.persistence.journal.AuditJournal;
+import de.devtime.utils.persistence.journal.AuditJournalReader;
+
+class AuditJournalTest {
+
+  private static final int SEGMENT_SIZE = 4096;
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void test_read_should_return_appended_records() throws IOException {
+    UUID id = UUID.randomUUID();
+    try (AuditJournal journal = AuditJournal.open(this.directory)) {
+      int classId = journal.getEntityClassId("de.devtime.Order");
+      journal.append(EntityEventType.CREATED, classId, id.getMostSignificantBits(), id.getLeastSignificantBits(), 42L,
+          null);
+      journal.append(EntityEventType.UPDATED, classId, 0L, 7L, 43L, "payload".getBytes(StandardCharsets.UTF_8));
+    }
+
+    List<String> records = new ArrayList<>();
+    long count = new AuditJournalReader(this.directory).read(record -> records.add(record.getEventType() + " "
+        + record.getEntityClassName() + " " + record.getId() + " " + record.getTimestamp() + " "
+        + record.getPayloadAsString()));
+
+    assertThat(count, is(2L));
+    assertThat(records, contains("CREATED de.devtime.Order " + id + " 42 ",
+        "UPDATED de.devtime.Order " + new UUID(0L, 7L) + " 43 payload"));
+  }
+
+  @Test
+  void test_append_should_roll_segments() throws IOException {
+    try (AuditJournal journal = AuditJournal.open(this.directory, SEGMENT_SIZE)) {
+      int classId = journal.getEntityClassId("de.devtime.Order");
+      for (int i = 0; i < 1000; i++) {
+        journal.append(EntityEventType.LOADED, classId, 0L, i, i, null);
+      }
+    }
+
+    List<Long> ids = readIds();
+    assertThat(ids.size(), is(1000));
+    for (int i = 0; i < 1000; i++) {
+      assertThat(ids.get(i), is((long) i));
+    }
+    assertThat(this.directory.toFile().list((dir, name) -> name.endsWith(".journal")).length, is(greaterThan(10)));
+  }
+
+  @Test
+  void test_open_should_continue_after_the_last_record_and_keep_class_ids() throws IOException {
+    try (AuditJournal journal = AuditJournal.open(this.directory, SEGMENT_SIZE)) {
+      journal.getEntityClassId("de.devtime.Order");
+      journal.append(EntityEventType.CREATED, journal.getEntityClassId("de.devtime.Customer"), 0L, 1L, 1L, null);
+    }
+    try (AuditJournal journal = AuditJournal.open(this.directory, SEGMENT_SIZE)) {
+      assertThat(journal.getEntityClassId("de.devtime.Customer"), is(1));
+      assertThat(journal.getEntityClassId("de.devtime.Invoice"), is(2));
+      journal.append(EntityEventType.REMOVED, 1, 0L, 2L, 2L, null);
+      assertThat(journal.getDiscardedBytes(), is(0L));
+    }
+
+    assertThat(readIds(), contains(1L, 2L));
+    assertThat(new AuditJournalReader(this.directory).getEntityClassNames(),
+        contains("de.devtime.Order", "de.devtime.Customer", "de.devtime.Invoice"));
+  }
+
+  @Test
+  void test_open_should_discard_partially_written_record() throws IOException {
+    try (AuditJournal journal = AuditJournal.open(this.directory, SEGMENT_SIZE)) {
+      journal.append(EntityEventType.CREATED, 0, 0L, 1L, 1L, null);
+      journal.append(EntityEventType.CREATED, 0, 0L, 2L, 2L, "torn".getBytes(StandardCharsets.UTF_8));
+    }
+    // simulate a crash while the payload of the second record was written
+    Path segment = this.directory.resolve("0000000000000001.journal");
+    try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(new byte[] { 'X' }), 16 + 48 + 48 + 1);
+    }
+    assertThat(readIds(), contains(1L));
+
+    try (AuditJournal journal = AuditJournal.open(this.directory, SEGMENT_SIZE)) {
+      assertThat(journal.getDiscardedBytes(), is(equalTo(56L)));
+      journal.append(EntityEventType.UPDATED, 0, 0L, 3L, 3L, null);
+    }
+    assertThat(readIds(), contains(1L, 3L));
+  }
+
+  @Test
+  void test_append_should_store_stable_event_type_codes() throws IOException {
+    try (AuditJournal journal = AuditJournal.open(this.directory, SEGMENT_SIZE)) {
+      journal.append(EntityEventType.CREATED, 0, 0L, 1L, 1L, null);
+      journal.append(EntityEventType.UPDATED, 0, 0L, 2L, 2L, null);
+      journal.append(EntityEventType.REMOVED, 0, 0L, 3L, 3L, null);
+      journal.append(EntityEventType.LOADED, 0, 0L, 4L, 4L, null);
+    }
+
+    ByteBuffer segment = ByteBuffer.wrap(Files.readAllBytes(this.directory.resolve("0000000000000001.journal")));
+    List<Integer> codes = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      codes.add(segment.getInt(16 + i * 48 + 40));
+    }
+    assertThat(codes, contains(0, 1, 2, 3));
+  }
+
+  @Test
+  void test_read_should_resolve_entity_classes_registered_while_reading() throws IOException {
+    List<String> classNames = new ArrayList<>();
+    try (AuditJournal journal = AuditJournal.open(this.directory, SEGMENT_SIZE)) {
+      journal.append(EntityEventType.CREATED, journal.getEntityClassId("de.devtime.Order"), 0L, 1L, 1L, null);
+
+      new AuditJournalReader(this.directory).read(record -> {
+        classNames.add(record.getEntityClassName());
+        if (classNames.size() == 1) {
+          journal.append(EntityEventType.CREATED, journal.getEntityClassId("de.devtime.Customer"), 0L, 2L, 2L, null);
+        }
+      });
+    }
+
+    assertThat(classNames, contains("de.devtime.Order", "de.devtime.Customer"));
+  }
+
+  @Test
+  void test_open_should_discard_partially_written_entity_class_name() throws IOException {
+    try (AuditJournal journal = AuditJournal.open(this.directory, SEGMENT_SIZE)) {
+      journal.getEntityClassId("de.devtime.Order");
+    }
+    // simulate a crash while the second name was written
+    Files.writeString(this.directory.resolve("entity-classes.txt"), "de.devtime.Cust", StandardCharsets.UTF_8,
+        StandardOpenOption.APPEND);
+
+    try (AuditJournal journal = AuditJournal.open(this.directory, SEGMENT_SIZE)) {
+      assertThat(journal.getEntityClassId("de.devtime.Order"), is(0));
+      assertThat(journal.getEntityClassId("de.devtime.Invoice"), is(1));
+      journal.append(EntityEventType.CREATED, 1, 0L, 1L, 1L, null);
+    }
+
+    List<String> classNames = new ArrayList<>();
+    new AuditJournalReader(this.directory).read(record -> classNames.add(record.getEntityClassName()));
+    assertThat(classNames, contains("de.devtime.Invoice"));
+    assertThat(new AuditJournalReader(this.directory).getEntityClassNames(),
+        contains("de.devtime.Order", "de.devtime.Invoice"));
+  }
+
+  @Test
+  void test_append_should_reject_payloads_that_do_not_fit_into_a_segment() throws IOException {
+    try (AuditJournal journal = AuditJournal.open(this.directory, SEGMENT_SIZE)) {
+      byte[] payload = new byte[SEGMENT_SIZE];
+      assertThrows(IllegalArgumentException.class,
+          () -> journal.append(EntityEventType.CREATED, 0, 0L, 1L, 1L, payload));
+    }
+  }
+
+  @Test
+  void test_append_should_fail_after_close() throws IOException {
+    AuditJournal journal = AuditJournal.open(this.directory, SEGMENT_SIZE);
+    journal.close();
+    assertThrows(IllegalStateException.class, () -> journal.append(EntityEventType.CREATED, 0, 0L, 1L, 1L, null));
+  }
+
+  private List<Long> readIds() throws IOException {
+    List<Long> ids = new ArrayList<>();
+    new AuditJournalReader(this.directory).read(record -> ids.add(record.getIdLow()));
+    return ids;
+  }
+}
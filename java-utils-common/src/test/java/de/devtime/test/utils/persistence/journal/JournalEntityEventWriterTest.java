@@ -0,0 +1,87 @@
+package de.devtime.test.utils.persistence.journal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.devtime.test.utils.persistence.TestEntity;
+import de.devtime.test.utils.persistence.TestUuidEntity;
+import de.devtime.utils.id.IdGenerator;
+import de.devtime.utils.id.IdGenerators;
+import de.devtime.utils.persistence.BackpressurePolicy;
+import de.devtime.utils.persistence.EntityEventType;
+import de.devtime.utils.persistence.journal.AuditJournal;
+import de.devtime.utils.persistence.journal.AuditJournalReader;
+import de.devtime.utils.persistence.journal.JournalEntityEventWriter;
+
+class JournalEntityEventWriterTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void test_write_should_append_events_to_the_journal() throws IOException {
+    TestEntity entity = TestEntity.builder().build();
+    entity.init();
+    TestUuidEntity uuidEntity = new TestUuidEntity("Test");
+    uuidEntity.init();
+    TestEntity entityWithoutId = TestEntity.builder().build();
+
+    try (JournalEntityEventWriter writer = new JournalEntityEventWriter(AuditJournal.open(this.directory), 16,
+        BackpressurePolicy.BLOCK)) {
+      writer.publish(EntityEventType.CREATED, entity);
+      writer.publish(EntityEventType.LOADED, uuidEntity);
+      writer.publish(EntityEventType.REMOVED, entityWithoutId);
+    }
+
+    List<String> records = new ArrayList<>();
+    new AuditJournalReader(this.directory).read(record -> records.add(record.getEventType() + " "
+        + record.getEntityClassName() + " " + record.getIdKind() + " " + record.getId() + " "
+        + record.getPayloadLength()));
+
+    assertThat(records, contains(
+        "CREATED " + TestEntity.class.getName() + " UUID " + entity.getId() + " 0",
+        "LOADED " + TestUuidEntity.class.getName() + " UUID " + uuidEntity.getId() + " 0",
+        "REMOVED " + TestEntity.class.getName() + " NONE " + new UUID(0L, 0L) + " 0"));
+    assertThat(new AuditJournalReader(this.directory).getEntityClassNames().size(), is(2));
+  }
+
+  @Test
+  void test_write_should_store_numeric_string_ids_as_number() throws IOException {
+    try (JournalEntityEventWriter writer = new JournalEntityEventWriter(AuditJournal.open(this.directory), 16,
+        BackpressurePolicy.BLOCK)) {
+      writer.publish(EntityEventType.CREATED, createEntity(IdGenerators.asString(() -> 4711L)));
+      writer.publish(EntityEventType.CREATED, createEntity(IdGenerators.asString(() -> Long.MIN_VALUE)));
+      writer.publish(EntityEventType.CREATED, createEntity(IdGenerators.asString(() -> "0042")));
+      writer.publish(EntityEventType.CREATED, createEntity(IdGenerators.asString(() -> "order-1")));
+    }
+
+    List<String> records = new ArrayList<>();
+    new AuditJournalReader(this.directory).read(record -> records.add(record.getIdKind() + " "
+        + record.getIdAsString() + " " + record.getPayloadLength()));
+
+    assertThat(records, contains("NUMBER 4711 0", "NUMBER " + Long.MIN_VALUE + " 0", "PAYLOAD 0042 4",
+        "PAYLOAD order-1 7"));
+  }
+
+  private static TestEntity createEntity(IdGenerator<String> ids) {
+    TestEntity entity = new TestEntity() {
+
+      @Override
+      protected IdGenerator<String> idGenerator() {
+        return ids;
+      }
+    };
+    entity.init();
+    return entity;
+  }
+}
@@ -1,20 +1,20 @@
 package de.devtime.utils.logging;
 
-import java.lang.reflect.Field;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
-import org.apache.commons.lang3.reflect.FieldUtils;
 
-import de.devtime.utils.logging.annotations.LoggingId;
+import de.devtime.utils.logging.LimitedAppendable.LimitExceededException;
+import de.devtime.utils.logging.ToStringMetadata.FieldAccessor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -22,18 +22,34 @@ public abstract class CustomToStringStyle extends ToStringStyle {
 
   private static final long serialVersionUID = 1L;
 
-  public static final ToStringStyle PARAMETRIZED_STYLE = new ParametrizedToStringStyle();
+  /** Value of {@link #setMaxCharacters(int)} and {@link #setMaxDepth(int)} that disables the limit. */
+  public static final int UNLIMITED = Integer.MAX_VALUE;
+
+  public static final CustomToStringStyle PARAMETRIZED_STYLE = new ParametrizedToStringStyle();
+
+  private static final int DEFAULT_RENDER_CAPACITY = 512;
+
+  private static final ThreadLocal<NestingState> NESTING_STATE = ThreadLocal.withInitial(NestingState::new);
+
+  /** State of the current thread while nested objects are rendered. */
+  private static final class NestingState {
+
+    /** Amount of nested {@code toString()} calls that were started while rendering. */
+    private int depth;
+
+    /** Object whose fields are currently written by {@link CustomToStringStyle#render(Object)}. */
+    private Object root;
+
+    /** Whether the root object is registered in the registry of {@link ToStringStyle}. */
+    private boolean rootRegistered;
+  }
 
   private static final class ParametrizedToStringStyle extends CustomToStringStyle {
 
     private static final long serialVersionUID = 1L;
 
     ParametrizedToStringStyle() {
-      setFieldSeparator(", ");
-      setUseShortClassName(true);
-      setUseIdentityHashCode(false);
-      setUseLoggingIdAnnotationForReferencedObjects(true);
-      setMaxItemPrintAmount(2);
+      applyParametrizedSettings();
     }
 
     private Object readResolve() {
@@ -43,6 +59,25 @@ public abstract class CustomToStringStyle extends ToStringStyle {
 
   private boolean useLoggingIdAnnotationForReferencedObjects;
   private int maxItemPrintAmount;
+  private int maxCharacters = UNLIMITED;
+  private int maxDepth = UNLIMITED;
+  private String truncationText = "<truncated>";
+
+  /**
+   * Applies the settings of {@link #PARAMETRIZED_STYLE} to this style. Subclasses call this method in their constructor
+   * to provide a parametrized variant that renders like {@link #PARAMETRIZED_STYLE}.
+   *
+   * @since 0.0.1
+   */
+  protected final void applyParametrizedSettings() {
+    setFieldSeparator(", ");
+    setUseShortClassName(true);
+    setUseIdentityHashCode(false);
+    setUseLoggingIdAnnotationForReferencedObjects(true);
+    setMaxItemPrintAmount(2);
+    setMaxCharacters(64 * 1024);
+    setMaxDepth(3);
+  }
 
   public boolean isUseLoggingIdAnnotationForReferencedObjects() {
     return this.useLoggingIdAnnotationForReferencedObjects;
@@ -60,268 +95,570 @@ public abstract class CustomToStringStyle extends ToStringStyle {
     this.maxItemPrintAmount = maxItemPrintAmount;
   }
 
-  @Override
-  protected void appendDetail(final StringBuffer buffer, final String fieldName, final Object value) {
-    if (isUseLoggingIdAnnotationForReferencedObjects()) {
-      handleReferencedObjects(buffer, fieldName, value);
-    } else {
-      buffer.append(value);
+  public int getMaxCharacters() {
+    return this.maxCharacters;
+  }
+
+  /**
+   * Sets the maximum amount of characters that are rendered for an object. If the limit is exceeded, the rendering stops
+   * immediately and the {@link #getTruncationText() truncation text} is appended.
+   *
+   * @param maxCharacters maximum amount of characters or {@link #UNLIMITED}
+   * @since 0.0.1
+   */
+  public void setMaxCharacters(int maxCharacters) {
+    this.maxCharacters = maxCharacters;
+  }
+
+  public int getMaxDepth() {
+    return this.maxDepth;
+  }
+
+  /**
+   * Sets the maximum amount of nested objects that are rendered by calling their {@code toString()} method, e.g.
+   * referenced objects without {@link de.devtime.utils.logging.annotations.LoggingId} field. Objects below this depth
+   * are only rendered with their class name, nested collections, maps and arrays only with their size. Other classes
+   * of the JDK are always rendered.
+   *
+   * @param maxDepth maximum nesting depth or {@link #UNLIMITED}
+   * @since 0.0.1
+   */
+  public void setMaxDepth(int maxDepth) {
+    this.maxDepth = maxDepth;
+  }
+
+  public String getTruncationText() {
+    return this.truncationText;
+  }
+
+  public void setTruncationText(String truncationText) {
+    this.truncationText = truncationText;
+  }
+
+  /**
+   * Renders the given object with this style. The result is identical to
+   * {@link ToStringBuilder#reflectionToString(Object, ToStringStyle)}, but the object is rendered into an unsynchronized
+   * {@link StringBuilder} instead of a {@link StringBuffer}.
+   *
+   * @param object the object to render
+   * @return string representation of the object
+   * @since 0.0.1
+   */
+  public String render(final Object object) {
+    StringBuilder builder = new StringBuilder(DEFAULT_RENDER_CAPACITY);
+    renderTo(builder, object);
+    return builder.toString();
+  }
+
+  /**
+   * Renders the given object with this style and appends the result to the builder. This way a logging framework can
+   * pass its own reusable buffer, so that no intermediate string is created.
+   *
+   * @param builder a builder to append to <i>(not null)</i>
+   * @param object the object to render
+   * @since 0.0.1
+   * @see #render(Object)
+   */
+  public void renderTo(final StringBuilder builder, final Object object) {
+    try {
+      renderTo((Appendable) builder, object);
+    } catch (IOException e) {
+      // a StringBuilder does not throw any IOException
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Renders the given object with this style and writes the result directly to the appendable, e.g. a
+   * {@link java.io.Writer}. The output is identical to {@link ToStringBuilder#reflectionToString(Object, ToStringStyle)}.
+   * Classes whose fields are not accessible and arrays are rendered by {@link ToStringBuilder} as a whole.
+   *
+   * @param appendable an appendable to write to <i>(not null)</i>
+   * @param object the object to render
+   * @throws IOException if writing to the appendable fails
+   * @since 0.0.1
+   * @see #render(Object)
+   */
+  public void renderTo(final Appendable appendable, final Object object) throws IOException {
+    if (getMaxCharacters() == UNLIMITED) {
+      writeObject(appendable, object);
+      return;
+    }
+    try {
+      writeObject(new LimitedAppendable(appendable, getMaxCharacters(), getTruncationText()), object);
+    } catch (LimitExceededException e) {
+      // the rendering was stopped after the truncation text was written
     }
   }
 
   @Override
-  protected void appendDetail(StringBuffer buffer, String fieldName, Collection<?> coll) {
-    if (coll.size() > getMaxItemPrintAmount()) {
-      Collection<Object> subset = new ArrayList<>();
-      int counter = 0;
-      Iterator<?> iterator = coll.iterator();
-      while (iterator.hasNext() && counter < getMaxItemPrintAmount()) {
-        subset.add(iterator.next());
-        counter++;
+  public void append(final StringBuffer buffer, final String fieldName, final Object value, final Boolean fullDetail) {
+    if (buffer.length() >= getMaxCharacters()) {
+      if (!isTruncated(buffer)) {
+        buffer.append(getTruncationText());
       }
-      appendCollectionDetails(buffer, fieldName, coll.size(), subset, false);
+      return;
+    }
+    String unloadedValueText = value == null ? null : getUnloadedValueText(value);
+    if (unloadedValueText == null) {
+      super.append(buffer, fieldName, value == null ? null : resolveValue(value), fullDetail);
     } else {
-      appendCollectionDetails(buffer, fieldName, coll.size(), coll, false);
+      appendFieldStart(buffer, fieldName);
+      buffer.append(unloadedValueText);
+      appendFieldEnd(buffer, fieldName);
     }
   }
 
+  /**
+   * Returns the text that is rendered instead of a value that is not loaded yet, e.g. an uninitialized proxy of a
+   * persistence framework, because rendering the value would load it. The default implementation treats all values as
+   * loaded.
+   *
+   * @param value the value to render <i>(not null)</i>
+   * @return the text to render instead of the value or {@code null} if the value is loaded
+   * @since 0.0.1
+   */
+  protected String getUnloadedValueText(final Object value) {
+    return null;
+  }
+
+  /**
+   * Returns the object that is rendered for a loaded value, e.g. the target of an initialized proxy. The default
+   * implementation returns the value itself.
+   *
+   * @param value a loaded value <i>(not null)</i>
+   * @return the object to render <i>(not null)</i>
+   * @since 0.0.1
+   */
+  protected Object resolveValue(final Object value) {
+    return value;
+  }
+
+  @Override
+  protected void appendDetail(final StringBuffer buffer, final String fieldName, final Object value) {
+    appendDetailUnchecked(buffer, value);
+  }
+
+  @Override
+  protected void appendDetail(StringBuffer buffer, String fieldName, Collection<?> coll) {
+    appendDetailUnchecked(buffer, coll);
+  }
+
   @Override
   protected void appendDetail(StringBuffer buffer, String fieldName, Map<?, ?> map) {
-    int originSize = map.size();
-    if (originSize > getMaxItemPrintAmount()) {
-      Map<Object, Object> submap = new HashMap<>();
-      List<Object> keys = new ArrayList<>(map.keySet());
-      Collections.sort(keys, Comparator.comparing(Object::toString));
-      for (int i = 0; i < getMaxItemPrintAmount(); i++) {
-        Object key = keys.get(i);
-        Object value = map.get(key);
-        submap.put(key, value);
-      }
-      appendMapDetails(buffer, fieldName, originSize, submap);
-    } else {
-      appendMapDetails(buffer, fieldName, originSize, map);
-    }
+    appendDetailUnchecked(buffer, map);
   }
 
   @Override
   protected void appendDetail(StringBuffer buffer, String fieldName, long[] array) {
-    int originSize = array.length;
-    List<Long> itemsToLog;
-    if (originSize > getMaxItemPrintAmount()) {
-      itemsToLog = Arrays.stream(array, 0, getMaxItemPrintAmount())
-          .boxed()
-          .toList();
-    } else {
-      itemsToLog = Arrays.stream(array, 0, originSize)
-          .boxed()
-          .toList();
-    }
-    appendCollectionDetails(buffer, fieldName, originSize, itemsToLog, true);
+    appendDetailUnchecked(buffer, array);
   }
 
   @Override
   protected void appendDetail(StringBuffer buffer, String fieldName, int[] array) {
-    int originSize = array.length;
-    List<Integer> itemsToLog;
-    if (originSize > getMaxItemPrintAmount()) {
-      itemsToLog = Arrays.stream(array, 0, getMaxItemPrintAmount())
-          .boxed()
-          .toList();
-    } else {
-      itemsToLog = Arrays.stream(array, 0, originSize)
-          .boxed()
-          .toList();
-    }
-    appendCollectionDetails(buffer, fieldName, originSize, itemsToLog, true);
+    appendDetailUnchecked(buffer, array);
   }
 
   @Override
   protected void appendDetail(StringBuffer buffer, String fieldName, short[] array) {
-    int originSize = array.length;
-    List<Short> itemsToLog = new ArrayList<>();
-    if (originSize > getMaxItemPrintAmount()) {
-      for (int i = 0; i < getMaxItemPrintAmount(); i++) {
-        itemsToLog.add(array[i]);
-      }
-    } else {
-      for (int i = 0; i < originSize; i++) {
-        itemsToLog.add(array[i]);
-      }
-    }
-    appendCollectionDetails(buffer, fieldName, originSize, itemsToLog, true);
+    appendDetailUnchecked(buffer, array);
   }
 
   @Override
   protected void appendDetail(StringBuffer buffer, String fieldName, byte[] array) {
-    int originSize = array.length;
-    List<Byte> itemsToLog = new ArrayList<>();
-    if (originSize > getMaxItemPrintAmount()) {
-      for (int i = 0; i < getMaxItemPrintAmount(); i++) {
-        itemsToLog.add(array[i]);
-      }
-    } else {
-      for (int i = 0; i < originSize; i++) {
-        itemsToLog.add(array[i]);
-      }
-    }
-    appendCollectionDetails(buffer, fieldName, originSize, itemsToLog, true);
+    appendDetailUnchecked(buffer, array);
   }
 
   @Override
   protected void appendDetail(StringBuffer buffer, String fieldName, char[] array) {
-    int originSize = array.length;
-    List<Character> itemsToLog = new ArrayList<>();
-    if (originSize > getMaxItemPrintAmount()) {
-      for (int i = 0; i < getMaxItemPrintAmount(); i++) {
-        itemsToLog.add(array[i]);
-      }
-    } else {
-      for (int i = 0; i < originSize; i++) {
-        itemsToLog.add(array[i]);
-      }
-    }
-    appendCollectionDetails(buffer, fieldName, originSize, itemsToLog, true);
+    appendDetailUnchecked(buffer, array);
   }
 
   @Override
   protected void appendDetail(StringBuffer buffer, String fieldName, double[] array) {
-    int originSize = array.length;
-    List<Double> itemsToLog = new ArrayList<>();
-    if (originSize > getMaxItemPrintAmount()) {
-      for (int i = 0; i < getMaxItemPrintAmount(); i++) {
-        itemsToLog.add(array[i]);
-      }
-    } else {
-      for (int i = 0; i < originSize; i++) {
-        itemsToLog.add(array[i]);
-      }
-    }
-    appendCollectionDetails(buffer, fieldName, originSize, itemsToLog, true);
+    appendDetailUnchecked(buffer, array);
   }
 
   @Override
   protected void appendDetail(StringBuffer buffer, String fieldName, float[] array) {
-    int originSize = array.length;
-    List<Float> itemsToLog = new ArrayList<>();
-    if (originSize > getMaxItemPrintAmount()) {
-      for (int i = 0; i < getMaxItemPrintAmount(); i++) {
-        itemsToLog.add(array[i]);
-      }
-    } else {
-      for (int i = 0; i < originSize; i++) {
-        itemsToLog.add(array[i]);
-      }
-    }
-    appendCollectionDetails(buffer, fieldName, originSize, itemsToLog, true);
+    appendDetailUnchecked(buffer, array);
   }
 
   @Override
   protected void appendDetail(StringBuffer buffer, String fieldName, boolean[] array) {
-    int originSize = array.length;
-    List<Boolean> itemsToLog = new ArrayList<>();
-    if (originSize > getMaxItemPrintAmount()) {
-      for (int i = 0; i < getMaxItemPrintAmount(); i++) {
-        itemsToLog.add(array[i]);
+    appendDetailUnchecked(buffer, array);
+  }
+
+  @Override
+  protected void appendDetail(StringBuffer buffer, String fieldName, Object[] array) {
+    appendDetailUnchecked(buffer, array);
+  }
+
+  private void appendDetailUnchecked(StringBuffer buffer, Object value) {
+    try {
+      if (getMaxCharacters() == UNLIMITED) {
+        writeDetail(buffer, value);
+      } else {
+        writeDetail(new LimitedAppendable(buffer, getMaxCharacters() - buffer.length(), getTruncationText()), value);
       }
-    } else {
-      for (int i = 0; i < originSize; i++) {
-        itemsToLog.add(array[i]);
+    } catch (LimitExceededException e) {
+      // the following fields are skipped by append(StringBuffer, String, Object, Boolean)
+    } catch (IOException e) {
+      // a StringBuffer does not throw any IOException
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void writeObject(final Appendable appendable, final Object value) throws IOException {
+    if (value == null) {
+      appendable.append(getNullText());
+      return;
+    }
+    String unloadedValueText = getUnloadedValueText(value);
+    if (unloadedValueText != null) {
+      appendable.append(unloadedValueText);
+      return;
+    }
+    Object object = resolveValue(value);
+    FieldAccessor[] fields = ToStringMetadata.forClass(object.getClass()).getRenderedFields();
+    if (object.getClass().isArray() || !isReadable(fields)) {
+      appendable.append(ToStringBuilder.reflectionToString(object, this));
+      return;
+    }
+
+    NestingState state = NESTING_STATE.get();
+    Object parentRoot = state.root;
+    boolean parentRootRegistered = state.rootRegistered;
+    state.root = object;
+    state.rootRegistered = false;
+    try {
+      writeFields(appendable, object, fields);
+    } finally {
+      if (state.rootRegistered) {
+        // unregisters the object like ToStringBuilder#toString()
+        appendEnd(new StringBuffer(), object);
       }
+      state.root = parentRoot;
+      state.rootRegistered = parentRootRegistered;
     }
-    appendCollectionDetails(buffer, fieldName, originSize, itemsToLog, true);
   }
 
-  @Override
-  protected void appendDetail(StringBuffer buffer, String fieldName, Object[] array) {
-    int originSize = array.length;
-    List<Object> itemsToLog = new ArrayList<>();
-    if (originSize > getMaxItemPrintAmount()) {
-      for (int i = 0; i < getMaxItemPrintAmount(); i++) {
-        itemsToLog.add(array[i]);
+  private void writeFields(Appendable appendable, Object object, FieldAccessor[] fields) throws IOException {
+    writeClassName(appendable, object);
+    if (isUseIdentityHashCode()) {
+      appendable.append('@').append(Integer.toHexString(System.identityHashCode(object)));
+    }
+    appendable.append(getContentStart());
+    boolean separatorRequired = isFieldSeparatorAtStart();
+    for (FieldAccessor field : fields) {
+      if (separatorRequired) {
+        appendable.append(getFieldSeparator());
       }
-    } else {
-      for (int i = 0; i < originSize; i++) {
-        itemsToLog.add(array[i]);
+      writeField(appendable, object, field.getName(), field.read(object), !field.isSummary());
+      separatorRequired = true;
+    }
+    if (isFieldSeparatorAtEnd() && (fields.length > 0 || isFieldSeparatorAtStart())) {
+      appendable.append(getFieldSeparator());
+    }
+    appendable.append(getContentEnd());
+  }
+
+  private boolean isTruncated(StringBuffer buffer) {
+    // ToStringStyle appends a field separator after the truncated field
+    int end = buffer.length();
+    if (StringUtils.endsWith(buffer, getFieldSeparator())) {
+      end -= getFieldSeparator().length();
+    }
+    int start = end - getTruncationText().length();
+    return start >= 0 && buffer.indexOf(getTruncationText(), start) == start;
+  }
+
+  private static boolean isReadable(FieldAccessor[] fields) {
+    for (FieldAccessor field : fields) {
+      if (field.getAccessException() != null) {
+        return false;
       }
     }
-    appendCollectionDetails(buffer, fieldName, originSize, itemsToLog, true);
+    return true;
   }
 
-  private void handleReferencedObjects(final StringBuffer buffer, final String fieldName, final Object value) {
-    Field[] loggingIdFields = FieldUtils.getFieldsWithAnnotation(value.getClass(), LoggingId.class);
-    if (loggingIdFields.length > 0) {
-      appendClassName(buffer, value);
-      appendContentStart(buffer);
-      appendReferencedObjectContent(buffer, loggingIdFields, value);
-      appendContentEnd(buffer);
+  private void writeClassName(Appendable appendable, Object object) throws IOException {
+    if (isUseClassName()) {
+      appendable.append(isUseShortClassName() ? getShortClassName(object.getClass()) : object.getClass().getName());
+    }
+  }
+
+  private void writeField(Appendable appendable, Object root, String fieldName, Object value, boolean detail)
+      throws IOException {
+    if (isUseFieldNames() && fieldName != null) {
+      appendable.append(fieldName).append(getFieldNameValueSeparator());
+    }
+    if (value == null) {
+      appendable.append(getNullText());
+      return;
+    }
+    String unloadedValueText = getUnloadedValueText(value);
+    if (unloadedValueText != null) {
+      appendable.append(unloadedValueText);
+      return;
+    }
+    Object resolvedValue = resolveValue(value);
+    if (resolvedValue == root && (isUseClassName() || isUseIdentityHashCode())) {
+      // the root object is registered as cyclic reference by ToStringStyle
+      appendable.append(resolvedValue.getClass().getName()).append('@')
+          .append(Integer.toHexString(System.identityHashCode(resolvedValue)));
+    } else if (detail) {
+      writeDetail(appendable, resolvedValue);
+    } else {
+      writeSummary(appendable, resolvedValue);
+    }
+  }
+
+  private void writeDetail(Appendable appendable, Object value) throws IOException {
+    if (value instanceof Collection<?> coll) {
+      writeCollectionDetail(appendable, coll);
+    } else if (value instanceof Map<?, ?> map) {
+      writeMapDetail(appendable, map);
+    } else if (value.getClass().isArray()) {
+      writeArrayDetail(appendable, value);
+    } else if (isUseLoggingIdAnnotationForReferencedObjects()) {
+      writeReferencedObject(appendable, value);
+    } else {
+      writeNestedObject(appendable, value);
+    }
+  }
+
+  private void writeSummary(Appendable appendable, Object value) throws IOException {
+    if (value instanceof Collection<?> coll) {
+      writeSize(appendable, coll.size());
+    } else if (value instanceof Map<?, ?> map) {
+      writeSize(appendable, map.size());
+    } else if (value.getClass().isArray()) {
+      writeSize(appendable, Array.getLength(value));
     } else {
+      appendable.append(getSummaryObjectStartText());
+      appendable.append(getShortClassName(value.getClass()));
+      appendable.append(getSummaryObjectEndText());
+    }
+  }
+
+  private void writeSize(Appendable appendable, int size) throws IOException {
+    appendable.append(getSizeStartText());
+    writeNumber(appendable, size);
+    appendable.append(getSizeEndText());
+  }
+
+  private static void writeNumber(Appendable appendable, long value) throws IOException {
+    if (appendable instanceof LimitedAppendable limited) {
+      limited.appendNumber(value);
+    } else if (appendable instanceof StringBuilder builder) {
+      builder.append(value);
+    } else if (appendable instanceof StringBuffer buffer) {
       buffer.append(value);
+    } else {
+      appendable.append(Long.toString(value));
     }
   }
 
-  private void appendReferencedObjectContent(StringBuffer buffer, Field[] loggingIdFields, Object value) {
-    Iterator<Field> iterator = Arrays.asList(loggingIdFields).iterator();
-    while (iterator.hasNext()) {
-      Field loggingIdField = iterator.next();
-      try {
-        Object valueOfLoggingIdField = FieldUtils.readField(loggingIdField, value, true);
-        buffer.append(loggingIdField.getName());
-        buffer.append(getFieldNameValueSeparator());
-        buffer.append(valueOfLoggingIdField == null ? null : valueOfLoggingIdField.toString());
-        if (iterator.hasNext()) {
-          buffer.append(getFieldSeparator());
-        }
-      } catch (IllegalAccessException e) {
-        LOG.error(e.getMessage(), e);
-        buffer.append(loggingIdField.getName());
-        buffer.append(getFieldNameValueSeparator());
-        buffer.append("ERROR ").append(e.getMessage());
-      }
+  private static void writeNumber(Appendable appendable, double value) throws IOException {
+    if (appendable instanceof LimitedAppendable limited) {
+      limited.appendNumber(value);
+    } else if (appendable instanceof StringBuilder builder) {
+      builder.append(value);
+    } else if (appendable instanceof StringBuffer buffer) {
+      buffer.append(value);
+    } else {
+      appendable.append(Double.toString(value));
     }
   }
 
-  private void appendCollectionDetails(StringBuffer buffer, String fieldName, int originSize,
-      Collection<?> collectionToLog, boolean basedOnArray) {
-    buffer.append(getSizeStartText());
-    buffer.append(originSize);
-    buffer.append(getSizeEndText());
-    Iterator<?> iterator = collectionToLog.iterator();
-    buffer.append(basedOnArray ? getArrayStart() : getContentStart());
-    while (iterator.hasNext()) {
-      handleReferencedObjects(buffer, fieldName, iterator.next());
-      if (iterator.hasNext()) {
-        buffer.append(getFieldSeparator());
+  private static void writeNumber(Appendable appendable, float value) throws IOException {
+    if (appendable instanceof LimitedAppendable limited) {
+      limited.appendNumber(value);
+    } else if (appendable instanceof StringBuilder builder) {
+      builder.append(value);
+    } else if (appendable instanceof StringBuffer buffer) {
+      buffer.append(value);
+    } else {
+      appendable.append(Float.toString(value));
+    }
+  }
+
+  private void writeCollectionDetail(Appendable appendable, Collection<?> coll) throws IOException {
+    int originSize = coll.size();
+    int amount = Math.min(originSize, getMaxItemPrintAmount());
+    writeSize(appendable, originSize);
+    appendable.append(getContentStart());
+    if (coll instanceof List<?> list && coll instanceof RandomAccess) {
+      for (int i = 0; i < amount; i++) {
+        writeItemSeparator(appendable, i);
+        writeReferencedObject(appendable, list.get(i));
       }
+    } else {
+      Iterator<?> iterator = coll.iterator();
+      for (int i = 0; i < amount && iterator.hasNext(); i++) {
+        writeItemSeparator(appendable, i);
+        writeReferencedObject(appendable, iterator.next());
+      }
+    }
+    writeTruncation(appendable, originSize);
+    appendable.append(getContentEnd());
+  }
+
+  private void writeMapDetail(Appendable appendable, Map<?, ?> map) throws IOException {
+    int originSize = map.size();
+    MapKeySelection selection = MapKeySelection.select(map, getMaxItemPrintAmount());
+    writeSize(appendable, originSize);
+    appendable.append(getArrayStart());
+    for (int i = 0; i < selection.size(); i++) {
+      writeItemSeparator(appendable, i);
+      appendable.append(selection.getKeyText(i));
+      appendable.append(getFieldNameValueSeparator());
+      writeReferencedObject(appendable, selection.getValue(i));
+    }
+    writeTruncation(appendable, originSize);
+    appendable.append(getArrayEnd());
+  }
+
+  private void writeArrayDetail(Appendable appendable, Object array) throws IOException {
+    int originSize = Array.getLength(array);
+    int amount = Math.min(originSize, getMaxItemPrintAmount());
+    writeSize(appendable, originSize);
+    appendable.append(getArrayStart());
+    for (int i = 0; i < amount; i++) {
+      writeItemSeparator(appendable, i);
+      writeArrayItem(appendable, array, i);
+    }
+    writeTruncation(appendable, originSize);
+    appendable.append(getArrayEnd());
+  }
+
+  private void writeArrayItem(Appendable appendable, Object array, int index) throws IOException {
+    if (array instanceof long[] values) {
+      writeNumber(appendable, values[index]);
+    } else if (array instanceof int[] values) {
+      writeNumber(appendable, values[index]);
+    } else if (array instanceof short[] values) {
+      writeNumber(appendable, values[index]);
+    } else if (array instanceof byte[] values) {
+      writeNumber(appendable, values[index]);
+    } else if (array instanceof char[] values) {
+      appendable.append(values[index]);
+    } else if (array instanceof double[] values) {
+      writeNumber(appendable, values[index]);
+    } else if (array instanceof float[] values) {
+      writeNumber(appendable, values[index]);
+    } else if (array instanceof boolean[] values) {
+      appendable.append(values[index] ? "true" : "false");
+    } else {
+      writeReferencedObject(appendable, ((Object[]) array)[index]);
+    }
+  }
+
+  private void writeItemSeparator(Appendable appendable, int index) throws IOException {
+    if (index > 0) {
+      appendable.append(getFieldSeparator());
     }
+  }
+
+  private void writeTruncation(Appendable appendable, int originSize) throws IOException {
     if (originSize > getMaxItemPrintAmount()) {
-      buffer.append(getFieldSeparator());
-      buffer.append("...");
-    }
-    buffer.append(basedOnArray ? getArrayEnd() : getContentEnd());
-  }
-
-  private void appendMapDetails(StringBuffer buffer, String fieldName, int originSize, Map<?, ?> map) {
-    buffer.append(getSizeStartText());
-    buffer.append(originSize);
-    buffer.append(getSizeEndText());
-    List<Object> keys = new ArrayList<>(map.keySet());
-    Collections.sort(keys, Comparator.comparing(Object::toString));
-    Iterator<?> iterator = keys.iterator();
-    buffer.append(getArrayStart());
-    while (iterator.hasNext()) {
-      Object key = iterator.next();
-      Object value = map.get(key);
-      buffer.append(key);
-      buffer.append(getFieldNameValueSeparator());
-      handleReferencedObjects(buffer, fieldName, value);
-      if (iterator.hasNext()) {
-        buffer.append(getFieldSeparator());
+      appendable.append(getFieldSeparator());
+      appendable.append("...");
+    }
+  }
+
+  private void writeNestedObject(Appendable appendable, Object value) throws IOException {
+    boolean container = value instanceof Collection || value instanceof Map || value.getClass().isArray();
+    if (!container && isJdkClass(value.getClass())) {
+      // classes of the JDK do not render nested objects by themselves
+      appendable.append(value.toString());
+      return;
+    }
+    NestingState state = NESTING_STATE.get();
+    if (state.depth >= getMaxDepth()) {
+      if (container) {
+        writeSummary(appendable, value);
+      } else {
+        appendable.append(getShortClassName(value.getClass())).append(getContentStart()).append("...")
+            .append(getContentEnd());
       }
+      return;
     }
-    if (originSize > getMaxItemPrintAmount()) {
-      buffer.append(getFieldSeparator());
-      buffer.append("...");
+    registerRoot(state);
+    state.depth++;
+    try {
+      if (container) {
+        // the items are written one by one, so the character limit applies before the whole container is rendered
+        writeDetail(appendable, value);
+      } else {
+        appendable.append(value.toString());
+      }
+    } finally {
+      state.depth--;
+    }
+  }
+
+  /**
+   * Registers the root object like {@link ToStringBuilder} does before a nested object renders itself, so that a
+   * reference from the nested object back to the root is rendered as cycle. The registration is deferred until here,
+   * because the registry of {@link ToStringStyle} allocates a map per rendering.
+   */
+  private void registerRoot(NestingState state) {
+    if (state.root == null || state.rootRegistered || !(isUseClassName() || isUseIdentityHashCode())) {
+      return;
+    }
+    // the registry of ToStringStyle is only accessible through the methods that append the class name
+    StringBuffer ignored = new StringBuffer();
+    appendClassName(ignored, state.root);
+    appendIdentityHashCode(ignored, state.root);
+    state.rootRegistered = true;
+  }
+
+  private static boolean isJdkClass(Class<?> type) {
+    // the platform class loader loads JDK modules like java.sql as well, so the module is checked instead of the loader
+    Module module = type.getModule();
+    if (!module.isNamed() || module.getLayer() != ModuleLayer.boot()) {
+      return false;
+    }
+    String moduleName = module.getName();
+    return moduleName.startsWith("java.") || moduleName.startsWith("jdk.");
+  }
+
+  private void writeReferencedObject(Appendable appendable, Object item) throws IOException {
+    if (item == null) {
+      appendable.append("null");
+      return;
+    }
+    String unloadedValueText = getUnloadedValueText(item);
+    if (unloadedValueText != null) {
+      appendable.append(unloadedValueText);
+      return;
+    }
+    Object value = resolveValue(item);
+    ToStringMetadata metadata = ToStringMetadata.forClass(value.getClass());
+    if (!metadata.hasLoggingIdFields()) {
+      writeNestedObject(appendable, value);
+      return;
+    }
+    writeClassName(appendable, value);
+    appendable.append(getContentStart());
+    FieldAccessor[] loggingIdFields = metadata.getLoggingIdFields();
+    for (int i = 0; i < loggingIdFields.length; i++) {
+      FieldAccessor loggingIdField = loggingIdFields[i];
+      appendable.append(loggingIdField.getName());
+      appendable.append(getFieldNameValueSeparator());
+      Exception accessException = loggingIdField.getAccessException();
+      if (accessException == null) {
+        appendable.append(String.valueOf(loggingIdField.read(value)));
+        if (i < loggingIdFields.length - 1) {
+          appendable.append(getFieldSeparator());
+        }
+      } else {
+        LOG.error(accessException.getMessage(), accessException);
+        appendable.append("ERROR ").append(accessException.getMessage());
+      }
     }
-    buffer.append(getArrayEnd());
+    appendable.append(getContentEnd());
   }
 }
@@ -0,0 +1,80 @@
+package de.devtime.utils.logging;
+
+import java.util.Objects;
+
+/**
+ * Defers the rendering of a log argument until the logging framework formats the message. If the log level is
+ * disabled, the argument is never rendered and only this small wrapper is created, which is usually removed by escape
+ * analysis.
+ *
+ * <pre>
+ * LOG.debug("Entity was loaded: {}", LazyRender.of(entity));
+ * LOG.debug("Request: {}", LazyRender.of(request, CustomToStringStyle.PARAMETRIZED_STYLE));
+ * </pre>
+ *
+ * <p>
+ * {@link #of(Object)} uses the {@code toString()} method of the object, so entities are rendered with their own style,
+ * which usually does not load lazy associations. A style passed to {@link #of(Object, CustomToStringStyle)} renders all
+ * fields of the object by itself and should only be used for objects without lazy associations.
+ * </p>
+ *
+ * <p>
+ * The rendered string is memoized, so that several appenders that format the same log event render the argument only
+ * once. Therefore a wrapper should be created per log statement and not be kept, because later changes of the wrapped
+ * object are not visible anymore after the first rendering.
+ * </p>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+public final class LazyRender {
+
+  /**
+   * Wraps an object that is rendered by its {@code toString()} method.
+   *
+   * @param value the object to render
+   * @return a wrapper that renders the object on demand
+   * @since 0.0.1
+   */
+  public static LazyRender of(final Object value) {
+    return new LazyRender(value, null);
+  }
+
+  /**
+   * Wraps an object that is rendered with the given style instead of its {@code toString()} method.
+   *
+   * @param value the object to render
+   * @param style the style to use <i>(not null)</i>
+   * @return a wrapper that renders the object on demand
+   * @since 0.0.1
+   */
+  public static LazyRender of(final Object value, final CustomToStringStyle style) {
+    return new LazyRender(value, style);
+  }
+
+  private final Object value;
+  private final CustomToStringStyle style;
+  private String rendered;
+
+  private LazyRender(final Object value, final CustomToStringStyle style) {
+    this.value = value;
+    this.style = style;
+  }
+
+  /**
+   * Renders the wrapped object on the first call and returns the same string on all subsequent calls.
+   *
+   * @return string representation of the wrapped object
+   * @since 0.0.1
+   */
+  @Override
+  public String toString() {
+    // a race only renders twice, the string itself is immutable and therefore safely published
+    String result = this.rendered;
+    if (result == null) {
+      result = this.style == null ? Objects.toString(this.value) : this.style.render(this.value);
+      this.rendered = result;
+    }
+    return result;
+  }
+}
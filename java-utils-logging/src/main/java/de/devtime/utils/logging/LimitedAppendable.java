@@ -0,0 +1,151 @@
+package de.devtime.utils.logging;
+
+import java.io.IOException;
+
+/**
+ * An {@link Appendable} that forwards at most a given amount of characters to its target. The append that exceeds the
+ * limit is cut, followed by a truncation text, and aborted with a {@link LimitExceededException}, so that the caller
+ * stops rendering immediately instead of producing output that is thrown away afterwards.
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+final class LimitedAppendable implements Appendable {
+
+  /** Maximum length of {@link Long#toString(long)}, {@link Double#toString(double)} and {@link Float#toString(float)}. */
+  private static final int MAX_NUMBER_LENGTH = 24;
+
+  private final Appendable target;
+  private final String truncationText;
+  private int remaining;
+
+  /**
+   * Creates a limited appendable.
+   *
+   * @param target the appendable to forward to <i>(not null)</i>
+   * @param limit maximum amount of characters forwarded to the target
+   * @param truncationText text that is appended when the limit is exceeded <i>(not null)</i>
+   * @since 0.0.1
+   */
+  LimitedAppendable(final Appendable target, final int limit, final String truncationText) {
+    this.target = target;
+    this.remaining = limit;
+    this.truncationText = truncationText;
+  }
+
+  @Override
+  public LimitedAppendable append(final CharSequence csq) throws IOException {
+    CharSequence text = csq == null ? "null" : csq;
+    return append(text, 0, text.length());
+  }
+
+  @Override
+  public LimitedAppendable append(final CharSequence csq, final int start, final int end) throws IOException {
+    CharSequence text = csq == null ? "null" : csq;
+    int length = end - start;
+    if (length > this.remaining) {
+      this.target.append(text, start, start + Math.max(0, this.remaining));
+      exceed();
+    }
+    this.target.append(text, start, end);
+    this.remaining -= length;
+    return this;
+  }
+
+  @Override
+  public LimitedAppendable append(final char c) throws IOException {
+    if (this.remaining < 1) {
+      exceed();
+    }
+    this.target.append(c);
+    this.remaining--;
+    return this;
+  }
+
+  /**
+   * Appends a number without creating an intermediate string, if the target is a {@link StringBuilder} or
+   * {@link StringBuffer} and the number fits into the remaining characters.
+   *
+   * @param value the number to append
+   * @throws IOException if the target throws an exception
+   * @since 0.0.1
+   */
+  void appendNumber(final long value) throws IOException {
+    if (this.remaining < MAX_NUMBER_LENGTH) {
+      append(Long.toString(value));
+    } else if (this.target instanceof StringBuilder builder) {
+      int length = builder.length();
+      this.remaining -= builder.append(value).length() - length;
+    } else if (this.target instanceof StringBuffer buffer) {
+      int length = buffer.length();
+      this.remaining -= buffer.append(value).length() - length;
+    } else {
+      append(Long.toString(value));
+    }
+  }
+
+  /**
+   * Appends a number without creating an intermediate string, see {@link #appendNumber(long)}.
+   *
+   * @param value the number to append
+   * @throws IOException if the target throws an exception
+   * @since 0.0.1
+   */
+  void appendNumber(final double value) throws IOException {
+    if (this.remaining < MAX_NUMBER_LENGTH) {
+      append(Double.toString(value));
+    } else if (this.target instanceof StringBuilder builder) {
+      int length = builder.length();
+      this.remaining -= builder.append(value).length() - length;
+    } else if (this.target instanceof StringBuffer buffer) {
+      int length = buffer.length();
+      this.remaining -= buffer.append(value).length() - length;
+    } else {
+      append(Double.toString(value));
+    }
+  }
+
+  /**
+   * Appends a number without creating an intermediate string, see {@link #appendNumber(long)}.
+   *
+   * @param value the number to append
+   * @throws IOException if the target throws an exception
+   * @since 0.0.1
+   */
+  void appendNumber(final float value) throws IOException {
+    if (this.remaining < MAX_NUMBER_LENGTH) {
+      append(Float.toString(value));
+    } else if (this.target instanceof StringBuilder builder) {
+      int length = builder.length();
+      this.remaining -= builder.append(value).length() - length;
+    } else if (this.target instanceof StringBuffer buffer) {
+      int length = buffer.length();
+      this.remaining -= buffer.append(value).length() - length;
+    } else {
+      append(Float.toString(value));
+    }
+  }
+
+  private void exceed() throws IOException {
+    this.remaining = 0;
+    this.target.append(this.truncationText);
+    throw LimitExceededException.INSTANCE;
+  }
+
+  /**
+   * Signals that the limit of a {@link LimitedAppendable} is exceeded and the truncation text was written. A single
+   * instance without stack trace is used, because the exception is only used to leave the rendering.
+   *
+   * @since 0.0.1
+   */
+  static final class LimitExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final LimitExceededException INSTANCE = new LimitExceededException();
+
+    private LimitExceededException() {
+      super("The character limit is exceeded.", null, false, false);
+    }
+  }
+}
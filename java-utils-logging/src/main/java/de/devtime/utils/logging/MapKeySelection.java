@@ -0,0 +1,177 @@
+package de.devtime.utils.logging;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.SortedMap;
+
+/**
+ * Selects the entries of a map that {@link CustomToStringStyle} prints, which are the entries with the smallest keys
+ * ordered by the string form of the key. Only {@code limit} entries are kept while the map is scanned, so the costs are
+ * {@code O(n log k)} instead of copying and sorting all keys. The string form of every key is computed only once and
+ * keys with the same string form keep the iteration order of the map.
+ *
+ * <p>
+ * A {@link SortedMap} with {@link String} keys and natural ordering is already sorted by the string form of its keys,
+ * so only its first entries are read.
+ * </p>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+final class MapKeySelection {
+
+  /**
+   * Selects the entries with the smallest keys of the given map.
+   *
+   * @param map a map <i>(not null)</i>
+   * @param limit maximum amount of selected entries
+   * @return the selected entries, ordered by the string form of their keys
+   * @since 0.0.1
+   */
+  static MapKeySelection select(Map<?, ?> map, int limit) {
+    int amount = Math.max(0, Math.min(map.size(), limit));
+    MapKeySelection selection = new MapKeySelection(amount);
+    if (amount == 0) {
+      return selection;
+    }
+    if (isSortedByKeyText(map)) {
+      selection.selectFirst(map);
+    } else {
+      selection.selectSmallest(map);
+    }
+    return selection;
+  }
+
+  private static boolean isSortedByKeyText(Map<?, ?> map) {
+    if (!(map instanceof SortedMap<?, ?> sortedMap)) {
+      return false;
+    }
+    Comparator<?> comparator = sortedMap.comparator();
+    return (comparator == null || comparator == Comparator.naturalOrder()) && sortedMap.firstKey() instanceof String;
+  }
+
+  private final String[] keyTexts;
+  private final Object[] values;
+  private final int[] order;
+  private int size;
+
+  private MapKeySelection(int capacity) {
+    this.keyTexts = new String[capacity];
+    this.values = new Object[capacity];
+    this.order = new int[capacity];
+  }
+
+  /**
+   * Returns the amount of selected entries.
+   *
+   * @return amount of selected entries
+   * @since 0.0.1
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the string form of the key of a selected entry.
+   *
+   * @param index index of the selected entry
+   * @return string form of the key
+   * @since 0.0.1
+   */
+  String getKeyText(int index) {
+    return this.keyTexts[index];
+  }
+
+  /**
+   * Returns the value of a selected entry.
+   *
+   * @param index index of the selected entry
+   * @return value of the entry
+   * @since 0.0.1
+   */
+  Object getValue(int index) {
+    return this.values[index];
+  }
+
+  private void selectFirst(Map<?, ?> map) {
+    Iterator<? extends Entry<?, ?>> iterator = map.entrySet().iterator();
+    while (this.size < this.keyTexts.length && iterator.hasNext()) {
+      Entry<?, ?> entry = iterator.next();
+      this.keyTexts[this.size] = (String) entry.getKey();
+      this.values[this.size] = entry.getValue();
+      this.size++;
+    }
+  }
+
+  private void selectSmallest(Map<?, ?> map) {
+    // the arrays are used as max-heap, so the largest selected key is replaced by a smaller one
+    int capacity = this.keyTexts.length;
+    int position = 0;
+    for (Entry<?, ?> entry : map.entrySet()) {
+      String keyText = String.valueOf(entry.getKey());
+      if (this.size < capacity) {
+        set(this.size, keyText, entry.getValue(), position);
+        siftUp(this.size);
+        this.size++;
+      } else if (keyText.compareTo(this.keyTexts[0]) < 0) {
+        set(0, keyText, entry.getValue(), position);
+        siftDown(0, this.size);
+      }
+      position++;
+    }
+    // heap sort, the largest entry is moved to the end of the arrays
+    for (int end = this.size - 1; end > 0; end--) {
+      swap(0, end);
+      siftDown(0, end);
+    }
+  }
+
+  private void siftUp(int index) {
+    int child = index;
+    while (child > 0) {
+      int parent = (child - 1) >>> 1;
+      if (compare(child, parent) <= 0) {
+        return;
+      }
+      swap(child, parent);
+      child = parent;
+    }
+  }
+
+  private void siftDown(int index, int end) {
+    int parent = index;
+    int child = 2 * parent + 1;
+    while (child < end) {
+      if (child + 1 < end && compare(child + 1, child) > 0) {
+        child++;
+      }
+      if (compare(child, parent) <= 0) {
+        return;
+      }
+      swap(child, parent);
+      parent = child;
+      child = 2 * parent + 1;
+    }
+  }
+
+  private int compare(int left, int right) {
+    int result = this.keyTexts[left].compareTo(this.keyTexts[right]);
+    return result != 0 ? result : Integer.compare(this.order[left], this.order[right]);
+  }
+
+  private void set(int index, String keyText, Object value, int position) {
+    this.keyTexts[index] = keyText;
+    this.values[index] = value;
+    this.order[index] = position;
+  }
+
+  private void swap(int left, int right) {
+    String keyText = this.keyTexts[left];
+    Object value = this.values[left];
+    int position = this.order[left];
+    set(left, this.keyTexts[right], this.values[right], this.order[right]);
+    set(right, keyText, value, position);
+  }
+}
@@ -0,0 +1,24 @@
+package de.devtime.utils.logging;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Appends all fields of an object to a {@link ToStringBuilder} without using reflection on each call. Implementations
+ * are generated for classes annotated with {@link de.devtime.utils.logging.annotations.GenerateToString}.
+ *
+ * @param <T> type of the rendered object
+ * @author dev|time
+ * @since 0.0.1
+ */
+public interface ToStringFieldRenderer<T> {
+
+  /**
+   * Appends the fields of the given object to the builder in the same order as
+   * {@link org.apache.commons.lang3.builder.ReflectionToStringBuilder} would do.
+   *
+   * @param builder a builder that was created for the object <i>(not null)</i>
+   * @param object the object whose fields are appended <i>(not null)</i>
+   * @since 0.0.1
+   */
+  void appendFields(ToStringBuilder builder, T object);
+}
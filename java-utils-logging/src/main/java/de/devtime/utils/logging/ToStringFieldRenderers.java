@@ -0,0 +1,113 @@
+package de.devtime.utils.logging;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Optional;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Looks up the {@link ToStringFieldRenderer} that was generated for a class and uses it to create the string
+ * representation of an object. If no renderer was generated for the runtime class of an object, the string
+ * representation is created by reflection.
+ *
+ * <pre>
+ * &#64;Override
+ * public String toString() {
+ *   return ToStringFieldRenderers.toString(this, CustomToStringStyle.PARAMETRIZED_STYLE);
+ * }
+ * </pre>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+@Slf4j
+public final class ToStringFieldRenderers {
+
+  /** Suffix that is appended to the binary name of a class to get the name of its generated renderer. */
+  public static final String RENDERER_NAME_SUFFIX = "_ToStringFieldRenderer";
+
+  private static final ClassValue<Optional<ToStringFieldRenderer<Object>>> RENDERERS = new ClassValue<>() {
+
+    @Override
+    protected Optional<ToStringFieldRenderer<Object>> computeValue(Class<?> type) {
+      return loadRenderer(type);
+    }
+  };
+
+  /**
+   * Returns the generated renderer for exactly the given class. Renderers of superclasses are not taken into account,
+   * because they would not append the fields of the subclass.
+   *
+   * @param type a class <i>(not null)</i>
+   * @return the generated renderer wrapped in an optional or an empty optional
+   * @since 0.0.1
+   */
+  public static Optional<ToStringFieldRenderer<Object>> forClass(Class<?> type) {
+    return RENDERERS.get(type);
+  }
+
+  /**
+   * Creates the string representation of an object with the given style. The generated renderer of the runtime class is
+   * used if one exists, otherwise the result of {@link ToStringBuilder#reflectionToString(Object, ToStringStyle)} is
+   * returned. Both ways produce the same output.
+   *
+   * @param object the object to render <i>(not null)</i>
+   * @param style the style to use <i>(not null)</i>
+   * @return string representation of the object
+   * @since 0.0.1
+   */
+  public static String toString(Object object, ToStringStyle style) {
+    Optional<ToStringFieldRenderer<Object>> renderer = forClass(object.getClass());
+    if (renderer.isPresent()) {
+      ToStringBuilder builder = new ToStringBuilder(object, style);
+      renderer.get().appendFields(builder, object);
+      return builder.toString();
+    }
+    return ToStringBuilder.reflectionToString(object, style);
+  }
+
+  /**
+   * Creates a {@link VarHandle} for a field regardless of its visibility. This method is intended to be called once
+   * from the static initializer of a generated renderer.
+   *
+   * @param declaringClass the class that declares the field <i>(not null)</i>
+   * @param fieldName name of the field <i>(not null)</i>
+   * @return a handle to read the field
+   * @throws IllegalStateException if the field does not exist or is not accessible
+   * @since 0.0.1
+   */
+  public static VarHandle findVarHandle(Class<?> declaringClass, String fieldName) {
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+      return lookup.unreflectVarHandle(declaringClass.getDeclaredField(fieldName));
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Field " + fieldName + " of " + declaringClass + " is not accessible!", e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Optional<ToStringFieldRenderer<Object>> loadRenderer(Class<?> type) {
+    String rendererName = type.getName() + RENDERER_NAME_SUFFIX;
+    try {
+      Class<?> rendererClass = Class.forName(rendererName, true, type.getClassLoader());
+      if (!ToStringFieldRenderer.class.isAssignableFrom(rendererClass)) {
+        LOG.warn("{} does not implement {} and is ignored.", rendererName, ToStringFieldRenderer.class.getName());
+        return Optional.empty();
+      }
+      return Optional.of((ToStringFieldRenderer<Object>) rendererClass.getDeclaredConstructor().newInstance());
+    } catch (ClassNotFoundException e) {
+      return Optional.empty();
+    } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+      LOG.warn("Generated renderer {} could not be loaded, falling back to reflection.", rendererName, e);
+      return Optional.empty();
+    }
+  }
+
+  private ToStringFieldRenderers() {
+    // private utility class constructor
+  }
+}
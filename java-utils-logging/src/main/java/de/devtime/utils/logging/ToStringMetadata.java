@@ -0,0 +1,201 @@
+package de.devtime.utils.logging;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.commons.lang3.builder.ToStringExclude;
+import org.apache.commons.lang3.builder.ToStringSummary;
+import org.apache.commons.lang3.reflect.FieldUtils;
+
+import de.devtime.utils.logging.annotations.LoggingId;
+
+/**
+ * Holds the reflective information that {@link CustomToStringStyle} needs for a class. The information is resolved only
+ * once per class and cached in a {@link ClassValue}, so that the class hierarchy is not walked again on every rendering.
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+final class ToStringMetadata {
+
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  private static final ClassValue<ToStringMetadata> CACHE = new ClassValue<>() {
+
+    @Override
+    protected ToStringMetadata computeValue(Class<?> type) {
+      return new ToStringMetadata(type);
+    }
+  };
+
+  /**
+   * Returns the cached metadata of the given class.
+   *
+   * @param type a class <i>(not null)</i>
+   * @return metadata of the class
+   * @since 0.0.1
+   */
+  static ToStringMetadata forClass(Class<?> type) {
+    return CACHE.get(type);
+  }
+
+  private final Class<?> type;
+  private final FieldAccessor[] loggingIdFields;
+  private volatile FieldAccessor[] renderedFields;
+
+  private ToStringMetadata(Class<?> type) {
+    this.type = type;
+    Field[] fields = FieldUtils.getFieldsWithAnnotation(type, LoggingId.class);
+    this.loggingIdFields = new FieldAccessor[fields.length];
+    for (int i = 0; i < fields.length; i++) {
+      this.loggingIdFields[i] = new FieldAccessor(fields[i]);
+    }
+  }
+
+  /**
+   * Returns the accessors of all fields annotated with {@link LoggingId}, including inherited ones.
+   *
+   * @return accessors of the logging id fields, never {@code null}
+   * @since 0.0.1
+   */
+  FieldAccessor[] getLoggingIdFields() {
+    return this.loggingIdFields;
+  }
+
+  /**
+   * Returns whether the class has at least one field annotated with {@link LoggingId}.
+   *
+   * @return {@code true} if there is a logging id field, otherwise {@code false}
+   * @since 0.0.1
+   */
+  boolean hasLoggingIdFields() {
+    return this.loggingIdFields.length > 0;
+  }
+
+  /**
+   * Returns the accessors of all fields that {@link org.apache.commons.lang3.builder.ReflectionToStringBuilder} appends
+   * for the class: the fields of the class and its superclasses, starting with the class itself and sorted by name per
+   * class. Static and transient fields, fields whose name contains a {@code $} and fields annotated with
+   * {@link ToStringExclude} are skipped. The accessors are resolved on first use, because most classes are only used as
+   * field values and never rendered themselves.
+   *
+   * @return accessors of the rendered fields, never {@code null}
+   * @since 0.0.1
+   */
+  FieldAccessor[] getRenderedFields() {
+    FieldAccessor[] fields = this.renderedFields;
+    if (fields == null) {
+      fields = resolveRenderedFields(this.type);
+      this.renderedFields = fields;
+    }
+    return fields;
+  }
+
+  private static FieldAccessor[] resolveRenderedFields(Class<?> type) {
+    List<FieldAccessor> fields = new ArrayList<>();
+    Class<?> current = type;
+    while (current != null) {
+      Field[] declaredFields = current.getDeclaredFields();
+      Arrays.sort(declaredFields, Comparator.comparing(Field::getName));
+      for (Field field : declaredFields) {
+        if (isRendered(field)) {
+          fields.add(new FieldAccessor(field));
+        }
+      }
+      current = current.getSuperclass();
+    }
+    return fields.toArray(new FieldAccessor[0]);
+  }
+
+  private static boolean isRendered(Field field) {
+    int modifiers = field.getModifiers();
+    return field.getName().indexOf('$') < 0
+        && !Modifier.isStatic(modifiers)
+        && !Modifier.isTransient(modifiers)
+        && !field.isAnnotationPresent(ToStringExclude.class);
+  }
+
+  /**
+   * A field with a getter that is bound once, so that reading the field does not need any access checks.
+   *
+   * @author dev|time
+   * @since 0.0.1
+   */
+  static final class FieldAccessor {
+
+    private final String name;
+    private final boolean summary;
+    private final MethodHandle getter;
+    private final Exception accessException;
+
+    FieldAccessor(Field field) {
+      this.name = field.getName();
+      this.summary = field.isAnnotationPresent(ToStringSummary.class);
+      MethodHandle boundGetter = null;
+      Exception exception = null;
+      try {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
+        boundGetter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+      } catch (IllegalAccessException | RuntimeException e) {
+        exception = e;
+      }
+      this.getter = boundGetter;
+      this.accessException = exception;
+    }
+
+    /**
+     * Returns the name of the field.
+     *
+     * @return name of the field
+     * @since 0.0.1
+     */
+    String getName() {
+      return this.name;
+    }
+
+    /**
+     * Returns whether the field is annotated with {@link ToStringSummary} and has to be rendered as summary.
+     *
+     * @return {@code true} if only a summary of the value is rendered, otherwise {@code false}
+     * @since 0.0.1
+     */
+    boolean isSummary() {
+      return this.summary;
+    }
+
+    /**
+     * Returns the exception that occurred while binding the getter.
+     *
+     * @return an exception or {@code null} if the field is readable
+     * @since 0.0.1
+     */
+    Exception getAccessException() {
+      return this.accessException;
+    }
+
+    /**
+     * Reads the value of the field. Must only be called if {@link #getAccessException()} returns {@code null}.
+     *
+     * @param target an instance of the declaring class <i>(not null)</i>
+     * @return value of the field
+     * @since 0.0.1
+     */
+    Object read(Object target) {
+      try {
+        return (Object) this.getter.invokeExact(target);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        // a field getter does not throw checked exceptions
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package de.devtime.utils.logging.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class for which a reflection-free {@link de.devtime.utils.logging.ToStringFieldRenderer} is generated at
+ * compile time. The generated renderer appends the same fields in the same order as
+ * {@link org.apache.commons.lang3.builder.ReflectionToStringBuilder} would do.
+ *
+ * @author dev|time
+ * @since 0.0.1
+ * @see de.devtime.utils.logging.ToStringFieldRenderers
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface GenerateToString {
+
+}
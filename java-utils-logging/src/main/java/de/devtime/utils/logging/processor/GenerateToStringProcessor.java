@@ -0,0 +1,224 @@
+package de.devtime.utils.logging.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+
+import de.devtime.utils.logging.ToStringFieldRenderer;
+import de.devtime.utils.logging.ToStringFieldRenderers;
+import de.devtime.utils.logging.annotations.GenerateToString;
+
+/**
+ * Generates a {@link ToStringFieldRenderer} for every class annotated with {@link GenerateToString}.
+ *
+ * <p>
+ * The generated renderer appends the fields that {@link org.apache.commons.lang3.builder.ReflectionToStringBuilder}
+ * would append: all fields of the class and its superclasses, starting with the class itself, sorted by name per class.
+ * Static and transient fields, fields whose name contains a {@code $} and fields annotated with
+ * {@code @ToStringExclude} are skipped, fields annotated with {@code @ToStringSummary} are appended as summary. Since the
+ * values are passed to the same {@link org.apache.commons.lang3.builder.ToStringBuilder} methods, the output of a style
+ * like {@link de.devtime.utils.logging.CustomToStringStyle#PARAMETRIZED_STYLE} is identical to the reflection based
+ * output.
+ * </p>
+ *
+ * @author dev|time
+ * @since 0.0.1
+ */
+@SupportedAnnotationTypes("de.devtime.utils.logging.annotations.GenerateToString")
+public class GenerateToStringProcessor extends AbstractProcessor {
+
+  private static final String TO_STRING_EXCLUDE = "org.apache.commons.lang3.builder.ToStringExclude";
+  private static final String TO_STRING_SUMMARY = "org.apache.commons.lang3.builder.ToStringSummary";
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    for (Element element : roundEnv.getElementsAnnotatedWith(GenerateToString.class)) {
+      if (element.getKind() != ElementKind.CLASS) {
+        error(element, "@GenerateToString can only be applied to classes.");
+      } else if (!isAccessibleFromPackage((TypeElement) element)) {
+        error(element, "@GenerateToString can not be applied to private classes.");
+      } else {
+        generateRenderer((TypeElement) element);
+      }
+    }
+    return true;
+  }
+
+  private void generateRenderer(TypeElement type) {
+    String packageName = getPackage(type).getQualifiedName().toString();
+    String binaryName = this.processingEnv.getElementUtils().getBinaryName(type).toString();
+    String rendererSimpleName = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1)
+        + ToStringFieldRenderers.RENDERER_NAME_SUFFIX;
+    String rendererName = packageName.isEmpty() ? rendererSimpleName : packageName + "." + rendererSimpleName;
+    String typeName = getTypeReference(type);
+    List<RenderedField> fields = collectFields(type);
+
+    try (PrintWriter out = new PrintWriter(
+        this.processingEnv.getFiler().createSourceFile(rendererName, type).openWriter())) {
+      if (!packageName.isEmpty()) {
+        out.println("package " + packageName + ";");
+        out.println();
+      }
+      out.println("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")");
+      out.println("public final class " + rendererSimpleName + " implements "
+          + ToStringFieldRenderer.class.getName() + "<" + typeName + "> {");
+      out.println();
+      for (int i = 0; i < fields.size(); i++) {
+        out.println("  private static final java.lang.invoke.VarHandle FIELD_" + i + ";");
+      }
+      if (!fields.isEmpty()) {
+        out.println();
+        out.println("  static {");
+        out.println("    Class<?> declaringClass0 = " + getClassLiteral(type) + ";");
+        int depth = fields.get(fields.size() - 1).depth;
+        for (int i = 1; i <= depth; i++) {
+          out.println("    Class<?> declaringClass" + i + " = declaringClass" + (i - 1) + ".getSuperclass();");
+        }
+        for (int i = 0; i < fields.size(); i++) {
+          RenderedField field = fields.get(i);
+          out.println("    FIELD_" + i + " = " + ToStringFieldRenderers.class.getName() + ".findVarHandle(declaringClass"
+              + field.depth + ", \"" + field.name + "\");");
+        }
+        out.println("  }");
+      }
+      out.println();
+      out.println("  @Override");
+      out.println("  public void appendFields(org.apache.commons.lang3.builder.ToStringBuilder builder, " + typeName
+          + " object) {");
+      for (int i = 0; i < fields.size(); i++) {
+        RenderedField field = fields.get(i);
+        out.println("    builder.append(\"" + field.name + "\", (Object) FIELD_" + i + ".get(object)"
+            + (field.summary ? ", false" : "") + ");");
+      }
+      out.println("  }");
+      out.println("}");
+    } catch (IOException e) {
+      error(type, "Renderer " + rendererName + " could not be generated: " + e.getMessage());
+    }
+  }
+
+  private List<RenderedField> collectFields(TypeElement type) {
+    List<RenderedField> fields = new ArrayList<>();
+    TypeElement current = type;
+    int depth = 0;
+    while (current != null) {
+      List<RenderedField> declaredFields = new ArrayList<>();
+      for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+        if (isRendered(field)) {
+          declaredFields.add(new RenderedField(field.getSimpleName().toString(), depth,
+              hasAnnotation(field, TO_STRING_SUMMARY)));
+        }
+      }
+      declaredFields.sort(Comparator.comparing(field -> field.name));
+      fields.addAll(declaredFields);
+      current = getSuperclass(current);
+      depth++;
+    }
+    return fields;
+  }
+
+  private static boolean isRendered(VariableElement field) {
+    Set<Modifier> modifiers = field.getModifiers();
+    return field.getSimpleName().toString().indexOf('$') < 0
+        && !modifiers.contains(Modifier.STATIC)
+        && !modifiers.contains(Modifier.TRANSIENT)
+        && !hasAnnotation(field, TO_STRING_EXCLUDE);
+  }
+
+  private static boolean hasAnnotation(Element element, String annotationName) {
+    for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+      TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+      if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static TypeElement getSuperclass(TypeElement type) {
+    TypeMirror superclass = type.getSuperclass();
+    if (superclass.getKind() != TypeKind.DECLARED) {
+      return null;
+    }
+    return (TypeElement) ((DeclaredType) superclass).asElement();
+  }
+
+  private static PackageElement getPackage(Element element) {
+    Element current = element;
+    while (!(current instanceof PackageElement)) {
+      current = current.getEnclosingElement();
+    }
+    return (PackageElement) current;
+  }
+
+  private static boolean isAccessibleFromPackage(TypeElement type) {
+    TypeElement current = type;
+    while (current.getNestingKind() == NestingKind.MEMBER) {
+      if (current.getModifiers().contains(Modifier.PRIVATE)) {
+        return false;
+      }
+      current = (TypeElement) current.getEnclosingElement();
+    }
+    return current.getNestingKind() == NestingKind.TOP_LEVEL;
+  }
+
+  private static String getClassLiteral(TypeElement type) {
+    return type.getQualifiedName() + ".class";
+  }
+
+  private static String getTypeReference(TypeElement type) {
+    StringBuilder reference = new StringBuilder(type.getQualifiedName());
+    int typeParameterCount = type.getTypeParameters().size();
+    if (typeParameterCount > 0) {
+      reference.append('<');
+      for (int i = 0; i < typeParameterCount; i++) {
+        reference.append(i == 0 ? "?" : ", ?");
+      }
+      reference.append('>');
+    }
+    return reference.toString();
+  }
+
+  private void error(Element element, String message) {
+    this.processingEnv.getMessager().printMessage(Kind.ERROR, message, element);
+  }
+
+  private static final class RenderedField {
+
+    private final String name;
+    private final int depth;
+    private final boolean summary;
+
+    RenderedField(String name, int depth, boolean summary) {
+      this.name = name;
+      this.depth = depth;
+      this.summary = summary;
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package de.devtime.test.utils.logging;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.sun.management.ThreadMXBean;
+
+import de.devtime.test.utils.logging.helper.ArrayTestClass;
+import de.devtime.test.utils.logging.helper.TruncationTestStyle;
+
+/**
+ * Checks that truncated arrays and collections are rendered without creating garbage per item. The style prints 64
+ * items, so boxing the printed items would allocate several kilobytes per call.
+ */
+class CustomToStringStyleAllocationTest {
+
+  private static final int ARRAY_SIZE = 100_000;
+  private static final int WARM_UP_ITERATIONS = 20_000;
+  private static final int MEASURED_ITERATIONS = 10_000;
+  private static final long MAX_BYTES_PER_CALL = 256;
+
+  private static ThreadMXBean threadMxBean;
+
+  private final TruncationTestStyle style = new TruncationTestStyle(64);
+  private final ArrayTestClass testObject = new ArrayTestClass(ARRAY_SIZE);
+
+  @BeforeAll
+  static void enableAllocationMeasurement() {
+    assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean);
+    threadMxBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threadMxBean.isThreadAllocatedMemorySupported());
+    threadMxBean.setThreadAllocatedMemoryEnabled(true);
+  }
+
+  @Test
+  void test_renderTo_should_produce_same_output_as_reflection() {
+    String expected = ToStringBuilder.reflectionToString(this.testObject, this.style);
+    assertThat(this.style.render(this.testObject), is(equalTo(expected)));
+  }
+
+  @Test
+  void test_renderTo_should_not_allocate_per_truncated_item() {
+    StringBuilder builder = new StringBuilder(64 * 1024);
+    long bytesPerCall = measureBytesPerCall(() -> {
+      builder.setLength(0);
+      this.style.renderTo(builder, this.testObject);
+    });
+    assertThat(bytesPerCall, is(lessThan(MAX_BYTES_PER_CALL)));
+  }
+
+  @Test
+  void test_appendDetail_should_not_allocate_for_primitive_arrays() {
+    StringBuffer buffer = new StringBuffer(64 * 1024);
+    long bytesPerCall = measureBytesPerCall(() -> {
+      buffer.setLength(0);
+      this.style.appendArrayDetail(buffer, this.testObject.getLongArray());
+      this.style.appendArrayDetail(buffer, this.testObject.getDoubleArray());
+    });
+    assertThat(bytesPerCall, is(lessThan(MAX_BYTES_PER_CALL)));
+  }
+
+  @Test
+  void test_appendDetail_should_not_allocate_for_object_arrays_and_collections() {
+    StringBuffer buffer = new StringBuffer(64 * 1024);
+    long bytesPerCall = measureBytesPerCall(() -> {
+      buffer.setLength(0);
+      this.style.appendArrayDetail(buffer, this.testObject.getStringArray());
+      this.style.appendCollectionDetail(buffer, this.testObject.getStringList());
+    });
+    assertThat(bytesPerCall, is(lessThan(MAX_BYTES_PER_CALL)));
+  }
+
+  @Test
+  void test_appendDetail_should_truncate_arrays() {
+    TruncationTestStyle smallStyle = new TruncationTestStyle(2);
+    StringBuffer buffer = new StringBuffer();
+    smallStyle.appendArrayDetail(buffer, new long[] {
+        1, 2, 3
+    });
+    smallStyle.appendCollectionDetail(buffer, Arrays.asList("a", "b", "c"));
+    assertThat(buffer.toString(), is(equalTo("<size=3>{1, 2, ...}<size=3>[a, b, ...]")));
+  }
+
+  private static long measureBytesPerCall(Runnable call) {
+    for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+      call.run();
+    }
+    long threadId = Thread.currentThread().getId();
+    long before = threadMxBean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      call.run();
+    }
+    long after = threadMxBean.getThreadAllocatedBytes(threadId);
+    return (after - before) / MEASURED_ITERATIONS;
+  }
+}
@@ -0,0 +1,196 @@
+package de.devtime.test.utils.logging;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.junit.jupiter.api.Test;
+
+import de.devtime.test.utils.logging.helper.NestedTestClass;
+import de.devtime.test.utils.logging.helper.TruncationTestStyle;
+import de.devtime.utils.logging.CustomToStringStyle;
+
+class CustomToStringStyleLimitTest {
+
+  private static final int MAX_CHARACTERS = 100;
+  private static final String TRUNCATION_TEXT = "<truncated>";
+
+  @Test
+  void test_render_should_stop_at_character_limit() {
+    TruncationTestStyle style = createLimitedStyle();
+    CountingObject tail = new CountingObject();
+    NestedTestClass testClass = createLargeObject(tail);
+
+    String result = style.render(testClass);
+
+    assertThat(result.length(), is(lessThanOrEqualTo(MAX_CHARACTERS + TRUNCATION_TEXT.length())));
+    assertThat(result, endsWith(TRUNCATION_TEXT));
+    assertThat(tail.toStringCount, is(0));
+  }
+
+  @Test
+  void test_renderTo_should_stop_at_character_limit_for_writer() throws IOException {
+    TruncationTestStyle style = createLimitedStyle();
+    StringWriter writer = new StringWriter();
+
+    style.renderTo(writer, createLargeObject(new CountingObject()));
+
+    assertThat(writer.toString(), is(equalTo(style.render(createLargeObject(new CountingObject())))));
+  }
+
+  @Test
+  void test_renderTo_should_stop_at_character_limit_for_list() {
+    TruncationTestStyle style = createLimitedStyle();
+    style.setMaxItemPrintAmount(1_000);
+    List<Long> list = new ArrayList<>();
+    for (long i = 0; i < 1_000; i++) {
+      list.add(1_000_000_000L + i);
+    }
+    NestedTestClass testClass = new NestedTestClass("list");
+    testClass.setTail(list);
+
+    String result = style.render(testClass);
+
+    assertThat(result.length(), is(lessThanOrEqualTo(MAX_CHARACTERS + TRUNCATION_TEXT.length())));
+    assertThat(result, endsWith(TRUNCATION_TEXT));
+  }
+
+  @Test
+  void test_reflectionToString_should_skip_fields_after_character_limit() {
+    TruncationTestStyle style = createLimitedStyle();
+    CountingObject tail = new CountingObject();
+
+    String result = ToStringBuilder.reflectionToString(createLargeObject(tail), style);
+
+    assertThat(result, endsWith(TRUNCATION_TEXT + "]"));
+    assertThat(StringUtils.countMatches(result, TRUNCATION_TEXT), is(1));
+    assertThat(result, not(containsString("name=")));
+    assertThat(tail.toStringCount, is(0));
+  }
+
+  @Test
+  void test_render_should_not_truncate_within_character_limit() {
+    TruncationTestStyle style = createLimitedStyle();
+    NestedTestClass testClass = new NestedTestClass("small");
+
+    assertThat(style.render(testClass), is(equalTo(ToStringBuilder.reflectionToString(testClass, style))));
+    assertThat(style.render(testClass), not(containsString(TRUNCATION_TEXT)));
+  }
+
+  @Test
+  void test_render_should_stop_at_max_depth() {
+    NestedTestClass root = new NestedTestClass("n0");
+    NestedTestClass current = root;
+    for (int i = 1; i < 6; i++) {
+      NestedTestClass child = new NestedTestClass("n" + i);
+      current.setChild(child);
+      current = child;
+    }
+
+    String result = root.toString();
+
+    assertThat(result, containsString("name=n3"));
+    assertThat(result, containsString("child=NestedTestClass[...]"));
+    assertThat(result, not(containsString("name=n4")));
+  }
+
+  @Test
+  void test_render_should_stop_cycles_at_max_depth() {
+    NestedTestClass first = new NestedTestClass("first");
+    NestedTestClass second = new NestedTestClass("second");
+    first.setChild(second);
+    second.setChild(first);
+
+    String result = first.toString();
+
+    assertThat(result, endsWith("child=NestedTestClass[...], content=<null>, name=second, tail=<null>], "
+        + "content=<null>, name=first, tail=<null>], content=<null>, name=second, tail=<null>], "
+        + "content=<null>, name=first, tail=<null>]"));
+  }
+
+  @Test
+  void test_render_should_render_nested_collection_item_by_item() {
+    CountingList nested = new CountingList();
+    for (long i = 0; i < 1_000; i++) {
+      nested.add(i);
+    }
+    NestedTestClass testClass = new NestedTestClass("nested");
+    testClass.setTail(List.of(nested));
+
+    String result = testClass.toString();
+
+    assertThat(result, containsString("tail=<size=1>[<size=1000>[0, 1, ...]]"));
+    assertThat(nested.toStringCount, is(0));
+  }
+
+  @Test
+  void test_render_should_render_platform_classes_of_the_jdk_at_max_depth() {
+    NestedTestClass root = new NestedTestClass("n0");
+    NestedTestClass current = root;
+    for (int i = 1; i < 4; i++) {
+      NestedTestClass child = new NestedTestClass("n" + i);
+      current.setChild(child);
+      current = child;
+    }
+    current.setTail(Date.valueOf("2024-01-02"));
+
+    String result = root.toString();
+
+    assertThat(result, containsString("name=n3, tail=2024-01-02"));
+  }
+
+  @Test
+  void test_parametrized_style_should_have_limits() {
+    assertThat(CustomToStringStyle.PARAMETRIZED_STYLE.getMaxCharacters(), is(64 * 1024));
+    assertThat(CustomToStringStyle.PARAMETRIZED_STYLE.getMaxDepth(), is(3));
+  }
+
+  private static TruncationTestStyle createLimitedStyle() {
+    TruncationTestStyle style = new TruncationTestStyle(2);
+    style.setMaxCharacters(MAX_CHARACTERS);
+    return style;
+  }
+
+  private static NestedTestClass createLargeObject(CountingObject tail) {
+    NestedTestClass testClass = new NestedTestClass("large");
+    testClass.setContent(StringUtils.repeat('x', 10_000));
+    testClass.setTail(tail);
+    return testClass;
+  }
+
+  private static final class CountingList extends ArrayList<Long> {
+
+    private static final long serialVersionUID = 1L;
+
+    private int toStringCount;
+
+    @Override
+    public String toString() {
+      this.toStringCount++;
+      return super.toString();
+    }
+  }
+
+  private static final class CountingObject {
+
+    private int toStringCount;
+
+    @Override
+    public String toString() {
+      this.toStringCount++;
+      return "counted";
+    }
+  }
+}
@@ -2,10 +2,26 @@ package de.devtime.test.utils.logging;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.junit.jupiter.api.Test;
 
+import de.devtime.test.utils.logging.helper.CyclicTestClass;
 import de.devtime.test.utils.logging.helper.LoggingTestClass;
+import de.devtime.test.utils.logging.helper.LoggingTestSubClass;
+import de.devtime.test.utils.logging.helper.RenderingTestClass;
+import de.devtime.test.utils.logging.helper.TruncationTestStyle;
+import de.devtime.utils.logging.CustomToStringStyle;
 
 class CustomToStringStyleTest {
 
@@ -48,6 +64,14 @@ class CustomToStringStyleTest {
     assertThat(toStringResult, containsString(expectedPart));
   }
 
+  @Test
+  void test_toString_should_handle_list_with_null_item() {
+    LoggingTestClass testClass = new LoggingTestClass();
+    String toStringResult = testClass.toString();
+    String expectedPart = "listWithNullItem=<size=2>[a, null]";
+    assertThat(toStringResult, containsString(expectedPart));
+  }
+
   @Test
   void test_toString_should_handle_objectlist() {
     LoggingTestClass testClass = new LoggingTestClass();
@@ -108,6 +132,51 @@ class CustomToStringStyleTest {
     assertThat(toStringResult, containsString(expectedPart));
   }
 
+  @Test
+  void test_appendDetail_should_select_smallest_keys_of_large_map() {
+    Map<Integer, String> map = new HashMap<>();
+    for (int i = 9_999; i >= 0; i--) {
+      map.put(i, "v" + i);
+    }
+    StringBuffer buffer = new StringBuffer();
+    new TruncationTestStyle(3).appendMapDetail(buffer, map);
+    assertThat(buffer.toString(), is(equalTo("<size=10000>{0=v0, 1=v1, 10=v10, ...}")));
+  }
+
+  @Test
+  void test_appendDetail_should_keep_iteration_order_for_equal_key_texts() {
+    Map<Object, String> map = new LinkedHashMap<>();
+    map.put("2", "b");
+    map.put(1, "first");
+    map.put("1", "second");
+    map.put(1L, "third");
+    StringBuffer buffer = new StringBuffer();
+    new TruncationTestStyle(3).appendMapDetail(buffer, map);
+    assertThat(buffer.toString(), is(equalTo("<size=4>{1=first, 1=second, 1=third, ...}")));
+  }
+
+  @Test
+  void test_appendDetail_should_read_sorted_map_with_natural_order() {
+    Map<String, Integer> map = new TreeMap<>();
+    for (int i = 0; i < 1_000; i++) {
+      map.put("key" + i, i);
+    }
+    StringBuffer buffer = new StringBuffer();
+    new TruncationTestStyle(3).appendMapDetail(buffer, map);
+    assertThat(buffer.toString(), is(equalTo("<size=1000>{key0=0, key1=1, key10=10, ...}")));
+  }
+
+  @Test
+  void test_appendDetail_should_sort_sorted_map_with_other_comparator() {
+    Map<String, Integer> map = new TreeMap<>(Collections.reverseOrder());
+    map.put("a", 1);
+    map.put("b", 2);
+    map.put("c", 3);
+    StringBuffer buffer = new StringBuffer();
+    new TruncationTestStyle(2).appendMapDetail(buffer, map);
+    assertThat(buffer.toString(), is(equalTo("<size=3>{a=1, b=2, ...}")));
+  }
+
   @Test
   void test_toString_should_handle_long_array() {
     LoggingTestClass testClass = new LoggingTestClass();
@@ -189,4 +258,63 @@ class CustomToStringStyleTest {
         .toString();
     assertThat(toStringResult, containsString(expectedPart));
   }
-}
\ No newline at end of file
+
+  @Test
+  void test_render_should_match_reflection_output() {
+    LoggingTestClass testClass = new LoggingTestClass();
+    String expected = ToStringBuilder.reflectionToString(testClass, CustomToStringStyle.PARAMETRIZED_STYLE);
+    assertThat(CustomToStringStyle.PARAMETRIZED_STYLE.render(testClass), is(equalTo(expected)));
+  }
+
+  @Test
+  void test_render_should_match_reflection_output_for_excluded_and_summarized_fields() {
+    LoggingTestSubClass testClass = new LoggingTestSubClass();
+    String expected = ToStringBuilder.reflectionToString(testClass, CustomToStringStyle.PARAMETRIZED_STYLE);
+    assertThat(CustomToStringStyle.PARAMETRIZED_STYLE.render(testClass), is(equalTo(expected)));
+  }
+
+  @Test
+  void test_render_should_match_reflection_output_for_cycles_nulls_and_summaries() {
+    RenderingTestClass testClass = new RenderingTestClass();
+    String expected = ToStringBuilder.reflectionToString(testClass, CustomToStringStyle.PARAMETRIZED_STYLE);
+    String result = CustomToStringStyle.PARAMETRIZED_STYLE.render(testClass);
+    assertThat(result, is(equalTo(expected)));
+    assertThat(result, containsString("nullValue=<null>"));
+    assertThat(result, containsString("numberKeyMap=<size=3>{10=ten, 11=eleven, ...}"));
+    assertThat(result, containsString("summarizedObject=<ReferencedClass>"));
+  }
+
+  @Test
+  void test_render_should_match_reflection_output_for_cycles_over_nested_objects() {
+    CyclicTestClass parent = new CyclicTestClass("parent");
+    CyclicTestClass child = new CyclicTestClass("child");
+    parent.setChild(child);
+    child.setParent(parent);
+    String expected = ToStringBuilder.reflectionToString(parent, CustomToStringStyle.PARAMETRIZED_STYLE);
+    String result = CustomToStringStyle.PARAMETRIZED_STYLE.render(parent);
+    assertThat(result, is(equalTo(expected)));
+    assertThat(result, containsString("parent=" + CyclicTestClass.class.getName() + "@"
+        + Integer.toHexString(System.identityHashCode(parent)) + "]"));
+  }
+
+  @Test
+  void test_renderTo_should_write_to_appendable() throws IOException {
+    LoggingTestClass testClass = new LoggingTestClass();
+    StringWriter writer = new StringWriter();
+    CustomToStringStyle.PARAMETRIZED_STYLE.renderTo(writer, testClass);
+    assertThat(writer.toString(), is(equalTo(CustomToStringStyle.PARAMETRIZED_STYLE.render(testClass))));
+  }
+
+  @Test
+  void test_renderTo_should_append_to_existing_content() {
+    LoggingTestClass testClass = new LoggingTestClass();
+    StringBuilder builder = new StringBuilder("Entity: ");
+    CustomToStringStyle.PARAMETRIZED_STYLE.renderTo(builder, testClass);
+    assertThat(builder.toString(), is(equalTo("Entity: " + CustomToStringStyle.PARAMETRIZED_STYLE.render(testClass))));
+  }
+
+  @Test
+  void test_render_should_handle_null() {
+    assertThat(CustomToStringStyle.PARAMETRIZED_STYLE.render(null), is(equalTo("<null>")));
+  }
+}
@@ -0,0 +1,80 @@
+package de.devtime.test.utils.logging;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.devtime.test.utils.logging.helper.LoggingTestClass;
+import de.devtime.utils.logging.CustomToStringStyle;
+import de.devtime.utils.logging.LazyRender;
+
+class LazyRenderTest {
+
+  private static final Logger LOG = LoggerFactory.getLogger(LazyRenderTest.class);
+
+  @Test
+  void test_toString_should_call_toString_of_the_object() {
+    Object object = new Object() {
+
+      @Override
+      public String toString() {
+        return "custom";
+      }
+    };
+    assertThat(LazyRender.of(object).toString(), is(equalTo("custom")));
+  }
+
+  @Test
+  void test_toString_should_render_with_given_style() {
+    LoggingTestClass testClass = new LoggingTestClass();
+    assertThat(LazyRender.of(testClass, CustomToStringStyle.PARAMETRIZED_STYLE).toString(),
+        is(equalTo(CustomToStringStyle.PARAMETRIZED_STYLE.render(testClass))));
+  }
+
+  @Test
+  void test_toString_should_render_null() {
+    assertThat(LazyRender.of(null).toString(), is(equalTo("null")));
+    assertThat(LazyRender.of(null, CustomToStringStyle.PARAMETRIZED_STYLE).toString(), is(equalTo("<null>")));
+  }
+
+  @Test
+  void test_toString_should_render_only_once() {
+    CountingStyle style = new CountingStyle();
+    LazyRender lazyRender = LazyRender.of(new LoggingTestClass(), style);
+    String first = lazyRender.toString();
+    String second = lazyRender.toString();
+    assertThat(second, is(sameInstance(first)));
+    assertThat(style.renderCount, is(1));
+  }
+
+  @Test
+  void test_toString_should_not_be_called_for_disabled_level() {
+    CountingStyle style = new CountingStyle();
+    LOG.trace("Object: {}", LazyRender.of(new LoggingTestClass(), style));
+    assertThat(LOG.isTraceEnabled(), is(false));
+    assertThat(style.renderCount, is(0));
+  }
+
+  private static final class CountingStyle extends CustomToStringStyle {
+
+    private static final long serialVersionUID = 1L;
+
+    private int renderCount;
+
+    CountingStyle() {
+      setUseShortClassName(true);
+      setUseIdentityHashCode(false);
+    }
+
+    @Override
+    public String render(Object object) {
+      this.renderCount++;
+      return super.render(object);
+    }
+  }
+}
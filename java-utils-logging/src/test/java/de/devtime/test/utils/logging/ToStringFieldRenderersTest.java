@@ -0,0 +1,57 @@
+package de.devtime.test.utils.logging;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.junit.jupiter.api.Test;
+
+import de.devtime.test.utils.logging.helper.LoggingTestClass;
+import de.devtime.test.utils.logging.helper.LoggingTestSubClass;
+import de.devtime.test.utils.logging.helper.ReferencedClass;
+import de.devtime.utils.logging.CustomToStringStyle;
+import de.devtime.utils.logging.ToStringFieldRenderers;
+
+class ToStringFieldRenderersTest {
+
+  @Test
+  void test_forClass_should_find_generated_renderer() {
+    assertThat(ToStringFieldRenderers.forClass(LoggingTestClass.class).isPresent(), is(true));
+    assertThat(ToStringFieldRenderers.forClass(LoggingTestSubClass.class).isPresent(), is(true));
+  }
+
+  @Test
+  void test_forClass_should_return_empty_optional_without_generated_renderer() {
+    assertThat(ToStringFieldRenderers.forClass(ReferencedClass.class).isPresent(), is(false));
+  }
+
+  @Test
+  void test_toString_should_match_reflection_output() {
+    LoggingTestClass testClass = new LoggingTestClass();
+    String expected = ToStringBuilder.reflectionToString(testClass, CustomToStringStyle.PARAMETRIZED_STYLE);
+    String actual = ToStringFieldRenderers.toString(testClass, CustomToStringStyle.PARAMETRIZED_STYLE);
+    assertThat(actual, is(equalTo(expected)));
+  }
+
+  @Test
+  void test_toString_should_match_reflection_output_for_subclass() {
+    LoggingTestSubClass testClass = new LoggingTestSubClass();
+    String expected = ToStringBuilder.reflectionToString(testClass, CustomToStringStyle.PARAMETRIZED_STYLE);
+    String actual = ToStringFieldRenderers.toString(testClass, CustomToStringStyle.PARAMETRIZED_STYLE);
+    assertThat(actual, is(equalTo(expected)));
+    assertThat(actual, containsString("LoggingTestSubClass[counter=42, subName=constant, summarizedList=<size=3>, booleanArray="));
+    assertThat(actual, not(containsString("transient")));
+    assertThat(actual, not(containsString("excluded")));
+  }
+
+  @Test
+  void test_toString_should_fall_back_to_reflection() {
+    ReferencedClass referencedClass = new ReferencedClass("Ref");
+    String expected = ToStringBuilder.reflectionToString(referencedClass, CustomToStringStyle.PARAMETRIZED_STYLE);
+    String actual = ToStringFieldRenderers.toString(referencedClass, CustomToStringStyle.PARAMETRIZED_STYLE);
+    assertThat(actual, is(equalTo(expected)));
+  }
+}
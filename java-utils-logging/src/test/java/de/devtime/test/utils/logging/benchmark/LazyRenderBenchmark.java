@@ -0,0 +1,66 @@
+package de.devtime.test.utils.logging.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.devtime.test.utils.logging.helper.LoggingTestClass;
+import de.devtime.utils.logging.CustomToStringStyle;
+import de.devtime.utils.logging.LazyRender;
+
+/**
+ * Compares the costs of a log statement with a disabled level, if the argument is rendered eagerly or wrapped in a
+ * {@link LazyRender}. The logger of this class is disabled by the test logging configuration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyRenderBenchmark {
+
+  private static final Logger LOG = LoggerFactory.getLogger(LazyRenderBenchmark.class);
+
+  private final LoggingTestClass object = new LoggingTestClass();
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(LazyRenderBenchmark.class.getSimpleName()).build()).run();
+  }
+
+  @Benchmark
+  public void disabledWithGuard() {
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Object: {}", CustomToStringStyle.PARAMETRIZED_STYLE.render(this.object));
+    }
+  }
+
+  @Benchmark
+  public void disabledWithLazyRender() {
+    LOG.debug("Object: {}", LazyRender.of(this.object, CustomToStringStyle.PARAMETRIZED_STYLE));
+  }
+
+  @Benchmark
+  public void disabledWithEagerRender() {
+    LOG.debug("Object: {}", CustomToStringStyle.PARAMETRIZED_STYLE.render(this.object));
+  }
+
+  @Benchmark
+  public void disabledWithEagerReflection() {
+    LOG.debug("Object: {}", ToStringBuilder.reflectionToString(this.object, CustomToStringStyle.PARAMETRIZED_STYLE));
+  }
+}
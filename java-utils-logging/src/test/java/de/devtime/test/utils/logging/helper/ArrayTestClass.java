@@ -0,0 +1,37 @@
+package de.devtime.test.utils.logging.helper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+
+@Getter
+public class ArrayTestClass {
+
+  private final long[] longArray;
+  private final int[] intArray;
+  private final byte[] byteArray;
+  private final double[] doubleArray;
+  private final char[] charArray;
+  private final String[] stringArray;
+  private final List<String> stringList;
+
+  public ArrayTestClass(int size) {
+    this.longArray = new long[size];
+    this.intArray = new int[size];
+    this.byteArray = new byte[size];
+    this.doubleArray = new double[size];
+    this.charArray = new char[size];
+    this.stringArray = new String[size];
+    this.stringList = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      this.longArray[i] = 1_000_000L + i;
+      this.intArray[i] = 1_000 + i;
+      this.byteArray[i] = (byte) i;
+      this.doubleArray[i] = i + 0.5;
+      this.charArray[i] = (char) ('a' + i % 26);
+      this.stringArray[i] = "item" + i;
+      this.stringList.add(this.stringArray[i]);
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package de.devtime.test.utils.logging.helper;
+
+import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
+
+import de.devtime.utils.logging.CustomToStringStyle;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CyclicTestClass {
+
+  private CyclicTestClass child;
+  private String name;
+  private CyclicTestClass parent;
+
+  public CyclicTestClass(String name) {
+    this.name = name;
+  }
+
+  @Override
+  public String toString() {
+    return ReflectionToStringBuilder.toString(this, CustomToStringStyle.PARAMETRIZED_STYLE);
+  }
+}
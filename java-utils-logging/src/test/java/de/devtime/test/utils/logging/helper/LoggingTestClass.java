@@ -8,17 +8,20 @@ import java.util.Map;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 import de.devtime.utils.logging.CustomToStringStyle;
+import de.devtime.utils.logging.annotations.GenerateToString;
 import lombok.Getter;
 import lombok.Setter;
 
 @Getter
 @Setter
+@GenerateToString
 public class LoggingTestClass {
 
   private ReferencedClass referencedClass;
   private List<String> listWith1Item;
   private List<String> listWith2Items;
   private List<String> listWith3Items;
+  private List<String> listWithNullItem;
   private List<ReferencedClass> objectList;
   private Map<String, String> mapWith1Item;
   private Map<String, String> mapWith2Items;
@@ -39,6 +42,7 @@ public class LoggingTestClass {
     this.listWith1Item = Arrays.asList("a");
     this.listWith2Items = Arrays.asList("a", "b");
     this.listWith3Items = Arrays.asList("a", "b", "c");
+    this.listWithNullItem = Arrays.asList("a", null);
     this.mapWith1Item = new HashMap<>();
     this.mapWith1Item.put("1", "a");
     this.mapWith2Items = new HashMap<>();
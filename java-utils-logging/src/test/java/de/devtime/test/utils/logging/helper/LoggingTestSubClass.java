@@ -0,0 +1,35 @@
+package de.devtime.test.utils.logging.helper;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.lang3.builder.ToStringExclude;
+import org.apache.commons.lang3.builder.ToStringSummary;
+
+import de.devtime.utils.logging.annotations.GenerateToString;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@GenerateToString
+public class LoggingTestSubClass extends LoggingTestClass {
+
+  private static final String CONSTANT = "constant";
+
+  private String subName;
+  private int counter;
+  private transient String transientValue;
+  @ToStringExclude
+  private String excludedValue;
+  @ToStringSummary
+  private List<String> summarizedList;
+
+  public LoggingTestSubClass() {
+    this.subName = CONSTANT;
+    this.counter = 42;
+    this.transientValue = "transient";
+    this.excludedValue = "excluded";
+    this.summarizedList = Arrays.asList("a", "b", "c");
+  }
+}
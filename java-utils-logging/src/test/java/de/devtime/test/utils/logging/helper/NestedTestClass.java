@@ -0,0 +1,24 @@
+package de.devtime.test.utils.logging.helper;
+
+import de.devtime.utils.logging.CustomToStringStyle;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class NestedTestClass {
+
+  private NestedTestClass child;
+  private String content;
+  private String name;
+  private Object tail;
+
+  public NestedTestClass(String name) {
+    this.name = name;
+  }
+
+  @Override
+  public String toString() {
+    return CustomToStringStyle.PARAMETRIZED_STYLE.render(this);
+  }
+}
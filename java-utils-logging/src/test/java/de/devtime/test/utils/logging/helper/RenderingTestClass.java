@@ -0,0 +1,31 @@
+package de.devtime.test.utils.logging.helper;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.builder.ToStringSummary;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class RenderingTestClass extends LoggingTestClass {
+
+  private RenderingTestClass self;
+  private String nullValue;
+  private Integer number;
+  private Map<Integer, String> numberKeyMap;
+  @ToStringSummary
+  private ReferencedClass summarizedObject;
+
+  public RenderingTestClass() {
+    this.self = this;
+    this.number = 7;
+    this.numberKeyMap = new HashMap<>();
+    this.numberKeyMap.put(9, "nine");
+    this.numberKeyMap.put(10, "ten");
+    this.numberKeyMap.put(11, "eleven");
+    this.summarizedObject = new ReferencedClass("Summary");
+  }
+}
@@ -0,0 +1,39 @@
+package de.devtime.test.utils.logging.helper;
+
+import java.util.Collection;
+import java.util.Map;
+
+import de.devtime.utils.logging.CustomToStringStyle;
+
+public class TruncationTestStyle extends CustomToStringStyle {
+
+  private static final long serialVersionUID = 1L;
+
+  public TruncationTestStyle(int maxItemPrintAmount) {
+    setFieldSeparator(", ");
+    setUseShortClassName(true);
+    setUseIdentityHashCode(false);
+    setUseLoggingIdAnnotationForReferencedObjects(true);
+    setMaxItemPrintAmount(maxItemPrintAmount);
+  }
+
+  public void appendArrayDetail(StringBuffer buffer, long[] array) {
+    appendDetail(buffer, "array", array);
+  }
+
+  public void appendArrayDetail(StringBuffer buffer, double[] array) {
+    appendDetail(buffer, "array", array);
+  }
+
+  public void appendArrayDetail(StringBuffer buffer, Object[] array) {
+    appendDetail(buffer, "array", array);
+  }
+
+  public void appendCollectionDetail(StringBuffer buffer, Collection<?> coll) {
+    appendDetail(buffer, "coll", coll);
+  }
+
+  public void appendMapDetail(StringBuffer buffer, Map<?, ?> map) {
+    appendDetail(buffer, "map", map);
+  }
+}